@@ -0,0 +1,116 @@
+package matrixCalculator.operations;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the scalar and the SIMD implementations of {@link DoubleKernel} on square matrices: the tiled product, the
+ * sum, the product by a scalar and a step of the Gaussian elimination. The tiled product can be compared with a plain
+ * i-j-k product on double[][] matrices, written here only as a reference point.
+ * Run with: mvn -P vector compile exec:exec
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class DoubleKernelBenchmark {
+
+    @Param({"64", "256", "512"})
+    private int order;
+
+    @Param({"scalar", "vector"})
+    private String kernelType;
+
+    private DoubleKernel kernel;
+    private double[] a;
+    private double[] b;
+    private double[] c;
+    private double[][] a2;
+    private double[][] b2;
+
+    @Setup
+    public void setup() {
+        this.kernel = "vector".equals(this.kernelType) ? new VectorDoubleKernel() : new ScalarDoubleKernel();
+        Random random = new Random(42);
+        this.a = new double[this.order * this.order];
+        this.b = new double[this.order * this.order];
+        this.c = new double[this.order * this.order];
+        for (int i = 0; i < this.a.length; i++) {
+            this.a[i] = random.nextDouble();
+            this.b[i] = random.nextDouble();
+        }
+        this.a2 = new double[this.order][this.order];
+        this.b2 = new double[this.order][this.order];
+        for (int i = 0; i < this.order; i++) {
+            System.arraycopy(this.a, i * this.order, this.a2[i], 0, this.order);
+            System.arraycopy(this.b, i * this.order, this.b2[i], 0, this.order);
+        }
+    }
+
+    @Benchmark
+    public double[] multiply() {
+        return TiledMultiplication.multiply(this.a, this.b, this.order, this.order, this.order,
+                TiledMultiplication.DEFAULT_BLOCK_SIZE, this.kernel);
+    }
+
+    @Benchmark
+    public double[] add() {
+        this.kernel.add(this.a, this.b, this.c);
+        return this.c;
+    }
+
+    @Benchmark
+    public double[] multiplyByScalar() {
+        this.kernel.multiplyByScalar(this.a, 3, this.c);
+        return this.c;
+    }
+
+    /**
+     * Nullifies the first column under the first row, as a step of the Gaussian elimination.
+     */
+    @Benchmark
+    public double[] eliminate() {
+        System.arraycopy(this.a, 0, this.c, 0, this.c.length);
+        for (int i = 1; i < this.order; i++) {
+            int row = i * this.order;
+            this.kernel.multiplyAdd(this.c, row + 1, -this.c[row] / this.c[0], this.c, 1, this.order - 1);
+        }
+        return this.c;
+    }
+
+    /**
+     * Classical multiplication on double[][] matrices, the same for both the kernels.
+     */
+    @Benchmark
+    public double[][] classicalMultiply() {
+        int r1 = this.a2.length;
+        int c2 = this.b2[0].length;
+        int rc = this.b2.length;
+        double[][] m = new double[r1][c2];
+        for (int i = 0; i < r1; i++) {
+            for (int j = 0; j < c2; j++) {
+                double sum = 0;
+                for (int k = 0; k < rc; k++) {
+                    sum += this.a2[i][k] * this.b2[k][j];
+                }
+                m[i][j] = sum;
+            }
+        }
+        return m;
+    }
+}
@@ -6,6 +6,7 @@ import javafx.geometry.Pos;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
+import javafx.scene.control.CheckMenuItem;
 import javafx.scene.control.Label;
 import javafx.scene.control.MenuItem;
 import javafx.scene.layout.AnchorPane;
@@ -32,6 +33,8 @@ public class HomeController {
     @FXML
     private Button inverseMatrix;
     @FXML
+    private Button linearSystem;
+    @FXML
     private Button rowEchelonForm;
 
     @FXML
@@ -41,12 +44,14 @@ public class HomeController {
     private MenuItem commands;
     @FXML
     private MenuItem about;
+    @FXML
+    private CheckMenuItem floatingPoint;
 
     public static Label alert; // Label where alerts can be displayed
     public static AnchorPane anchorPane; // Pane where the label is displayed
+    public static boolean floatingPointMode; // true if operations use doubles instead of exact fractions
 
     public static final String RESIZE_ALERT = "To work with bigger matrices, please resize the window";
-    public static final String OVERFLOW_ALERT = "Overflow detected, please insert smaller numbers.";
     public static final String BUTTON_STYLE = "button";
     public static final String BUTTON_PRESSED_STYLE = "after-button";
 
@@ -63,6 +68,7 @@ public class HomeController {
         AnchorPane.setRightAnchor(alert, 0.0);
         alert.setVisible(false);
 
+        this.floatingPoint.setSelected(floatingPointMode);
         this.setButtonsOnAction();
         this.showMultiplicationPanel();
     }
@@ -73,43 +79,51 @@ public class HomeController {
         this.determinant.setOnAction(e -> this.showDetPanel());
         this.expression.setOnAction(e -> this.showExpressionPanel());
         this.inverseMatrix.setOnAction(e -> this.showInverseMatrixPanel());
+        this.linearSystem.setOnAction(e -> this.showLinearSystemPanel());
         this.rowEchelonForm.setOnAction(e -> this.showRowEchelonFormPanel());
         this.commands.setOnAction(e -> this.showInfoPanel());
         this.about.setOnAction(e -> this.showAboutPanel());
+        this.floatingPoint.setOnAction(e -> floatingPointMode = this.floatingPoint.isSelected());
     }
 
     private void showMultiplicationPanel() {
-        this.resetStyleClass(this.determinant, this.inverseMatrix, this.subAdd, this.expression, this.rowEchelonForm);
+        this.resetStyleClass(this.determinant, this.inverseMatrix, this.subAdd, this.expression, this.rowEchelonForm, this.linearSystem);
         this.setPressedButtonStyleClass(this.multiply);
         this.openNewOperationPanel("fxmlFiles/Multiplication.fxml");
     }
 
     private void showDetPanel() {
-        this.resetStyleClass(this.subAdd, this.inverseMatrix, this.multiply, this.expression, this.rowEchelonForm);
+        this.resetStyleClass(this.subAdd, this.inverseMatrix, this.multiply, this.expression, this.rowEchelonForm, this.linearSystem);
         this.setPressedButtonStyleClass(this.determinant);
         this.openNewOperationPanel("fxmlFiles/Determinant.fxml");
     }
 
     private void showSubAddPanel() {
-        this.resetStyleClass(this.determinant, this.inverseMatrix, this.multiply, this.expression, this.rowEchelonForm);
+        this.resetStyleClass(this.determinant, this.inverseMatrix, this.multiply, this.expression, this.rowEchelonForm, this.linearSystem);
         this.setPressedButtonStyleClass(this.subAdd);
         this.openNewOperationPanel("fxmlFiles/SubAdd.fxml");
     }
 
     private void showExpressionPanel() {
-        this.resetStyleClass(this.determinant, this.multiply, this.subAdd, this.inverseMatrix, this.rowEchelonForm);
+        this.resetStyleClass(this.determinant, this.multiply, this.subAdd, this.inverseMatrix, this.rowEchelonForm, this.linearSystem);
         this.setPressedButtonStyleClass(this.expression);
         this.openNewOperationPanel("fxmlFiles/Expression.fxml");
     }
 
     private void showInverseMatrixPanel() {
-        this.resetStyleClass(this.determinant, this.multiply, this.subAdd, this.expression, this.rowEchelonForm);
+        this.resetStyleClass(this.determinant, this.multiply, this.subAdd, this.expression, this.rowEchelonForm, this.linearSystem);
         this.setPressedButtonStyleClass(this.inverseMatrix);
         this.openNewOperationPanel("fxmlFiles/InverseMatrix.fxml");
     }
 
+    private void showLinearSystemPanel() {
+        this.resetStyleClass(this.determinant, this.multiply, this.subAdd, this.expression, this.inverseMatrix, this.rowEchelonForm);
+        this.setPressedButtonStyleClass(this.linearSystem);
+        this.openNewOperationPanel("fxmlFiles/LinearSystem.fxml");
+    }
+
     private void showRowEchelonFormPanel() {
-        this.resetStyleClass(this.determinant, this.multiply, this.subAdd, this.expression, this.inverseMatrix);
+        this.resetStyleClass(this.determinant, this.multiply, this.subAdd, this.expression, this.inverseMatrix, this.linearSystem);
         this.setPressedButtonStyleClass(this.rowEchelonForm);
         this.openNewOperationPanel("fxmlFiles/RowEchelonForm.fxml");
     }
@@ -183,11 +197,6 @@ public class HomeController {
         this.borderPane.setCenter(root);
     }
 
-    public static void showOverflowAlert() {
-        HomeController.alert.setText(HomeController.OVERFLOW_ALERT);
-        HomeController.alert.setVisible(true);
-    }
-
     @Deprecated
     private void setNewStage(String path, Stage newStage) {
         Parent root = null;
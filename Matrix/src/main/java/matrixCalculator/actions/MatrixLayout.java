@@ -9,9 +9,10 @@ import javafx.scene.layout.GridPane;
 import matrixCalculator.numberDataTypes.Fraction;
 
 import java.util.Arrays;
+import java.util.Locale;
 
 /**
- * Various methods to transform, format and work with Fraction matrices.
+ * Various methods to transform, format and work with Fraction and double matrices.
  */
 public class MatrixLayout {
 
@@ -75,9 +76,9 @@ public class MatrixLayout {
                     matrix[i][j] = Fraction.toFraction(Double.parseDouble(s));
                 } else if (isValueFraction(s)) { // Checks if value is Fraction
                     String[] v = s.split("/");
-                    matrix[i][j] = new Fraction(Integer.parseInt(v[0]), Integer.parseInt(v[1]));
+                    matrix[i][j] = Fraction.valueOf(Integer.parseInt(v[0]), Integer.parseInt(v[1]));
                 } else { // If value is invalid, it is replaced with a 0
-                    matrix[i][j] = new Fraction(0, 1);
+                    matrix[i][j] = Fraction.ZERO;
                     ((TextField) n).setText("0");
                 }
             }
@@ -180,8 +181,8 @@ public class MatrixLayout {
                 int extraDigits = 0;
                 if (matrix[j][i].isNegative()) // Minus sign is counted as 2 digits
                     extraDigits = 2;
-                int numeratorDigits = (Math.abs(matrix[j][i].getNumerator()) + "").length() + extraDigits;
-                int denominatorDigits = (Math.abs(matrix[j][i].getDenominator()) + "").length() + extraDigits;
+                int numeratorDigits = matrix[j][i].getBigNumerator().abs().toString().length() + extraDigits;
+                int denominatorDigits = matrix[j][i].getBigDenominator().abs().toString().length() + extraDigits;
                 columnDigits = Math.max(numeratorDigits, denominatorDigits);
                 columnMaxDigits = Math.max(columnDigits, columnMaxDigits);
             }
@@ -190,6 +191,107 @@ public class MatrixLayout {
         return maxDigits;
     }
 
+    /**
+     * @param g The GridPane representing the matrix.
+     * @return The double matrix with the values in TextFields, fractions are divided.
+     */
+    public static double[][] getDoubleMatrix(GridPane g) {
+        double[][] matrix = new double[g.getRowCount()][g.getColumnCount()];
+        for (Node n : g.getChildren()) {
+            if (n instanceof TextField) {
+                int i = GridPane.getRowIndex(n);
+                int j = GridPane.getColumnIndex(n);
+                String s = ((TextField) n).getText(); // Gets value
+                try {
+                    String[] v = s.split("/");
+                    if (v.length == 2) // Fraction
+                        matrix[i][j] = Double.parseDouble(v[0]) / Double.parseDouble(v[1]);
+                    else
+                        matrix[i][j] = Double.parseDouble(s);
+                    if (!Double.isFinite(matrix[i][j]))
+                        throw new NumberFormatException();
+                } catch (NumberFormatException e) { // If value is invalid, it is replaced with a 0
+                    matrix[i][j] = 0;
+                    ((TextField) n).setText("0");
+                }
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Formats a double with at most 6 significant digits, integers are shown without decimals.
+     *
+     * @param value Any double.
+     * @return The formatted value.
+     */
+    public static String formatDouble(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15)
+            return Long.toString((long) value);
+        String s = String.format(Locale.ROOT, "%.6g", value);
+        int exponent = s.indexOf('e');
+        String mantissa = exponent < 0 ? s : s.substring(0, exponent);
+        if (mantissa.contains(".")) // Removes trailing zeros
+            mantissa = mantissa.replaceAll("0+$", "").replaceAll("\\.$", "");
+        return exponent < 0 ? mantissa : mantissa + s.substring(exponent);
+    }
+
+    /**
+     * @param matrix Any double matrix.
+     * @return A String with the input matrix Latex formatted.
+     */
+    public static String convertMatrixToLatex(double[][] matrix) {
+        StringBuilder latex = new StringBuilder("\\begin{pmatrix}\n");
+        for (int i = 0; i < matrix.length; i++) {
+            for (int j = 0; j < matrix[0].length; j++) {
+                latex.append(formatDouble(matrix[i][j])).append(" ");
+                if (j != matrix[0].length - 1)
+                    latex.append("& ");
+            }
+            if (i != matrix.length - 1)
+                latex.append("\\\\");
+            latex.append("\n");
+        }
+        latex.append("\\end{pmatrix}\n");
+        return latex.toString();
+    }
+
+    /**
+     * Copies to clipboard the input matrix, according to curly brackets style (i.e. {{0,0,0},{0,0,0},{0,0,0}}).
+     *
+     * @param matrix Any double matrix.
+     */
+    public static void copyToClipboard(double[][] matrix) {
+        ClipboardContent content = new ClipboardContent();
+        String matrixString = Arrays.deepToString(matrix);
+        matrixString = matrixString.replace("[", "{");
+        matrixString = matrixString.replace("]", "}");
+        content.putString(matrixString);
+        Clipboard.getSystemClipboard().setContent(content);
+    }
+
+    /**
+     * Computes the height occupied by a latex double matrix.
+     */
+    public static int computeLatexMatrixHeight(double[][] matrix) {
+        return matrix.length * 23 + 10;
+    }
+
+    /**
+     * Computes the width occupied by a latex double matrix.
+     */
+    public static int computeLatexMatrixWidth(double[][] matrix) {
+        int maxDigits = 0;
+        for (int j = 0; j < matrix[0].length; j++) {
+            int columnMaxDigits = 0; // Max number of characters of a value in the actual column
+            for (double[] row : matrix) {
+                columnMaxDigits = Math.max(columnMaxDigits, formatDouble(row[j]).length());
+            }
+            maxDigits += columnMaxDigits;
+        }
+        return maxDigits * 10 + (matrix[0].length) * 25;
+    }
+
     @Deprecated
     public static int[][] getMatrix(GridPane g) {
         int[][] matrix = new int[g.getRowCount()][g.getColumnCount()];
@@ -15,8 +15,10 @@ import matrixCalculator.Main;
 import matrixCalculator.actions.GridManagement;
 import matrixCalculator.actions.LatexCanvas;
 import matrixCalculator.actions.MatrixLayout;
+import matrixCalculator.numberDataTypes.DoubleMatrix;
 import matrixCalculator.numberDataTypes.Fraction;
 import matrixCalculator.operations.Determinant;
+import matrixCalculator.operations.DoubleMatrixOperations;
 
 /**
  * Manages the determinant window.
@@ -48,6 +50,8 @@ public class DeterminantController {
 
     private static Fraction[][] matrix; // Matrix on which compute determinant
     private static Fraction resDeterminant; // Result of computing
+    private static double[][] doubleMatrix; // Matrix on which compute determinant in floating point mode, null otherwise
+    private static double doubleDeterminant; // Result of computing in floating point mode
 
     public void initialize() {
 
@@ -83,25 +87,37 @@ public class DeterminantController {
 
     private void computeDet() {
         HomeController.alert.setVisible(false);
-        matrix = MatrixLayout.getFractionMatrix(this.grid);
-        try {
-            resDeterminant = Determinant.computeDeterminant(matrix);
+        if (HomeController.floatingPointMode) {
+            doubleMatrix = MatrixLayout.getDoubleMatrix(this.grid);
+            doubleDeterminant = DoubleMatrixOperations.computeDeterminant(DoubleMatrix.of(doubleMatrix));
             this.showResult();
-        } catch (ArithmeticException e) {
-            HomeController.showOverflowAlert();
+            return;
         }
+        doubleMatrix = null;
+        matrix = MatrixLayout.getFractionMatrix(this.grid);
+        resDeterminant = Determinant.computeDeterminant(matrix);
+        this.showResult();
     }
 
     private void copyToClipboard() {
-        MatrixLayout.copyToClipboard(matrix);
+        if (doubleMatrix != null)
+            MatrixLayout.copyToClipboard(doubleMatrix);
+        else
+            MatrixLayout.copyToClipboard(matrix);
     }
 
     private void showResult() {
         this.copyClipboard.setVisible(true);
         // Show the result pane with the result formatted in latex
         this.resultPane.getChildren().removeAll(this.lastCanvas);
-        String latex = MatrixLayout.convertMatrixToLatex(matrix);
-        LatexCanvas lc = new LatexCanvas("$det$" + latex + "$= " + resDeterminant.toLatex() + "$");
+        LatexCanvas lc;
+        if (doubleMatrix != null) {
+            String latex = MatrixLayout.convertMatrixToLatex(doubleMatrix);
+            lc = new LatexCanvas("$det$" + latex + "$= " + MatrixLayout.formatDouble(doubleDeterminant) + "$");
+        } else {
+            String latex = MatrixLayout.convertMatrixToLatex(matrix);
+            lc = new LatexCanvas("$det$" + latex + "$= " + resDeterminant.toLatex() + "$");
+        }
 
         this.setResultPaneSize();
 
@@ -113,14 +129,21 @@ public class DeterminantController {
     }
 
     private void setResultPaneSize() {
-        int width = MatrixLayout.computeLatexMatrixWidth(matrix) + 100; // +100 width of result determinant and "det"
+        int width; // +100 width of result determinant and "det"
+        int height;
+        if (doubleMatrix != null) {
+            width = MatrixLayout.computeLatexMatrixWidth(doubleMatrix) + 100;
+            height = MatrixLayout.computeLatexMatrixHeight(doubleMatrix);
+        } else {
+            width = MatrixLayout.computeLatexMatrixWidth(matrix) + 100;
+            height = MatrixLayout.computeLatexMatrixHeight(matrix);
+        }
         this.resultPane.setPrefWidth(width);
         this.resultPane.setMinWidth(width);
         this.resultPane.setMaxWidth(width);
         this.scrollPane.setPrefWidth(width + 10);
         this.scrollPane.setPrefWidth(width + 10);
         this.scrollPane.setPrefWidth(width + 10);
-        int height = MatrixLayout.computeLatexMatrixHeight(matrix);
         this.resultPane.setPrefHeight(height);
         this.resultPane.setMinHeight(height);
         this.resultPane.setMaxHeight(height);
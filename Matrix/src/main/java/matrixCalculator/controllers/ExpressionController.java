@@ -19,6 +19,7 @@ import matrixCalculator.actions.LatexCanvas;
 import matrixCalculator.actions.MatrixLayout;
 import matrixCalculator.numberDataTypes.Fraction;
 import matrixCalculator.operations.Expression;
+import matrixCalculator.operations.ExpressionNode;
 
 import java.util.function.UnaryOperator;
 
@@ -123,14 +124,13 @@ public class ExpressionController {
     private void computeExpression() {
         HomeController.alert.setVisible(false);
         String expression = this.expressionInput.getText();
-        if (Expression.isExpressionValid(expression)) {
+        ExpressionNode root = Expression.compile(expression); // Checked and compiled in a single pass
+        if (root != null) {
             Fraction[][] matrixA = MatrixLayout.getFractionMatrix(this.gridA);
             Fraction[][] matrixB = MatrixLayout.getFractionMatrix(this.gridB);
             try {
-                matrixC = Expression.computeExpression(expression, matrixA, matrixB);
+                matrixC = Expression.evaluate(root, matrixA, matrixB);
                 this.showResult();
-            } catch (ArithmeticException e) {
-                HomeController.showOverflowAlert();
             } catch (Exception e) {
                 showInvalidExpressionAlert();
                 // e.printStackTrace();
@@ -15,7 +15,9 @@ import matrixCalculator.Main;
 import matrixCalculator.actions.GridManagement;
 import matrixCalculator.actions.LatexCanvas;
 import matrixCalculator.actions.MatrixLayout;
+import matrixCalculator.numberDataTypes.DoubleMatrix;
 import matrixCalculator.numberDataTypes.Fraction;
+import matrixCalculator.operations.DoubleMatrixOperations;
 import matrixCalculator.operations.UnaryOperations;
 
 /**
@@ -47,6 +49,7 @@ public class InverseMatrixController {
     private LatexCanvas lastCanvas; // Last canvas on which a Latex result have been written
 
     private static Fraction[][] inverseMatrix;  // Matrix inverted
+    private static double[][] doubleInverseMatrix; // Matrix inverted in floating point mode, null otherwise
     private static final String INVERSE_NOT_EXISTS_ALERT = "The inverse of this matrix doesn't exist.";
 
     public void initialize() {
@@ -84,27 +87,41 @@ public class InverseMatrixController {
     private void computeInverseMatrix() {
         HomeController.alert.setVisible(false);
         // Matrix to invert
-        Fraction[][] matrix = MatrixLayout.getFractionMatrix(this.grid);
-        try {
-            inverseMatrix = UnaryOperations.getInverseMatrix(matrix);
-            if (inverseMatrix == null)
+        if (HomeController.floatingPointMode) {
+            DoubleMatrix inverse = DoubleMatrixOperations.getInverseMatrix(DoubleMatrix.of(MatrixLayout.getDoubleMatrix(this.grid)));
+            if (inverse == null) {
                 showMatrixNotValidAlert();
-            else
+            } else {
+                doubleInverseMatrix = inverse.toArray();
                 this.showResult();
-        } catch (ArithmeticException e) {
-            HomeController.showOverflowAlert();
+            }
+            return;
         }
+        Fraction[][] matrix = MatrixLayout.getFractionMatrix(this.grid);
+        doubleInverseMatrix = null;
+        inverseMatrix = UnaryOperations.getInverseMatrix(matrix);
+        if (inverseMatrix == null)
+            showMatrixNotValidAlert();
+        else
+            this.showResult();
     }
 
     private void copyToClipboard() {
-        MatrixLayout.copyToClipboard(inverseMatrix);
+        if (doubleInverseMatrix != null)
+            MatrixLayout.copyToClipboard(doubleInverseMatrix);
+        else
+            MatrixLayout.copyToClipboard(inverseMatrix);
     }
 
     private void showResult() {
         this.copyClipboard.setVisible(true);
         // Show the result pane with the result formatted in latex
         this.resultPane.getChildren().removeAll(this.lastCanvas);
-        String latex = MatrixLayout.convertMatrixToLatex(inverseMatrix);
+        String latex;
+        if (doubleInverseMatrix != null)
+            latex = MatrixLayout.convertMatrixToLatex(doubleInverseMatrix);
+        else
+            latex = MatrixLayout.convertMatrixToLatex(inverseMatrix);
         LatexCanvas lc = new LatexCanvas("$C=$" + latex);
 
         this.setResultPaneSize();
@@ -117,14 +134,21 @@ public class InverseMatrixController {
     }
 
     private void setResultPaneSize() {
-        int width = MatrixLayout.computeLatexMatrixWidth(inverseMatrix) + 100; // +100 width of inverse matrix and "C="
+        int width; // +100 width of inverse matrix and "C="
+        int height;
+        if (doubleInverseMatrix != null) {
+            width = MatrixLayout.computeLatexMatrixWidth(doubleInverseMatrix) + 100;
+            height = MatrixLayout.computeLatexMatrixHeight(doubleInverseMatrix);
+        } else {
+            width = MatrixLayout.computeLatexMatrixWidth(inverseMatrix) + 100;
+            height = MatrixLayout.computeLatexMatrixHeight(inverseMatrix);
+        }
         this.resultPane.setPrefWidth(width);
         this.resultPane.setMinWidth(width);
         this.resultPane.setMaxWidth(width);
         this.scrollPane.setPrefWidth(width + 10);
         this.scrollPane.setPrefWidth(width + 10);
         this.scrollPane.setPrefWidth(width + 10);
-        int height = MatrixLayout.computeLatexMatrixHeight(inverseMatrix);
         this.resultPane.setPrefHeight(height);
         this.resultPane.setMinHeight(height);
         this.resultPane.setMaxHeight(height);
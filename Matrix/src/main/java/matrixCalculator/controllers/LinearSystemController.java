@@ -0,0 +1,230 @@
+package matrixCalculator.controllers;
+
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.fxml.FXML;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.ColumnConstraints;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.StackPane;
+import matrixCalculator.HomeController;
+import matrixCalculator.Main;
+import matrixCalculator.actions.GridManagement;
+import matrixCalculator.actions.LatexCanvas;
+import matrixCalculator.actions.MatrixLayout;
+import matrixCalculator.numberDataTypes.Fraction;
+import matrixCalculator.operations.LinearSystems;
+
+/**
+ * Manages the linear system window. The system is always solved exactly, also in floating point mode.
+ */
+public class LinearSystemController {
+
+    @FXML
+    private Button opSolve;
+    @FXML
+    private Button bAddRowColumnA;
+    @FXML
+    private Button bDeleteRowColumnA;
+    @FXML
+    private Button bAddColumnB;
+    @FXML
+    private Button bDeleteColumnB;
+    @FXML
+    private Button copyClipboard;
+
+    @FXML
+    private BorderPane mainPane; // Wraps all panes
+    @FXML
+    private GridPane matrixPane; // Wraps matrixContainerA and matrixContainer
+    @FXML
+    private GridPane matrixContainerA; // Wraps gridA
+    @FXML
+    private GridPane matrixContainerB; // Wraps gridB
+    @FXML
+    private ScrollPane scrollPane;  // Wraps resultPane
+    @FXML
+    private StackPane resultPane; // Where result can be shown
+    @FXML
+    private ColumnConstraints columnConstraintsTex; // Column constraints of result grid
+
+    private GridPane gridA; // GridPane representing the coefficients, contains TextFields
+    private GridPane gridB; // GridPane representing the constant terms, contains TextFields
+    private LatexCanvas lastCanvas; // Last canvas on which a Latex result have been written
+
+    private static Fraction[][] solution; // Solution of the system
+    private static final String NO_SOLUTION_ALERT = "The system is inconsistent, it has no solution.";
+    private static final String SINGULAR_ALERT = "The coefficients are singular, the system has infinitely many solutions.";
+
+    public void initialize() {
+
+        HomeController.alert.setText(HomeController.RESIZE_ALERT);
+        this.mainPane.setTop(HomeController.anchorPane);
+        this.copyClipboard.setVisible(false);
+        this.lastCanvas = null;
+
+        this.gridA = new GridPane();
+        this.gridB = new GridPane();
+
+        this.matrixContainerA.add(this.gridA, 0, 1);
+        this.matrixContainerB.add(this.gridB, 0, 1);
+
+        TextField startTextA = new TextField();
+        TextField startTextB = new TextField();
+        this.gridA.setAlignment(Pos.CENTER);
+        this.gridB.setAlignment(Pos.CENTER);
+        this.gridA.add(startTextA, 0, 0);
+        this.gridB.add(startTextB, 0, 0);
+        GridManagement.setTextFieldLayout(startTextA);
+        GridManagement.setTextFieldLayout(startTextB);
+
+        // Start system 3x3 with one column of constant terms
+        for (int i = 0; i < 2; i++) {
+            this.addRowColumnA();
+        }
+
+        this.setButtonsOnAction();
+        this.setWindowListeners();
+    }
+
+    private void setButtonsOnAction() {
+        this.bAddRowColumnA.setOnAction(e -> this.addRowColumnA());
+        this.bDeleteRowColumnA.setOnAction(e -> this.deleteRowColumnA());
+        this.bAddColumnB.setOnAction(e -> this.addColumnB());
+        this.bDeleteColumnB.setOnAction(e -> this.deleteColumnB());
+        this.opSolve.setOnAction(e -> this.solve());
+        this.copyClipboard.setOnAction(e -> this.copyToClipboard());
+    }
+
+    private void solve() {
+        HomeController.alert.setVisible(false);
+        Fraction[][] matrixA = MatrixLayout.getFractionMatrix(this.gridA);
+        Fraction[][] matrixB = MatrixLayout.getFractionMatrix(this.gridB);
+        solution = LinearSystems.solve(matrixA, matrixB);
+        if (solution == null) // The coefficients are singular
+            showNoUniqueSolutionAlert(LinearSystems.isConsistent(matrixA, matrixB) ? SINGULAR_ALERT : NO_SOLUTION_ALERT);
+        else
+            this.showResult();
+    }
+
+    private void copyToClipboard() {
+        MatrixLayout.copyToClipboard(solution);
+    }
+
+    private void showResult() {
+        this.copyClipboard.setVisible(true);
+        // Show the result pane with the result formatted in latex
+        this.resultPane.getChildren().removeAll(this.lastCanvas);
+        LatexCanvas lc = new LatexCanvas("$x=$" + MatrixLayout.convertMatrixToLatex(solution));
+
+        this.setResultPaneSize();
+
+        this.resultPane.getChildren().add(lc);
+        StackPane.setAlignment(lc, Pos.CENTER);
+        this.lastCanvas = lc;
+        lc.widthProperty().bind(this.resultPane.widthProperty());
+        lc.heightProperty().bind(this.resultPane.heightProperty());
+    }
+
+    private void setResultPaneSize() {
+        int width = MatrixLayout.computeLatexMatrixWidth(solution) + 75; // +75 width of solution and "x="
+        int height = MatrixLayout.computeLatexMatrixHeight(solution);
+        this.columnConstraintsTex.setPrefWidth(width + 10);
+        this.columnConstraintsTex.setMinWidth(width + 10);
+        this.columnConstraintsTex.setMaxWidth(width + 10);
+        this.scrollPane.setPrefWidth(width + 10);
+        this.resultPane.setPrefWidth(width);
+        this.resultPane.setMinWidth(width);
+        this.resultPane.setMaxWidth(width);
+        this.resultPane.setPrefHeight(height);
+        this.resultPane.setMinHeight(height);
+        this.resultPane.setMaxHeight(height);
+    }
+
+    private static void showNoUniqueSolutionAlert(String message) {
+        HomeController.alert.setText(message);
+        HomeController.alert.setVisible(true);
+    }
+
+    private void addRowColumnA() {
+        if (GridManagement.isValidToAddRow(this.gridA) && this.canAddRowColumnA()) {
+            GridManagement.addRow(this.gridA);
+            GridManagement.addColumn(this.gridA);
+            GridManagement.addRow(this.gridB); // Every equation has its constant terms
+        }
+    }
+
+    private void deleteRowColumnA() {
+        if (GridManagement.isValidToDeleteRow(this.gridA)) {
+            GridManagement.deleteRow(this.gridA);
+            GridManagement.deleteColumn(this.gridA);
+            GridManagement.deleteRow(this.gridB);
+        }
+    }
+
+    private void addColumnB() {
+        if (GridManagement.isValidToAddColumn(this.gridB) && this.canAddColumnB())
+            GridManagement.addColumn(this.gridB);
+    }
+
+    private void deleteColumnB() {
+        if (GridManagement.isValidToDeleteColumn(this.gridB))
+            GridManagement.deleteColumn(this.gridB);
+    }
+
+    private boolean canAddRowColumnA() {
+        if (((this.matrixPane.getWidth() < (this.gridA.getColumnCount() + 1) * 120) || (this.matrixPane.getHeight() < (this.gridA.getRowCount() + 1) * 40)) && (!(this.gridA.getColumnCount() < 3)) && (!(this.gridA.getColumnCount() == GridManagement.MAX_COLUMNS))) {
+            this.mainPane.setTop(HomeController.anchorPane);
+            HomeController.alert.setVisible(true);
+            return false;
+        } else {
+            HomeController.alert.setVisible(false);
+            return true;
+        }
+    }
+
+    private boolean canAddColumnB() {
+        if (((this.matrixPane.getWidth() < (this.gridB.getColumnCount() + 1) * 120)) && (!(this.gridB.getColumnCount() < 3)) && (!(this.gridB.getColumnCount() == GridManagement.MAX_COLUMNS))) {
+            this.mainPane.setTop(HomeController.anchorPane);
+            HomeController.alert.setVisible(true);
+            return false;
+        } else {
+            HomeController.alert.setVisible(false);
+            return true;
+        }
+    }
+
+    private void setWindowListeners() {
+        Main.homeStage.widthProperty().addListener(new ChangeListener<Number>() {
+            @Override
+            public void changed(ObservableValue<? extends Number> observableValue, Number oldSceneWidth, Number newSceneWidth) {
+                if (oldSceneWidth.intValue() < newSceneWidth.intValue()) {
+                    HomeController.alert.setVisible(false);
+                } else {
+                    while (((newSceneWidth.intValue() - 240) < (LinearSystemController.this.gridA.getColumnCount()) * 120)) {
+                        LinearSystemController.this.deleteRowColumnA();
+                    }
+                    while (((newSceneWidth.intValue() - 400) < (LinearSystemController.this.gridB.getColumnCount()) * 120)) {
+                        LinearSystemController.this.deleteColumnB();
+                    }
+                }
+            }
+        });
+        Main.homeStage.heightProperty().addListener(new ChangeListener<Number>() {
+            @Override
+            public void changed(ObservableValue<? extends Number> observableValue, Number oldSceneHeight, Number newSceneHeight) {
+                if (oldSceneHeight.intValue() < newSceneHeight.intValue()) {
+                    HomeController.alert.setVisible(false);
+                } else {
+                    while (((newSceneHeight.intValue() - 400) < (LinearSystemController.this.gridA.getRowCount()) * 40)) {
+                        LinearSystemController.this.deleteRowColumnA();
+                    }
+                }
+            }
+        });
+    }
+}
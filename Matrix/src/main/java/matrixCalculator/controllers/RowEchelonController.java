@@ -15,8 +15,11 @@ import matrixCalculator.Main;
 import matrixCalculator.actions.GridManagement;
 import matrixCalculator.actions.LatexCanvas;
 import matrixCalculator.actions.MatrixLayout;
+import matrixCalculator.numberDataTypes.DoubleMatrix;
 import matrixCalculator.numberDataTypes.Fraction;
-import matrixCalculator.operations.UnaryOperations;
+import matrixCalculator.numberDataTypes.FractionMatrix;
+import matrixCalculator.operations.DoubleMatrixOperations;
+import matrixCalculator.operations.EliminationKernel;
 
 /**
  * Manages the rank and row echelon window.
@@ -26,6 +29,8 @@ public class RowEchelonController {
     @FXML
     private Button computeRank;
     @FXML
+    private Button computeReduced;
+    @FXML
     private Button bAddRow;
     @FXML
     private Button bDeleteRow;
@@ -51,7 +56,10 @@ public class RowEchelonController {
     private LatexCanvas lastCanvas; // Last canvas on which a Latex result have been written
 
     private static Fraction[][] rowEchelonMatrix; // Matrix reduced to row echelon form
+    private static double[][] doubleRowEchelonMatrix; // Matrix reduced in floating point mode, null otherwise
     private static int rank; // Matrix rank
+    private static Fraction[][] nullSpace; // Basis of the null space as columns, null if it is only the zero vector
+    private static int[] pivotColumns; // Columns with a pivot
 
     public void initialize() {
 
@@ -81,6 +89,7 @@ public class RowEchelonController {
 
     private void setButtonsOnAction() {
         this.computeRank.setOnAction(e -> this.reduceRowEchelonForm());
+        this.computeReduced.setOnAction(e -> this.reduceReducedRowEchelonForm());
         this.bAddRow.setOnAction(e -> this.addRow());
         this.bDeleteRow.setOnAction(e -> this.deleteRow());
         this.bAddColumn.setOnAction(e -> this.addColumn());
@@ -90,29 +99,75 @@ public class RowEchelonController {
 
     private void reduceRowEchelonForm() {
         HomeController.alert.setVisible(false);
+        if (HomeController.floatingPointMode) {
+            DoubleMatrix matrix = DoubleMatrix.of(MatrixLayout.getDoubleMatrix(this.grid));
+            doubleRowEchelonMatrix = DoubleMatrixOperations.reduceToRowEchelonForm(matrix).toArray();
+            rank = DoubleMatrixOperations.computeRank(matrix);
+            String latex = "$rank$" + MatrixLayout.convertMatrixToLatex(doubleRowEchelonMatrix) + "$=$" + rank;
+            int width = MatrixLayout.computeLatexMatrixWidth(doubleRowEchelonMatrix) + 100; // +100 width of result matrix and rank
+            this.showResult(latex, width, MatrixLayout.computeLatexMatrixHeight(doubleRowEchelonMatrix));
+            return;
+        }
         // Matrix on which compute rank
         Fraction[][] matrix = MatrixLayout.getFractionMatrix(this.grid);
-        try {
-            rowEchelonMatrix = UnaryOperations.reduceToRowEchelonForm(matrix);
-            rank = UnaryOperations.computeRank(rowEchelonMatrix);
-            this.showResult();
-        } catch (ArithmeticException e) {
-            HomeController.showOverflowAlert();
+        doubleRowEchelonMatrix = null;
+        // The rank is the number of pivots found by the same elimination
+        EliminationKernel kernel = new EliminationKernel(FractionMatrix.of(matrix),
+                EliminationKernel.PivotStrategy.FIRST_NON_ZERO).reduceToRowEchelonForm();
+        rowEchelonMatrix = kernel.getMatrix().toArray();
+        rank = kernel.getRank();
+        String latex = "$rank$" + MatrixLayout.convertMatrixToLatex(rowEchelonMatrix) + "$=$" + rank;
+        int width = MatrixLayout.computeLatexMatrixWidth(rowEchelonMatrix) + 100; // +100 width of result matrix and rank
+        this.showResult(latex, width, MatrixLayout.computeLatexMatrixHeight(rowEchelonMatrix));
+    }
+
+    private void reduceReducedRowEchelonForm() {
+        HomeController.alert.setVisible(false);
+        Fraction[][] matrix = MatrixLayout.getFractionMatrix(this.grid);
+        doubleRowEchelonMatrix = null;
+        // A single elimination gives the reduced form, the pivots and the null space
+        EliminationKernel kernel = new EliminationKernel(FractionMatrix.of(matrix),
+                EliminationKernel.PivotStrategy.FIRST_NON_ZERO).reduceToReducedRowEchelonForm();
+        rowEchelonMatrix = kernel.getMatrix().toArray();
+        pivotColumns = kernel.getPivotColumns();
+        FractionMatrix basis = kernel.getNullSpace();
+        nullSpace = basis == null ? null : basis.toArray();
+        rank = pivotColumns.length;
+        StringBuilder pivots = new StringBuilder();
+        for (int column : pivotColumns) {
+            if (pivots.length() > 0)
+                pivots.append(",");
+            pivots.append(column + 1); // Columns are shown starting from 1
+        }
+        String latex = "$rref$" + MatrixLayout.convertMatrixToLatex(rowEchelonMatrix)
+                + "$\\quad pivots=\\{" + pivots + "\\}\\quad ker=$";
+        int width = MatrixLayout.computeLatexMatrixWidth(rowEchelonMatrix) + 180; // +180 width of labels and pivots
+        int height = MatrixLayout.computeLatexMatrixHeight(rowEchelonMatrix);
+        if (nullSpace == null) {
+            latex += "$\\{0\\}$";
+            width += 40;
+        } else {
+            latex += "$span$" + MatrixLayout.convertMatrixToLatex(nullSpace);
+            width += MatrixLayout.computeLatexMatrixWidth(nullSpace) + 50;
+            height = Math.max(height, MatrixLayout.computeLatexMatrixHeight(nullSpace));
         }
+        this.showResult(latex, width, height);
     }
 
     private void copyToClipboard() {
-        MatrixLayout.copyToClipboard(rowEchelonMatrix);
+        if (doubleRowEchelonMatrix != null)
+            MatrixLayout.copyToClipboard(doubleRowEchelonMatrix);
+        else
+            MatrixLayout.copyToClipboard(rowEchelonMatrix);
     }
 
-    private void showResult() {
+    private void showResult(String latex, int width, int height) {
         this.copyClipboard.setVisible(true);
         // Show the result pane with the result formatted in latex
         this.resultPane.getChildren().removeAll(this.lastCanvas);
-        String latex = MatrixLayout.convertMatrixToLatex(rowEchelonMatrix);
-        LatexCanvas lc = new LatexCanvas("$rank$" + latex + "$=$" + rank);
+        LatexCanvas lc = new LatexCanvas(latex);
 
-        this.setResultPaneSize();
+        this.setResultPaneSize(width, height);
 
         this.resultPane.getChildren().add(lc);
         StackPane.setAlignment(lc, Pos.CENTER);
@@ -121,15 +176,13 @@ public class RowEchelonController {
         lc.heightProperty().bind(this.resultPane.heightProperty());
     }
 
-    private void setResultPaneSize() {
-        int width = MatrixLayout.computeLatexMatrixWidth(rowEchelonMatrix) + 100; // +100 width of result matrix and rank
+    private void setResultPaneSize(int width, int height) {
         this.resultPane.setPrefWidth(width);
         this.resultPane.setMinWidth(width);
         this.resultPane.setMaxWidth(width);
         this.scrollPane.setPrefWidth(width + 10);
         this.scrollPane.setPrefWidth(width + 10);
         this.scrollPane.setPrefWidth(width + 10);
-        int height = MatrixLayout.computeLatexMatrixHeight(rowEchelonMatrix);
         this.resultPane.setPrefHeight(height);
         this.resultPane.setMinHeight(height);
         this.resultPane.setMaxHeight(height);
@@ -16,8 +16,10 @@ import matrixCalculator.Main;
 import matrixCalculator.actions.GridManagement;
 import matrixCalculator.actions.LatexCanvas;
 import matrixCalculator.actions.MatrixLayout;
+import matrixCalculator.numberDataTypes.DoubleMatrix;
 import matrixCalculator.numberDataTypes.Fraction;
 import matrixCalculator.operations.BinaryOperations;
+import matrixCalculator.operations.DoubleMatrixOperations;
 
 /**
  * Manages the addition and subtraction window.
@@ -59,6 +61,7 @@ public class SubAddController {
     private LatexCanvas lastCanvas; // Last canvas on which a Latex result have been written
 
     private static Fraction[][] matrixC; // Result matrix
+    private static double[][] doubleMatrixC; // Result matrix in floating point mode, null otherwise
 
     public void initialize() {
 
@@ -104,37 +107,52 @@ public class SubAddController {
 
     private void sub() {
         HomeController.alert.setVisible(false);
-        Fraction[][] matrixA = MatrixLayout.getFractionMatrix(this.gridA);
-        Fraction[][] matrixB = MatrixLayout.getFractionMatrix(this.gridB);
-        try {
-            matrixC = BinaryOperations.sub(matrixA, matrixB);
+        if (HomeController.floatingPointMode) {
+            DoubleMatrix matrixA = DoubleMatrix.of(MatrixLayout.getDoubleMatrix(this.gridA));
+            DoubleMatrix matrixB = DoubleMatrix.of(MatrixLayout.getDoubleMatrix(this.gridB));
+            doubleMatrixC = DoubleMatrixOperations.sub(matrixA, matrixB).toArray();
             this.showResult();
-        } catch (ArithmeticException e) {
-            HomeController.showOverflowAlert();
+            return;
         }
+        Fraction[][] matrixA = MatrixLayout.getFractionMatrix(this.gridA);
+        Fraction[][] matrixB = MatrixLayout.getFractionMatrix(this.gridB);
+        doubleMatrixC = null;
+        matrixC = BinaryOperations.sub(matrixA, matrixB);
+        this.showResult();
     }
 
     private void add() {
         HomeController.alert.setVisible(false);
-        Fraction[][] matrixA = MatrixLayout.getFractionMatrix(this.gridA);
-        Fraction[][] matrixB = MatrixLayout.getFractionMatrix(this.gridB);
-        try {
-            matrixC = BinaryOperations.add(matrixA, matrixB);
+        if (HomeController.floatingPointMode) {
+            DoubleMatrix matrixA = DoubleMatrix.of(MatrixLayout.getDoubleMatrix(this.gridA));
+            DoubleMatrix matrixB = DoubleMatrix.of(MatrixLayout.getDoubleMatrix(this.gridB));
+            doubleMatrixC = DoubleMatrixOperations.add(matrixA, matrixB).toArray();
             this.showResult();
-        } catch (ArithmeticException e) {
-            HomeController.showOverflowAlert();
+            return;
         }
+        Fraction[][] matrixA = MatrixLayout.getFractionMatrix(this.gridA);
+        Fraction[][] matrixB = MatrixLayout.getFractionMatrix(this.gridB);
+        doubleMatrixC = null;
+        matrixC = BinaryOperations.add(matrixA, matrixB);
+        this.showResult();
     }
 
     private void copyToClipboard() {
-        MatrixLayout.copyToClipboard(matrixC);
+        if (doubleMatrixC != null)
+            MatrixLayout.copyToClipboard(doubleMatrixC);
+        else
+            MatrixLayout.copyToClipboard(matrixC);
     }
 
     private void showResult() {
         this.copyClipboard.setVisible(true);
         // Show the result pane with the result formatted in latex
         this.resultPane.getChildren().removeAll(this.lastCanvas);
-        String latex = MatrixLayout.convertMatrixToLatex(matrixC);
+        String latex;
+        if (doubleMatrixC != null)
+            latex = MatrixLayout.convertMatrixToLatex(doubleMatrixC);
+        else
+            latex = MatrixLayout.convertMatrixToLatex(matrixC);
         LatexCanvas lc = new LatexCanvas("$C=$" + latex);
 
         this.setResultPaneSize();
@@ -147,7 +165,15 @@ public class SubAddController {
     }
 
     private void setResultPaneSize() {
-        int width = MatrixLayout.computeLatexMatrixWidth(matrixC) + 75; // +75 width of result matrix and "C="
+        int width; // +75 width of result matrix and "C="
+        int height;
+        if (doubleMatrixC != null) {
+            width = MatrixLayout.computeLatexMatrixWidth(doubleMatrixC) + 75;
+            height = MatrixLayout.computeLatexMatrixHeight(doubleMatrixC);
+        } else {
+            width = MatrixLayout.computeLatexMatrixWidth(matrixC) + 75;
+            height = MatrixLayout.computeLatexMatrixHeight(matrixC);
+        }
         this.columnConstraintsTex.setPrefWidth(width + 10);
         this.columnConstraintsTex.setMinWidth(width + 10);
         this.columnConstraintsTex.setMaxWidth(width + 10);
@@ -157,7 +183,6 @@ public class SubAddController {
         this.resultPane.setPrefWidth(width);
         this.resultPane.setMinWidth(width);
         this.resultPane.setMaxWidth(width);
-        int height = MatrixLayout.computeLatexMatrixHeight(matrixC);
         this.resultPane.setPrefHeight(height);
         this.resultPane.setMinHeight(height);
         this.resultPane.setMaxHeight(height);
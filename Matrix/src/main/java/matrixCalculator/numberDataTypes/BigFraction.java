@@ -0,0 +1,242 @@
+package matrixCalculator.numberDataTypes;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Objects;
+
+/**
+ * Simulates math fractions with arbitrary precision numerator and denominator.
+ * It's always reduced to the lowest terms and the sign is always on the numerator.
+ * Used by {@link Fraction} when a value doesn't fit anymore in a long, so no method throws an exception on overflow.
+ */
+
+public class BigFraction {
+
+    /**
+     * Fraction's numerator, it carries the sign of the fraction.
+     */
+    private final BigInteger numerator;
+    /**
+     * Fraction's denominator, always positive.
+     */
+    private final BigInteger denominator;
+
+    /**
+     * Creates a BigFraction Object reduced to the lowest terms.
+     *
+     * @param numerator   Any BigInteger (if null it is converted to 0).
+     * @param denominator Any BigInteger (if denominator is 0 or null it is converted to 1).
+     */
+    public BigFraction(BigInteger numerator, BigInteger denominator) {
+        if (numerator == null)
+            numerator = BigInteger.ZERO;
+        if (denominator == null || denominator.signum() == 0)
+            denominator = BigInteger.ONE;
+        if (denominator.signum() < 0) { // Moves the sign on the numerator
+            numerator = numerator.negate();
+            denominator = denominator.negate();
+        }
+        BigInteger gcd = numerator.gcd(denominator); // Never 0 as denominator isn't 0
+        if (!gcd.equals(BigInteger.ONE)) {
+            numerator = numerator.divide(gcd);
+            denominator = denominator.divide(gcd);
+        }
+        this.numerator = numerator;
+        this.denominator = denominator;
+    }
+
+    /**
+     * Creates a BigFraction Object reduced to the lowest terms.
+     *
+     * @param numerator   Any long.
+     * @param denominator Any long (if denominator is 0 it is converted to 1).
+     */
+    public BigFraction(long numerator, long denominator) {
+        this(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
+    }
+
+    /**
+     * @return Fraction numerator.
+     */
+    public BigInteger getNumerator() {
+        return this.numerator;
+    }
+
+    /**
+     * @return Fraction denominator.
+     */
+    public BigInteger getDenominator() {
+        return this.denominator;
+    }
+
+    /**
+     * Multiplies two fractions.
+     *
+     * @param x Any non null fraction.
+     * @param y Any non null fraction.
+     * @return The product of the two fractions reduced to the lowest terms.
+     */
+    public static BigFraction multiply(BigFraction x, BigFraction y) {
+        Objects.requireNonNull(x);
+        Objects.requireNonNull(y);
+        return new BigFraction(x.numerator.multiply(y.numerator), x.denominator.multiply(y.denominator));
+    }
+
+    /**
+     * Divides a fraction by another.
+     *
+     * @param x Any non null fraction.
+     * @param y Any non null fraction.
+     * @return The division of the first fraction by the second.
+     */
+    public static BigFraction divide(BigFraction x, BigFraction y) {
+        Objects.requireNonNull(x);
+        Objects.requireNonNull(y);
+        // Num and den of the second fraction are switched
+        return new BigFraction(x.numerator.multiply(y.denominator), x.denominator.multiply(y.numerator));
+    }
+
+    /**
+     * Adds two fraction.
+     *
+     * @param x Any non null fraction.
+     * @param y Any non null fraction.
+     * @return The addition of the two fractions reduced to the lowest terms.
+     */
+    public static BigFraction add(BigFraction x, BigFraction y) {
+        Objects.requireNonNull(x);
+        Objects.requireNonNull(y);
+        BigInteger n = x.numerator.multiply(y.denominator).add(y.numerator.multiply(x.denominator));
+        return new BigFraction(n, x.denominator.multiply(y.denominator));
+    }
+
+    /**
+     * Subtracts one fraction from another.
+     *
+     * @param x Any non null fraction.
+     * @param y Any non null fraction.
+     * @return The subtraction of the second fraction from the first reduced to the lowest terms.
+     */
+    public static BigFraction sub(BigFraction x, BigFraction y) {
+        Objects.requireNonNull(x);
+        Objects.requireNonNull(y);
+        return add(x, y.negative());
+    }
+
+    /**
+     * Raises a fraction to a power.
+     *
+     * @param x Any non null fraction.
+     * @param y The power to which raise the fraction.
+     * @return The fraction raised to the input power reduced to the lowest terms.
+     */
+    public static BigFraction pow(BigFraction x, int y) {
+        Objects.requireNonNull(x);
+        if (y >= 0) // If power is positive
+            return new BigFraction(x.numerator.pow(y), x.denominator.pow(y));
+        else // If power is negative must be raised to the power the fraction inverse
+            return new BigFraction(x.denominator.pow(-y), x.numerator.pow(-y));
+    }
+
+    /**
+     * Computes the inverse of the calling BigFraction.
+     *
+     * @return The inverse of the calling BigFraction.
+     */
+    public BigFraction getInverse() {
+        return new BigFraction(this.denominator, this.numerator);
+    }
+
+    /**
+     * Computes the correspondent negative value of calling BigFraction.
+     *
+     * @return Correspondent negative value of calling BigFraction.
+     */
+    public BigFraction negative() {
+        return new BigFraction(this.numerator.negate(), this.denominator);
+    }
+
+    /**
+     * Checks if calling BigFraction is negative.
+     *
+     * @return true if calling BigFraction is negative, false otherwise.
+     */
+    public boolean isNegative() {
+        return this.numerator.signum() < 0;
+    }
+
+    /**
+     * Checks if calling BigFraction is 0.
+     *
+     * @return true if calling BigFraction is 0, false otherwise.
+     */
+    public boolean isZero() {
+        return this.numerator.signum() == 0;
+    }
+
+    /**
+     * Checks if numerator and denominator of the calling BigFraction can be memorized as long without overflow
+     * (also their absolute values and their opposites must fit in a long).
+     *
+     * @return true if calling BigFraction fits in a long fraction, false otherwise.
+     */
+    public boolean fitsInLong() {
+        return this.numerator.abs().bitLength() < Long.SIZE && this.denominator.bitLength() < Long.SIZE;
+    }
+
+    /**
+     * Computes the correspondent double value of calling BigFraction.
+     *
+     * @return Correspondent double value of calling BigFraction.
+     */
+    public double toDouble() {
+        return new BigDecimal(this.numerator).divide(new BigDecimal(this.denominator), MathContext.DECIMAL64).doubleValue();
+    }
+
+    /**
+     * Converts the calling BigFraction in Latex form.
+     *
+     * @return Calling BigFraction in Latex form.
+     */
+    public String toLatex() {
+        if (this.denominator.equals(BigInteger.ONE)) // Can be seen as an integer
+            return this.numerator.toString();
+        String fraction = "\\frac{" + this.numerator.abs() + "}{" + this.denominator + "}";
+        if (this.isNegative())
+            return "-" + fraction;
+        else
+            return fraction;
+    }
+
+    /**
+     * Two BigFraction are equal if they have same numerator and same denominator, as they are always reduced to the
+     * lowest terms with the sign on the numerator.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BigFraction)) return false;
+        BigFraction fraction = (BigFraction) o;
+        return this.numerator.equals(fraction.numerator) && this.denominator.equals(fraction.denominator);
+    }
+
+    /**
+     * Follows the equals() method.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.numerator, this.denominator);
+    }
+
+    /**
+     * @return Calling BigFraction to String.
+     */
+    @Override
+    public String toString() {
+        if (this.denominator.equals(BigInteger.ONE)) // Returns an Integer
+            return this.numerator.toString();
+        else
+            return this.numerator + "/" + this.denominator;
+    }
+}
@@ -0,0 +1,222 @@
+package matrixCalculator.numberDataTypes;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Matrix of double values memorized in a flat array in row-major order, so the element (i, j) is at index
+ * i * columns + j and a whole row is contiguous in memory.
+ * Used when exact results are not needed: operations are much faster than with {@link FractionMatrix} but are
+ * affected by rounding errors.
+ */
+
+public class DoubleMatrix {
+
+    /**
+     * Number of rows.
+     */
+    private final int rows;
+    /**
+     * Number of columns.
+     */
+    private final int columns;
+    /**
+     * Values in row-major order.
+     */
+    private final double[] values;
+
+    /**
+     * Creates a matrix filled with 0.
+     *
+     * @param rows    Number of rows, greater than 0.
+     * @param columns Number of columns, greater than 0.
+     */
+    public DoubleMatrix(int rows, int columns) {
+        if (rows <= 0 || columns <= 0)
+            throw new IllegalArgumentException("Matrix dimensions must be positive");
+        this.rows = rows;
+        this.columns = columns;
+        this.values = new double[Math.multiplyExact(rows, columns)];
+    }
+
+    /**
+     * Creates a matrix which uses the given array, without copying it.
+     *
+     * @param rows    Number of rows, greater than 0.
+     * @param columns Number of columns, greater than 0.
+     * @param values  Values in row-major order, rows x columns elements.
+     */
+    public DoubleMatrix(int rows, int columns, double[] values) {
+        if (rows <= 0 || columns <= 0)
+            throw new IllegalArgumentException("Matrix dimensions must be positive");
+        if (values.length != (long) rows * columns)
+            throw new IllegalArgumentException("Values don't match matrix dimensions");
+        this.rows = rows;
+        this.columns = columns;
+        this.values = values;
+    }
+
+    /**
+     * Converts a double matrix in the correspondent DoubleMatrix.
+     *
+     * @param matrix Any rectangular double matrix.
+     * @return A new DoubleMatrix with the values of the input matrix.
+     */
+    public static DoubleMatrix of(double[][] matrix) {
+        Objects.requireNonNull(matrix);
+        DoubleMatrix m = new DoubleMatrix(matrix.length, matrix[0].length);
+        for (int i = 0; i < m.rows; i++) {
+            System.arraycopy(matrix[i], 0, m.values, m.rowOffset(i), m.columns);
+        }
+        return m;
+    }
+
+    /**
+     * Converts a Fraction matrix in the nearest DoubleMatrix.
+     *
+     * @param matrix Any rectangular Fraction matrix without null elements.
+     * @return A new DoubleMatrix with the values of the input matrix.
+     */
+    public static DoubleMatrix of(Fraction[][] matrix) {
+        Objects.requireNonNull(matrix);
+        DoubleMatrix m = new DoubleMatrix(matrix.length, matrix[0].length);
+        for (int i = 0; i < m.rows; i++) {
+            for (int j = 0; j < m.columns; j++) {
+                m.set(i, j, matrix[i][j].toDouble());
+            }
+        }
+        return m;
+    }
+
+    /**
+     * Converts the calling matrix in the correspondent double matrix.
+     *
+     * @return A new double matrix with the values of the calling matrix.
+     */
+    public double[][] toArray() {
+        double[][] matrix = new double[this.rows][this.columns];
+        for (int i = 0; i < this.rows; i++) {
+            System.arraycopy(this.values, this.rowOffset(i), matrix[i], 0, this.columns);
+        }
+        return matrix;
+    }
+
+    /**
+     * @return Number of rows.
+     */
+    public int getRows() {
+        return this.rows;
+    }
+
+    /**
+     * @return Number of columns.
+     */
+    public int getColumns() {
+        return this.columns;
+    }
+
+    /**
+     * @param i Index of the row.
+     * @return Index in the flat array of the first element of the row, the row goes on for getColumns() elements.
+     */
+    public int rowOffset(int i) {
+        return i * this.columns;
+    }
+
+    /**
+     * Provides the flat array of the values, without copying it.
+     *
+     * @return The values in row-major order.
+     */
+    public double[] getValues() {
+        return this.values;
+    }
+
+    /**
+     * @return true if the matrix is square.
+     */
+    public boolean isSquare() {
+        return this.rows == this.columns;
+    }
+
+    /**
+     * @param i Index of the row.
+     * @param j Index of the column.
+     * @return The value at the given position.
+     */
+    public double get(int i, int j) {
+        return this.values[this.rowOffset(i) + j];
+    }
+
+    /**
+     * @param i     Index of the row.
+     * @param j     Index of the column.
+     * @param value Any double.
+     */
+    public void set(int i, int j, double value) {
+        this.values[this.rowOffset(i) + j] = value;
+    }
+
+    /**
+     * @return The maximum absolute value of the elements, used to scale tolerances.
+     */
+    public double maxAbs() {
+        double max = 0;
+        for (double v : this.values) {
+            max = Math.max(max, Math.abs(v));
+        }
+        return max;
+    }
+
+    /**
+     * Switches two rows.
+     *
+     * @param i Index of the first row.
+     * @param j Index of the second row.
+     */
+    public void swapRows(int i, int j) {
+        if (i == j)
+            return;
+        int a = this.rowOffset(i);
+        int b = this.rowOffset(j);
+        for (int k = 0; k < this.columns; k++) {
+            double v = this.values[a + k];
+            this.values[a + k] = this.values[b + k];
+            this.values[b + k] = v;
+        }
+    }
+
+    /**
+     * @return A new matrix with the same values of the calling one.
+     */
+    public DoubleMatrix copy() {
+        return new DoubleMatrix(this.rows, this.columns, Arrays.copyOf(this.values, this.values.length));
+    }
+
+    /**
+     * Two matrices are equal if they have same dimensions and same values.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof DoubleMatrix)) return false;
+        DoubleMatrix m = (DoubleMatrix) o;
+        return this.rows == m.rows && this.columns == m.columns && Arrays.equals(this.values, m.values);
+    }
+
+    /**
+     * Follows the equals() method.
+     */
+    @Override
+    public int hashCode() {
+        return 31 * Objects.hash(this.rows, this.columns) + Arrays.hashCode(this.values);
+    }
+
+    /**
+     * @return Calling matrix to String, with the same format of Arrays.deepToString().
+     */
+    @Override
+    public String toString() {
+        return Arrays.deepToString(this.toArray());
+    }
+}
@@ -1,68 +1,246 @@
 package matrixCalculator.numberDataTypes;
 
+import java.math.BigInteger;
 import java.util.Objects;
 
 /**
  * Simulates math fractions manipulating numerator and denominator.
  * Once converted, works also with double and integer.
- * Every methods throws an exception if an overflow occurs.
+ * Numerator and denominator are memorized as long, if a result doesn't fit in a long it is transparently promoted
+ * to a {@link BigFraction} so no method throws an exception on overflow.
+ * Every Fraction is kept in canonical form since its creation: reduced to the lowest terms with a binary gcd, positive
+ * denominator and sign on the numerator. Comparisons and sign checks never need to reduce it again.
  */
 
 public class Fraction {
 
     /**
-     * Fraction's numerator.
+     * Fraction's numerator, it carries the sign. Meaningless if the fraction is promoted.
      */
-    private final int numerator;
+    private final long numerator;
     /**
-     * Fraction's denominator.
+     * Fraction's denominator, always positive. Meaningless if the fraction is promoted.
      */
-    private final int denominator;
+    private final long denominator;
+    /**
+     * Arbitrary precision value of the fraction, not null only if it doesn't fit in a long fraction.
+     */
+    private final BigFraction big;
 
     /**
-     * Creates a Fraction Object.
+     * Lowest numerator of the preallocated fractions.
+     */
+    private static final int CACHE_MIN_NUMERATOR = -128;
+    /**
+     * Highest numerator of the preallocated fractions.
+     */
+    private static final int CACHE_MAX_NUMERATOR = 1024;
+    /**
+     * Highest denominator of the preallocated fractions.
+     */
+    private static final int CACHE_MAX_DENOMINATOR = 8;
+    /**
+     * Preallocated canonical small fractions, indexed by [denominator - 1][numerator - CACHE_MIN_NUMERATOR].
+     * Slots of not reduced fractions are null, as they can't be canonical.
+     */
+    private static final Fraction[][] CACHE = buildCache();
+
+    /**
+     * The fraction 0.
+     */
+    public static final Fraction ZERO = valueOf(0, 1);
+    /**
+     * The fraction 1.
+     */
+    public static final Fraction ONE = valueOf(1, 1);
+
+    /**
+     * Creates a Fraction Object reduced to the lowest terms.
      *
      * @param numerator   Any Integer
      * @param denominator Any Integer (if denominator is 0 or null it is converted to 1, if numerator is null, it is converted to 0)
      */
     public Fraction(Integer numerator, Integer denominator) {
-        if (numerator == null)
-            numerator = 0;
-        if (denominator == null || denominator == 0)
+        this(numerator == null ? 0L : numerator, denominator == null ? 1L : denominator);
+    }
+
+    /**
+     * Creates a Fraction Object reduced to the lowest terms.
+     *
+     * @param numerator   Any long.
+     * @param denominator Any long (if denominator is 0 it is converted to 1).
+     */
+    public Fraction(long numerator, long denominator) {
+        if (denominator == 0)
             denominator = 1;
+        if (numerator == Long.MIN_VALUE || denominator == Long.MIN_VALUE) { // Absolute value doesn't fit in a long
+            BigFraction b = new BigFraction(numerator, denominator);
+            if (b.fitsInLong()) { // Fits once reduced
+                this.numerator = b.getNumerator().longValue();
+                this.denominator = b.getDenominator().longValue();
+                this.big = null;
+            } else {
+                this.numerator = 0;
+                this.denominator = 1;
+                this.big = b;
+            }
+        } else {
+            long gcd = gcd(Math.abs(numerator), Math.abs(denominator));
+            if (denominator < 0) // Moves the sign on the numerator
+                gcd = -gcd;
+            this.numerator = numerator / gcd;
+            this.denominator = denominator / gcd;
+            this.big = null;
+        }
+    }
+
+    /**
+     * Creates a promoted Fraction Object.
+     *
+     * @param big Any BigFraction which doesn't fit in a long fraction.
+     */
+    private Fraction(BigFraction big) {
+        this(0, 1, big);
+    }
+
+    /**
+     * Creates a Fraction Object from values already in canonical form, without reducing them.
+     */
+    private Fraction(long numerator, long denominator, BigFraction big) {
         this.numerator = numerator;
         this.denominator = denominator;
+        this.big = big;
+    }
+
+    /**
+     * Provides the Fraction with the given value. Small fractions are shared instances taken from a preallocated table,
+     * as Fraction is immutable they can be used instead of new Objects.
+     *
+     * @param numerator   Any long.
+     * @param denominator Any long (if denominator is 0 it is converted to 1).
+     * @return The Fraction reduced to the lowest terms.
+     */
+    public static Fraction valueOf(long numerator, long denominator) {
+        if (denominator == 0)
+            denominator = 1;
+        if (numerator == Long.MIN_VALUE || denominator == Long.MIN_VALUE) // Never cached
+            return new Fraction(numerator, denominator);
+        long gcd = gcd(Math.abs(numerator), Math.abs(denominator));
+        if (denominator < 0) // Moves the sign on the numerator
+            gcd = -gcd;
+        return canonical(numerator / gcd, denominator / gcd);
+    }
+
+    /**
+     * Provides the Fraction with the given integer value, small values are shared instances.
+     *
+     * @param n Any long.
+     * @return The Fraction n/1.
+     */
+    public static Fraction valueOf(long n) {
+        if (n == Long.MIN_VALUE) // Never cached
+            return new Fraction(n, 1);
+        return canonical(n, 1);
+    }
+
+    /**
+     * Provides the Fraction from values already in canonical form, taken from the preallocated table if possible.
+     */
+    private static Fraction canonical(long numerator, long denominator) {
+        if (numerator == Long.MIN_VALUE) // Its opposite doesn't fit in a long, so it's never memorized as long
+            return new Fraction(new BigFraction(numerator, denominator));
+        if (denominator <= CACHE_MAX_DENOMINATOR && numerator >= CACHE_MIN_NUMERATOR && numerator <= CACHE_MAX_NUMERATOR) {
+            return CACHE[(int) denominator - 1][(int) numerator - CACHE_MIN_NUMERATOR];
+        }
+        return new Fraction(numerator, denominator, null);
+    }
+
+    /**
+     * Creates the table of the preallocated small fractions.
+     */
+    private static Fraction[][] buildCache() {
+        Fraction[][] cache = new Fraction[CACHE_MAX_DENOMINATOR][CACHE_MAX_NUMERATOR - CACHE_MIN_NUMERATOR + 1];
+        for (int d = 1; d <= CACHE_MAX_DENOMINATOR; d++) {
+            for (int n = CACHE_MIN_NUMERATOR; n <= CACHE_MAX_NUMERATOR; n++) {
+                if (gcd(Math.abs(n), d) == 1)
+                    cache[d - 1][n - CACHE_MIN_NUMERATOR] = new Fraction(n, d, null);
+            }
+        }
+        return cache;
     }
 
     /**
      * @return Fraction numerator.
+     * @throws ArithmeticException If the numerator doesn't fit in a long, use getBigNumerator() instead.
      */
-    public int getNumerator() {
+    public long getNumerator() throws ArithmeticException {
+        if (this.big != null)
+            return this.big.getNumerator().longValueExact();
         return this.numerator;
     }
 
     /**
      * @return Fraction denominator.
+     * @throws ArithmeticException If the denominator doesn't fit in a long, use getBigDenominator() instead.
      */
-    public int getDenominator() {
+    public long getDenominator() throws ArithmeticException {
+        if (this.big != null)
+            return this.big.getDenominator().longValueExact();
         return this.denominator;
     }
 
+    /**
+     * @return Fraction numerator with arbitrary precision.
+     */
+    public BigInteger getBigNumerator() {
+        if (this.big != null)
+            return this.big.getNumerator();
+        return BigInteger.valueOf(this.numerator);
+    }
+
+    /**
+     * @return Fraction denominator with arbitrary precision.
+     */
+    public BigInteger getBigDenominator() {
+        if (this.big != null)
+            return this.big.getDenominator();
+        return BigInteger.valueOf(this.denominator);
+    }
+
+    /**
+     * Checks if calling Fraction has been promoted to arbitrary precision.
+     *
+     * @return true if numerator or denominator of the calling Fraction don't fit in a long, false otherwise.
+     */
+    public boolean isBig() {
+        return this.big != null;
+    }
+
     /**
      * Multiplies two fractions.
      *
      * @param x Any non null fraction.
      * @param y Any non null fraction.
      * @return The product of the two fractions reduced to the lowest terms.
-     * @throws ArithmeticException If an overflow occurs.
      */
-    public static Fraction multiply(Fraction x, Fraction y) throws ArithmeticException {
+    public static Fraction multiply(Fraction x, Fraction y) {
         Objects.requireNonNull(x);
         Objects.requireNonNull(y);
-        int n = Math.multiplyExact(x.getNumerator(), y.getNumerator());
-        int d = Math.multiplyExact(x.getDenominator(), y.getDenominator());
-        Fraction f = new Fraction(n, d);
-        return f.toLowestTerms();
+        if (x.big == null && y.big == null) {
+            if (x.numerator == 0 || y.numerator == 0)
+                return ZERO;
+            try {
+                // Cross reduction, the product of two canonical fractions is then already canonical
+                long g1 = gcd(Math.abs(x.numerator), y.denominator);
+                long g2 = gcd(Math.abs(y.numerator), x.denominator);
+                long n = Math.multiplyExact(x.numerator / g1, y.numerator / g2);
+                long d = Math.multiplyExact(x.denominator / g2, y.denominator / g1);
+                return canonical(n, d);
+            } catch (ArithmeticException e) {
+                // Overflow, the product is computed with arbitrary precision
+            }
+        }
+        return toFraction(BigFraction.multiply(x.toBigFraction(), y.toBigFraction()));
     }
 
     /**
@@ -70,14 +248,13 @@ public class Fraction {
      *
      * @param fractions Any number of fraction.
      * @return The product of the fractions reduced to the lowest terms.
-     * @throws ArithmeticException If an overflow occurs.
      */
-    public static Fraction multiply(Fraction... fractions) throws ArithmeticException {
-        Fraction f = new Fraction(1, 1);
+    public static Fraction multiply(Fraction... fractions) {
+        Fraction f = ONE;
         for (Fraction n : fractions) {
             f = Fraction.multiply(f, n);
         }
-        return f.toLowestTerms();
+        return f;
     }
 
     /**
@@ -86,15 +263,20 @@ public class Fraction {
      * @param x Any non null fraction.
      * @param y Any non null fraction.
      * @return The division of the first fraction by the second.
-     * @throws ArithmeticException If an overflow occurs.
      */
-    public static Fraction divide(Fraction x, Fraction y) throws ArithmeticException {
+    public static Fraction divide(Fraction x, Fraction y) {
         Objects.requireNonNull(x);
         Objects.requireNonNull(y);
-        int n = Math.multiplyExact(x.getNumerator(), y.getDenominator()); // Num and den of the second fraction are switched
-        int d = Math.multiplyExact(x.getDenominator(), y.getNumerator());
-        Fraction f = new Fraction(n, d);
-        return f.toLowestTerms();
+        if (x.big == null && y.big == null) {
+            try {
+                long n = Math.multiplyExact(x.numerator, y.denominator); // Num and den of the second fraction are switched
+                long d = Math.multiplyExact(x.denominator, y.numerator);
+                return valueOf(n, d);
+            } catch (ArithmeticException e) {
+                // Overflow, the division is computed with arbitrary precision
+            }
+        }
+        return toFraction(BigFraction.divide(x.toBigFraction(), y.toBigFraction()));
     }
 
     /**
@@ -103,17 +285,23 @@ public class Fraction {
      * @param x Any non null fraction.
      * @param y Any non null fraction.
      * @return The addition of the two fractions reduced to the lowest terms.
-     * @throws ArithmeticException If an overflow occurs.
      */
-    public static Fraction add(Fraction x, Fraction y) throws ArithmeticException {
+    public static Fraction add(Fraction x, Fraction y) {
         Objects.requireNonNull(x);
         Objects.requireNonNull(y);
-        int lcd = Math.multiplyExact(x.denominator, y.denominator); // Lowest common denominator
-        int xTmp = Math.multiplyExact((lcd / x.denominator), x.numerator);
-        int yTmp = Math.multiplyExact((lcd / y.denominator), y.numerator);
-        int n = Math.addExact(xTmp, yTmp);
-        Fraction f = new Fraction(n, lcd);
-        return f.toLowestTerms();
+        if (x.big == null && y.big == null) {
+            try {
+                long gcd = gcd(x.denominator, y.denominator);
+                long lcd = Math.multiplyExact(x.denominator, y.denominator / gcd); // Lowest common denominator
+                long xTmp = Math.multiplyExact(y.denominator / gcd, x.numerator);
+                long yTmp = Math.multiplyExact(x.denominator / gcd, y.numerator);
+                long n = Math.addExact(xTmp, yTmp);
+                return valueOf(n, lcd);
+            } catch (ArithmeticException e) {
+                // Overflow, the addition is computed with arbitrary precision
+            }
+        }
+        return toFraction(BigFraction.add(x.toBigFraction(), y.toBigFraction()));
     }
 
     /**
@@ -121,15 +309,14 @@ public class Fraction {
      *
      * @param fractions Any number of fraction.
      * @return The addition of the fractions reduced to the lowest terms.
-     * @throws ArithmeticException If an overflow occurs.
      */
-    public static Fraction add(Fraction... fractions) throws ArithmeticException {
-        Fraction f = new Fraction(0, 1);
+    public static Fraction add(Fraction... fractions) {
+        Fraction f = ZERO;
         for (Fraction n : fractions) {
             Fraction x = Fraction.add(f, n);
             f = x;
         }
-        return f.toLowestTerms();
+        return f;
     }
 
     /**
@@ -138,9 +325,8 @@ public class Fraction {
      * @param x Any non null fraction.
      * @param y Any non null fraction.
      * @return The subtraction of the second fraction from the first reduced to the lowest terms.
-     * @throws ArithmeticException If an overflow occurs.
      */
-    public static Fraction sub(Fraction x, Fraction y) throws ArithmeticException {
+    public static Fraction sub(Fraction x, Fraction y) {
         Objects.requireNonNull(x);
         Objects.requireNonNull(y);
         return add(x, y.negative());
@@ -152,37 +338,46 @@ public class Fraction {
      * @param x Any non null fraction.
      * @param y The power to which raise the fraction.
      * @return The fraction raised to the input power reduced to the lowest terms.
-     * @throws ArithmeticException If an overflow occurs.
      */
-    public static Fraction pow(Fraction x, int y) throws ArithmeticException {
+    public static Fraction pow(Fraction x, int y) {
         Objects.requireNonNull(x);
-        if (y >= 0) { // If power is positive
-            int n = powExact(x.numerator, y);
-            int d = powExact(x.denominator, y);
-            Fraction f = new Fraction(n, d);
-            return f.toLowestTerms();
-        } else { // If power is negative must be raised to the power the fraction inverse
-            y = Math.abs(y); // y becomes positive
-            int n = powExact(x.denominator, y); // Denominator becomes numerator
-            int d = powExact(x.numerator, y); // Numerator becomes denominator
-            Fraction f = new Fraction(n, d);
-            return f.toLowestTerms();
+        if (x.big == null && y != Integer.MIN_VALUE) {
+            try {
+                if (y >= 0) { // If power is positive
+                    long n = powExact(x.numerator, y);
+                    long d = powExact(x.denominator, y);
+                    return canonical(n, d); // Powers of coprime numbers are coprime
+                } else { // If power is negative must be raised to the power the fraction inverse
+                    int p = -y; // Power becomes positive
+                    long n = powExact(x.denominator, p); // Denominator becomes numerator
+                    long d = powExact(x.numerator, p); // Numerator becomes denominator
+                    return valueOf(n, d);
+                }
+            } catch (ArithmeticException e) {
+                // Overflow, the power is computed with arbitrary precision
+            }
         }
+        return toFraction(BigFraction.pow(x.toBigFraction(), y));
     }
 
     /**
-     * Raises an integer to a power.
+     * Raises a long to a power by repeated squaring.
      *
-     * @param x Any integer.
-     * @param y Any integer.
-     * @return The integer raised to the input power.
+     * @param x Any long.
+     * @param y Any non negative integer.
+     * @return The long raised to the input power.
      * @throws ArithmeticException If an overflow occurs.
      */
-    private static int powExact(int x, int y) {
-        long pow = (long) Math.pow(x, y);
-        if (pow > Integer.MAX_VALUE)
-            throw new ArithmeticException();
-        return (int) pow;
+    private static long powExact(long x, int y) throws ArithmeticException {
+        long pow = 1;
+        while (y > 0) {
+            if ((y & 1) == 1)
+                pow = Math.multiplyExact(pow, x);
+            y >>= 1;
+            if (y > 0)
+                x = Math.multiplyExact(x, x);
+        }
+        return pow;
     }
 
     /**
@@ -193,7 +388,31 @@ public class Fraction {
      */
     public static Fraction toFraction(Integer n) {
         Objects.requireNonNull(n);
-        return new Fraction(n, 1);
+        return valueOf(n.longValue());
+    }
+
+    /**
+     * Converts a BigFraction in the correspondent Fraction Object, promoted only if it doesn't fit in a long fraction.
+     *
+     * @param n Any non null BigFraction.
+     * @return The input BigFraction converted to Fraction reduced to the lowest terms.
+     */
+    public static Fraction toFraction(BigFraction n) {
+        Objects.requireNonNull(n);
+        if (n.fitsInLong()) // BigFraction is already in canonical form
+            return canonical(n.getNumerator().longValue(), n.getDenominator().longValue());
+        return new Fraction(n);
+    }
+
+    /**
+     * Converts the calling Fraction in the correspondent BigFraction Object.
+     *
+     * @return The calling Fraction with arbitrary precision reduced to the lowest terms.
+     */
+    public BigFraction toBigFraction() {
+        if (this.big != null)
+            return this.big;
+        return new BigFraction(this.numerator, this.denominator);
     }
 
     /**
@@ -206,10 +425,9 @@ public class Fraction {
         Objects.requireNonNull(n);
         String s = Double.toString(Math.abs(n));
         int lengthDec = s.length() - (Integer.toString((int) (double) n).length() + 1); // Counts the decimal digits
-        int den = (int) Math.pow(10, lengthDec); // Denominator a power of 10 according to math rules
-        int num = (int) (n * den); // Makes the double an integer numerator (divided by denominator gives the input number)
-        Fraction f = new Fraction(num, den);
-        return f.toLowestTerms();
+        long den = (long) Math.pow(10, lengthDec); // Denominator a power of 10 according to math rules
+        long num = (long) (n * den); // Makes the double an integer numerator (divided by denominator gives the input number)
+        return valueOf(num, den);
     }
 
     /**
@@ -218,41 +436,45 @@ public class Fraction {
      * @return The inverse of the calling Fraction.
      */
     public Fraction getInverse() {
-        int d = this.numerator;
-        int n = this.denominator;
-        Fraction f = new Fraction(n, d);
-        return f.toLowestTerms();
+        if (this.big != null)
+            return toFraction(this.big.getInverse());
+        return valueOf(this.denominator, this.numerator);
     }
 
     /**
      * Provides the calling Fraction to the lowest terms.
      *
-     * @return The calling Fraction reduced to the lowest terms.
+     * @return The calling Fraction, as it's always memorized reduced to the lowest terms.
      */
     public Fraction toLowestTerms() {
-        // Works with the positive fraction, at the end adds the sign
-        int absNum = Math.abs(this.numerator); // Numerator absolute value
-        int absDen = Math.abs(this.denominator); // Denominator absolute value
-        int divider = 2; // Start divider to find
-        int minNum = absNum / 2; // Minimum number for the numerator to looks for a divider (divider can't be greater than dividend's half)
-        int minDen = absDen / 2;
-        while ((minNum >= divider) || (minDen >= divider)) {
-            int numAct = absNum % divider; // Possible result of the division ("actual" numerator)
-            int denAct = absDen % divider;
-            if ((numAct == 0) && (denAct == 0)) { // Numerator and denominator are divisible by the actual divider
-                absNum = absNum / divider;
-                absDen = absDen / divider;
-                // Divider isn't increased as fraction could be divided again by the same number
-            } else {
-                ++divider; // Looks for another divider
+        return this;
+    }
+
+    /**
+     * Computes the greatest common divider of two non negative longs with the binary (Stein) algorithm, which uses only
+     * shifts and subtractions.
+     *
+     * @param a Any non negative long.
+     * @param b Any non negative long.
+     * @return The greatest common divider, 0 only if both are 0.
+     */
+    static long gcd(long a, long b) {
+        if (a == 0)
+            return b;
+        if (b == 0)
+            return a;
+        int shift = Long.numberOfTrailingZeros(a | b); // Common powers of 2
+        a >>= Long.numberOfTrailingZeros(a);
+        do { // a is always odd
+            b >>= Long.numberOfTrailingZeros(b);
+            if (a > b) {
+                long tmp = a;
+                a = b;
+                b = tmp;
             }
-        }
-        Fraction f;
-        if (this.isNegative()) // Adds sign
-            f = new Fraction(-absNum, absDen);
-        else
-            f = new Fraction(absNum, absDen);
-        return f;
+            b -= a;
+        } while (b != 0);
+        return a << shift;
     }
 
     /**
@@ -261,6 +483,8 @@ public class Fraction {
      * @return Correspondent double value of calling Fraction.
      */
     public double toDouble() {
+        if (this.big != null)
+            return this.big.toDouble();
         return (double) this.numerator / (double) this.denominator;
     }
 
@@ -270,7 +494,9 @@ public class Fraction {
      * @return Correspondent negative value of calling Fraction.
      */
     public Fraction negative() {
-        return new Fraction(-this.numerator, this.denominator);
+        if (this.big != null)
+            return new Fraction(this.big.negative());
+        return canonical(-this.numerator, this.denominator); // Never overflows as Long.MIN_VALUE is never memorized
     }
 
     /**
@@ -279,7 +505,18 @@ public class Fraction {
      * @return true if calling Fraction is negative, false otherwise.
      */
     public boolean isNegative() {
-        return (this.numerator > 0 && this.denominator < 0) || (this.numerator < 0 && this.denominator > 0);
+        if (this.big != null)
+            return this.big.isNegative();
+        return this.numerator < 0;
+    }
+
+    /**
+     * Checks if calling Fraction is 0.
+     *
+     * @return true if calling Fraction is 0, false otherwise.
+     */
+    public boolean isZero() {
+        return this.big == null && this.numerator == 0; // A promoted fraction is never 0
     }
 
     /**
@@ -289,7 +526,9 @@ public class Fraction {
      * @return true if calling Fraction can be seen just as s Fraction, false otherwise.
      */
     public boolean isFraction() {
-        return this.denominator != 1 && this.denominator != -1 && this.numerator != 0;
+        if (this.big != null)
+            return !this.big.getDenominator().equals(BigInteger.ONE);
+        return this.denominator != 1; // 0 has always denominator 1
     }
 
     /**
@@ -301,7 +540,7 @@ public class Fraction {
     public static Fraction copyOf(Fraction fraction) {
         if (fraction == null)
             return null;
-        return new Fraction(fraction.numerator, fraction.denominator);
+        return new Fraction(fraction.numerator, fraction.denominator, fraction.big);
     }
 
     /**
@@ -310,26 +549,21 @@ public class Fraction {
      * @return Calling Fraction in Latex form.
      */
     public String toLatex() {
-        if (this.denominator == 1 || this.denominator == -1) { // Can be seen as an integer
-            if (this.isNegative())
-                return Integer.toString(-Math.abs(this.numerator));
-            else
-                return Integer.toString(Math.abs(this.numerator));
-        } else if (this.numerator == 0) // Is 0
-            return Integer.toString(0);
-        else { // Is only a fraction
-            String fraction = "\\frac{" + Math.abs(this.numerator) + "}{" + Math.abs(this.denominator) + "}";
-            if (this.isNegative())
-                return "-" + fraction;
-            else
-                return fraction;
-        }
+        if (this.big != null)
+            return this.big.toLatex();
+        if (this.denominator == 1) // Can be seen as an integer
+            return Long.toString(this.numerator);
+        String fraction = "\\frac{" + Math.abs(this.numerator) + "}{" + this.denominator + "}";
+        if (this.isNegative())
+            return "-" + fraction;
+        else
+            return fraction;
     }
 
     /**
      * Compares two objects. Can compares the calling Fraction even with Integers or Double.
      * If the correspondent Fraction form matches, returns true.
-     * 3 condition: same absolute numerators, same absolute denominators, both negative or positive.
+     * As both are in canonical form, they must have same numerator and same denominator.
      */
     @Override
     public boolean equals(Object o) {
@@ -344,25 +578,19 @@ public class Fraction {
         } else {
             fraction = (Fraction) o;
         }
-        if (fraction.numerator == 0 && this.numerator == 0) // If both numerator equals 0, returns true
-            return true;
-        return Math.abs(fraction.toLowestTerms().numerator) == Math.abs(this.toLowestTerms().numerator) && Math.abs(fraction.toLowestTerms().denominator) == Math.abs(this.toLowestTerms().denominator) && (this.isNegative() == fraction.isNegative());
+        if (fraction.big != null || this.big != null) // A promoted fraction can be equal only to another promoted one
+            return fraction.big != null && this.big != null && fraction.big.equals(this.big);
+        return this.numerator == fraction.numerator && this.denominator == fraction.denominator;
     }
 
     /**
-     * Follows the equals() method. The Fraction is hashed according to absolute numerator, absolute denominator, sign.
+     * Follows the equals() method. The Fraction is hashed according to its canonical numerator and denominator.
      */
     @Override
     public int hashCode() {
-        int hashCode;
-        Fraction f = this.toLowestTerms();
-        int n = Math.abs(f.numerator);
-        int d = Math.abs(f.denominator);
-        if (n == 0)
-            hashCode = Objects.hash(0);
-        else
-            hashCode = Objects.hash(n, d, f.isNegative());
-        return hashCode;
+        if (this.big != null)
+            return this.big.hashCode();
+        return 31 * Long.hashCode(this.numerator) + Long.hashCode(this.denominator);
     }
 
     /**
@@ -370,23 +598,11 @@ public class Fraction {
      */
     @Override
     public String toString() {
-        int n;
-        int d;
-        n = Math.abs(this.numerator);
-        d = Math.abs(this.denominator);
-        if (n == 0) // Return just 0
-            return Integer.toString(0);
-        else if (d == 1) { // Returns an Integer
-            if (this.isNegative())
-                return "-" + n;
-            else
-                return Integer.toString(n);
-        } else { // Puts the sign just before the denominator
-            String fraction = n + "/" + d;
-            if (this.isNegative())
-                return "-" + fraction;
-            else
-                return fraction;
-        }
+        if (this.big != null)
+            return this.big.toString();
+        if (this.denominator == 1) // Returns an Integer
+            return Long.toString(this.numerator);
+        else // The sign is just before the numerator
+            return this.numerator + "/" + this.denominator;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,400 @@
+package matrixCalculator.numberDataTypes;
+
+import java.math.BigInteger;
+import java.util.Objects;
+
+/**
+ * Mutable fraction used to accumulate sums of products without creating a Fraction Object for every term.
+ * Numerator and denominator are memorized as long and reduced only when an overflow would occur or when the final
+ * Fraction is created. If the value doesn't fit in a long even once reduced, it is promoted to BigInteger.
+ */
+
+public class FractionAccumulator {
+
+    /**
+     * Accumulated numerator, it carries the sign.
+     */
+    private long numerator;
+    /**
+     * Accumulated denominator, always positive.
+     */
+    private long denominator;
+    /**
+     * Accumulated numerator with arbitrary precision, not null only if the accumulator has been promoted.
+     */
+    private BigInteger bigNumerator;
+    /**
+     * Accumulated denominator with arbitrary precision, not null only if the accumulator has been promoted.
+     */
+    private BigInteger bigDenominator;
+
+    /**
+     * Creates an accumulator with value 0.
+     */
+    public FractionAccumulator() {
+        this.reset();
+    }
+
+    /**
+     * Sets the accumulator to 0.
+     */
+    public void reset() {
+        this.numerator = 0;
+        this.denominator = 1;
+        this.bigNumerator = null;
+        this.bigDenominator = null;
+    }
+
+    /**
+     * Sets the accumulator to the value of a fraction.
+     *
+     * @param f Any non null fraction.
+     */
+    public void set(Fraction f) {
+        this.reset();
+        this.add(f);
+    }
+
+    /**
+     * Adds a fraction to the accumulator.
+     *
+     * @param f Any non null fraction.
+     */
+    public void add(Fraction f) {
+        Objects.requireNonNull(f);
+        if (f.isBig())
+            this.addTerm(f.getBigNumerator(), f.getBigDenominator());
+        else
+            this.addTerm(f.getNumerator(), f.getDenominator());
+    }
+
+    /**
+     * Subtracts a fraction from the accumulator.
+     *
+     * @param f Any non null fraction.
+     */
+    public void sub(Fraction f) {
+        this.add(f.negative());
+    }
+
+    /**
+     * Adds the product of two fractions to the accumulator.
+     *
+     * @param x Any non null fraction.
+     * @param y Any non null fraction.
+     */
+    public void addProduct(Fraction x, Fraction y) {
+        this.addProduct(x, y, false);
+    }
+
+    /**
+     * Subtracts the product of two fractions from the accumulator.
+     *
+     * @param x Any non null fraction.
+     * @param y Any non null fraction.
+     */
+    public void subProduct(Fraction x, Fraction y) {
+        this.addProduct(x, y, true);
+    }
+
+    /**
+     * Adds or subtracts the product of two fractions to the accumulator.
+     */
+    private void addProduct(Fraction x, Fraction y, boolean negative) {
+        Objects.requireNonNull(x);
+        Objects.requireNonNull(y);
+        if (x.isZero() || y.isZero())
+            return;
+        if (!x.isBig() && !y.isBig() && this.addProductTerm(x.getNumerator(), x.getDenominator(), y.getNumerator(), y.getDenominator(), negative))
+            return;
+        this.addProductTerm(x.toBigFraction(), y.toBigFraction(), negative);
+    }
+
+    /**
+     * Sets the accumulator to the value of an element of a matrix.
+     *
+     * @param m     Any non null matrix.
+     * @param index Index of the element in the flat arrays of the matrix.
+     */
+    public void set(FractionMatrix m, int index) {
+        this.reset();
+        this.add(m, index);
+    }
+
+    /**
+     * Adds an element of a matrix to the accumulator.
+     *
+     * @param m     Any non null matrix.
+     * @param index Index of the element in the flat arrays of the matrix.
+     */
+    public void add(FractionMatrix m, int index) {
+        if (m.isBig(index)) {
+            BigFraction b = m.getBig(index);
+            this.addTerm(b.getNumerator(), b.getDenominator());
+        } else {
+            this.addTerm(m.getNumerators()[index], m.getDenominators()[index]);
+        }
+    }
+
+    /**
+     * Subtracts an element of a matrix from the accumulator.
+     *
+     * @param m     Any non null matrix.
+     * @param index Index of the element in the flat arrays of the matrix.
+     */
+    public void sub(FractionMatrix m, int index) {
+        if (m.isBig(index)) {
+            BigFraction b = m.getBig(index);
+            this.addTerm(b.getNumerator().negate(), b.getDenominator());
+        } else {
+            this.addTerm(-m.getNumerators()[index], m.getDenominators()[index]); // Never Long.MIN_VALUE
+        }
+    }
+
+    /**
+     * Adds the product of two elements of fraction matrices to the accumulator, without creating any Fraction.
+     *
+     * @param x      Any non null matrix.
+     * @param xIndex Index of the first factor in the flat arrays of x.
+     * @param y      Any non null matrix.
+     * @param yIndex Index of the second factor in the flat arrays of y.
+     */
+    public void addProduct(FractionMatrix x, int xIndex, FractionMatrix y, int yIndex) {
+        this.addProduct(x, xIndex, y, yIndex, false);
+    }
+
+    /**
+     * Subtracts the product of two elements of fraction matrices from the accumulator, without creating any Fraction.
+     *
+     * @param x      Any non null matrix.
+     * @param xIndex Index of the first factor in the flat arrays of x.
+     * @param y      Any non null matrix.
+     * @param yIndex Index of the second factor in the flat arrays of y.
+     */
+    public void subProduct(FractionMatrix x, int xIndex, FractionMatrix y, int yIndex) {
+        this.addProduct(x, xIndex, y, yIndex, true);
+    }
+
+    /**
+     * Adds or subtracts the product of two elements of fraction matrices to the accumulator.
+     */
+    private void addProduct(FractionMatrix x, int xIndex, FractionMatrix y, int yIndex, boolean negative) {
+        if (!x.isBig(xIndex) && !y.isBig(yIndex)) {
+            long xn = x.getNumerators()[xIndex];
+            long yn = y.getNumerators()[yIndex];
+            if (xn == 0 || yn == 0)
+                return;
+            if (this.addProductTerm(xn, x.getDenominators()[xIndex], yn, y.getDenominators()[yIndex], negative))
+                return;
+        }
+        this.addProductTerm(x.getBig(xIndex), y.getBig(yIndex), negative);
+    }
+
+    /**
+     * Subtracts the product of an element of a fraction matrix and a fraction from the accumulator.
+     *
+     * @param x      Any non null matrix.
+     * @param xIndex Index of the first factor in the flat arrays of x.
+     * @param y      Any non null fraction.
+     */
+    public void subProduct(FractionMatrix x, int xIndex, Fraction y) {
+        Objects.requireNonNull(y);
+        if (!x.isBig(xIndex) && !y.isBig()) {
+            long xn = x.getNumerators()[xIndex];
+            if (xn == 0 || y.isZero())
+                return;
+            if (this.addProductTerm(xn, x.getDenominators()[xIndex], y.getNumerator(), y.getDenominator(), true))
+                return;
+        }
+        this.addProductTerm(x.getBig(xIndex), y.toBigFraction(), true);
+    }
+
+    /**
+     * Adds or subtracts the product xn/xd * yn/yd to the accumulator.
+     *
+     * @return false if the product doesn't fit in a long and nothing has been added.
+     */
+    private boolean addProductTerm(long xn, long xd, long yn, long yd, boolean negative) {
+        try {
+            long n = Math.multiplyExact(xn, yn);
+            long d = Math.multiplyExact(xd, yd);
+            if (negative)
+                n = Math.negateExact(n);
+            this.addTerm(n, d);
+            return true;
+        } catch (ArithmeticException e) {
+            return false; // Overflow, the product must be computed with arbitrary precision
+        }
+    }
+
+    /**
+     * Adds or subtracts the product of two fractions with arbitrary precision.
+     */
+    private void addProductTerm(BigFraction x, BigFraction y, boolean negative) {
+        BigInteger n = x.getNumerator().multiply(y.getNumerator());
+        if (negative)
+            n = n.negate();
+        this.addTerm(n, x.getDenominator().multiply(y.getDenominator()));
+    }
+
+    /**
+     * Multiplies the accumulator by a fraction.
+     *
+     * @param f Any non null fraction.
+     */
+    public void multiply(Fraction f) {
+        Objects.requireNonNull(f);
+        if (f.isBig())
+            this.multiplyTerm(f.getBigNumerator(), f.getBigDenominator());
+        else
+            this.multiplyTerm(f.getNumerator(), f.getDenominator());
+    }
+
+    /**
+     * Divides the accumulator by a fraction.
+     *
+     * @param f Any non null fraction.
+     * @throws ArithmeticException If the fraction is 0.
+     */
+    public void divide(Fraction f) throws ArithmeticException {
+        Objects.requireNonNull(f);
+        if (f.isZero())
+            throw new ArithmeticException("Division by zero");
+        if (f.isBig()) // Num and den of the fraction are switched
+            this.multiplyTerm(f.getBigDenominator(), f.getBigNumerator());
+        else
+            this.multiplyTerm(f.getDenominator(), f.getNumerator());
+    }
+
+    /**
+     * Provides the accumulated value, the accumulator isn't modified.
+     *
+     * @return A Fraction with the accumulated value reduced to the lowest terms.
+     */
+    public Fraction toFraction() {
+        if (this.bigNumerator != null)
+            return Fraction.toFraction(new BigFraction(this.bigNumerator, this.bigDenominator));
+        return Fraction.valueOf(this.numerator, this.denominator);
+    }
+
+    /**
+     * Memorizes the accumulated value in an element of a matrix without creating any Fraction, the accumulator isn't
+     * modified.
+     *
+     * @param m     Any non null matrix.
+     * @param index Index of the element in the flat arrays of the matrix.
+     */
+    public void store(FractionMatrix m, int index) {
+        if (this.bigNumerator != null) {
+            m.setBig(index, new BigFraction(this.bigNumerator, this.bigDenominator));
+            return;
+        }
+        if (this.numerator == Long.MIN_VALUE) { // Absolute value doesn't fit in a long
+            m.setBig(index, new BigFraction(this.numerator, this.denominator));
+            return;
+        }
+        long gcd = Fraction.gcd(Math.abs(this.numerator), this.denominator);
+        m.setCanonical(index, this.numerator / gcd, this.denominator / gcd);
+    }
+
+    /**
+     * Adds n/d to the accumulator, reducing the accumulator only if an overflow occurs.
+     */
+    private void addTerm(long n, long d) {
+        if (this.bigNumerator == null) {
+            for (int attempt = 0; attempt < 2; attempt++) {
+                try {
+                    if (d < 0) { // Moves the sign on the numerator
+                        n = Math.negateExact(n);
+                        d = Math.negateExact(d);
+                    }
+                    if (d == this.denominator) { // Most common case, integers or same denominators
+                        this.numerator = Math.addExact(this.numerator, n);
+                    } else { // Uses the least common multiple as denominator
+                        long gcd = Fraction.gcd(this.denominator, d);
+                        long num = Math.addExact(Math.multiplyExact(this.numerator, d / gcd), Math.multiplyExact(n, this.denominator / gcd));
+                        this.denominator = Math.multiplyExact(this.denominator, d / gcd);
+                        this.numerator = num;
+                    }
+                    return;
+                } catch (ArithmeticException e) {
+                    // Overflow, tries again once the accumulator is reduced
+                    this.reduce();
+                }
+            }
+            this.promote();
+        }
+        this.addTerm(BigInteger.valueOf(n), BigInteger.valueOf(d));
+    }
+
+    /**
+     * Adds n/d to the accumulator promoting it to arbitrary precision.
+     */
+    private void addTerm(BigInteger n, BigInteger d) {
+        this.promote();
+        if (d.equals(this.bigDenominator)) {
+            this.bigNumerator = this.bigNumerator.add(n);
+        } else {
+            this.bigNumerator = this.bigNumerator.multiply(d).add(n.multiply(this.bigDenominator));
+            this.bigDenominator = this.bigDenominator.multiply(d);
+        }
+    }
+
+    /**
+     * Multiplies the accumulator by n/d, reducing the accumulator only if an overflow occurs.
+     */
+    private void multiplyTerm(long n, long d) {
+        if (this.bigNumerator == null) {
+            for (int attempt = 0; attempt < 2; attempt++) {
+                try {
+                    long num = Math.multiplyExact(this.numerator, n);
+                    long den = Math.multiplyExact(this.denominator, d);
+                    if (den < 0) { // Moves the sign on the numerator
+                        num = Math.negateExact(num);
+                        den = Math.negateExact(den);
+                    }
+                    this.numerator = num;
+                    this.denominator = den;
+                    return;
+                } catch (ArithmeticException e) {
+                    // Overflow, tries again once the accumulator is reduced
+                    this.reduce();
+                }
+            }
+            this.promote();
+        }
+        this.multiplyTerm(BigInteger.valueOf(n), BigInteger.valueOf(d));
+    }
+
+    /**
+     * Multiplies the accumulator by n/d promoting it to arbitrary precision.
+     */
+    private void multiplyTerm(BigInteger n, BigInteger d) {
+        this.promote();
+        this.bigNumerator = this.bigNumerator.multiply(n);
+        this.bigDenominator = this.bigDenominator.multiply(d);
+    }
+
+    /**
+     * Reduces the accumulator to the lowest terms.
+     */
+    private void reduce() {
+        if (this.numerator == Long.MIN_VALUE)
+            return;
+        long gcd = Fraction.gcd(Math.abs(this.numerator), this.denominator);
+        if (gcd > 1) {
+            this.numerator /= gcd;
+            this.denominator /= gcd;
+        }
+    }
+
+    /**
+     * Promotes the accumulator to arbitrary precision, if it isn't already.
+     */
+    private void promote() {
+        if (this.bigNumerator == null) {
+            this.bigNumerator = BigInteger.valueOf(this.numerator);
+            this.bigDenominator = BigInteger.valueOf(this.denominator);
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package matrixCalculator.numberDataTypes;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Matrix of fractions memorized as structure of arrays: numerators and denominators are kept in two flat long arrays
+ * in row-major order, so the element (i, j) is at index i * columns + j and a whole row is contiguous in memory.
+ * Every value is memorized in canonical form like {@link Fraction}. Values which don't fit in a long are memorized in
+ * a side array of BigFraction, allocated only if needed.
+ * Different threads can set disjoint elements of the same matrix at the same time.
+ */
+
+public class FractionMatrix {
+
+    /**
+     * Number of rows.
+     */
+    private final int rows;
+    /**
+     * Number of columns.
+     */
+    private final int columns;
+    /**
+     * Numerators in row-major order, they carry the sign.
+     */
+    private final long[] numerators;
+    /**
+     * Denominators in row-major order, always positive.
+     */
+    private final long[] denominators;
+    /**
+     * Promoted values in row-major order, null until a value doesn't fit in a long. A not null element overrides the
+     * correspondent numerator and denominator.
+     */
+    private BigFraction[] bigValues;
+
+    /**
+     * Creates a matrix filled with 0.
+     *
+     * @param rows    Number of rows, greater than 0.
+     * @param columns Number of columns, greater than 0.
+     */
+    public FractionMatrix(int rows, int columns) {
+        if (rows <= 0 || columns <= 0)
+            throw new IllegalArgumentException("Matrix dimensions must be positive");
+        this.rows = rows;
+        this.columns = columns;
+        this.numerators = new long[Math.multiplyExact(rows, columns)];
+        this.denominators = new long[this.numerators.length];
+        Arrays.fill(this.denominators, 1);
+    }
+
+    /**
+     * Converts a Fraction matrix in the correspondent FractionMatrix.
+     *
+     * @param matrix Any rectangular Fraction matrix without null elements.
+     * @return A new FractionMatrix with the values of the input matrix.
+     */
+    public static FractionMatrix of(Fraction[][] matrix) {
+        Objects.requireNonNull(matrix);
+        FractionMatrix m = new FractionMatrix(matrix.length, matrix[0].length);
+        for (int i = 0; i < m.rows; i++) {
+            for (int j = 0; j < m.columns; j++) {
+                m.set(i, j, matrix[i][j]);
+            }
+        }
+        return m;
+    }
+
+    /**
+     * Converts the calling matrix in the correspondent Fraction matrix.
+     *
+     * @return A new Fraction matrix with the values of the calling matrix.
+     */
+    public Fraction[][] toArray() {
+        Fraction[][] matrix = new Fraction[this.rows][this.columns];
+        for (int i = 0; i < this.rows; i++) {
+            for (int j = 0; j < this.columns; j++) {
+                matrix[i][j] = this.get(i, j);
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * @return Number of rows.
+     */
+    public int getRows() {
+        return this.rows;
+    }
+
+    /**
+     * @return Number of columns.
+     */
+    public int getColumns() {
+        return this.columns;
+    }
+
+    /**
+     * @param i Index of the row.
+     * @return Index in the flat arrays of the first element of the row, the row goes on for getColumns() elements.
+     */
+    public int rowOffset(int i) {
+        return i * this.columns;
+    }
+
+    /**
+     * Provides the flat array of the numerators, without copying it. An element is meaningful only if the value at the
+     * same index isn't promoted (see isBig()).
+     *
+     * @return The numerators in row-major order.
+     */
+    public long[] getNumerators() {
+        return this.numerators;
+    }
+
+    /**
+     * Provides the flat array of the denominators, without copying it. An element is meaningful only if the value at
+     * the same index isn't promoted (see isBig()).
+     *
+     * @return The denominators in row-major order.
+     */
+    public long[] getDenominators() {
+        return this.denominators;
+    }
+
+    /**
+     * @param index Index in the flat arrays.
+     * @return true if the value at the given index doesn't fit in a long and is memorized as BigFraction.
+     */
+    public boolean isBig(int index) {
+        return this.bigValues != null && this.bigValues[index] != null;
+    }
+
+    /**
+     * @return true if at least a value doesn't fit in a long and is memorized as BigFraction.
+     */
+    public boolean hasBigValues() {
+        if (this.bigValues == null)
+            return false;
+        for (BigFraction b : this.bigValues) {
+            if (b != null)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return true if every value is an integer which fits in a long.
+     */
+    public boolean isIntegerMatrix() {
+        if (this.hasBigValues())
+            return false;
+        for (long d : this.denominators) {
+            if (d != 1)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * @param index Index in the flat arrays.
+     * @return true if the value at the given index is 0.
+     */
+    public boolean isZero(int index) {
+        return this.numerators[index] == 0 && !this.isBig(index); // A promoted value is never 0
+    }
+
+    /**
+     * @return true if the matrix is square.
+     */
+    public boolean isSquare() {
+        return this.rows == this.columns;
+    }
+
+    /**
+     * @return true if the matrix is square and every element outside the main diagonal is 0.
+     */
+    public boolean isDiagonal() {
+        return this.isUpperTriangular() && this.isLowerTriangular();
+    }
+
+    /**
+     * @return true if the matrix is square and every element under the main diagonal is 0.
+     */
+    public boolean isUpperTriangular() {
+        if (!this.isSquare())
+            return false;
+        for (int i = 1; i < this.rows; i++) {
+            for (int j = 0; j < i; j++) {
+                if (!this.isZero(this.rowOffset(i) + j))
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true if the matrix is square and every element over the main diagonal is 0.
+     */
+    public boolean isLowerTriangular() {
+        if (!this.isSquare())
+            return false;
+        for (int i = 0; i < this.rows; i++) {
+            for (int j = i + 1; j < this.columns; j++) {
+                if (!this.isZero(this.rowOffset(i) + j))
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param i Index of the row.
+     * @param j Index of the column.
+     * @return The Fraction at the given position.
+     */
+    public Fraction get(int i, int j) {
+        return this.get(this.rowOffset(i) + j);
+    }
+
+    /**
+     * @param index Index in the flat arrays.
+     * @return The Fraction at the given index.
+     */
+    public Fraction get(int index) {
+        if (this.isBig(index))
+            return Fraction.toFraction(this.bigValues[index]);
+        return Fraction.valueOf(this.numerators[index], this.denominators[index]);
+    }
+
+    /**
+     * @param i Index of the row.
+     * @param j Index of the column.
+     * @param f Any non null Fraction.
+     */
+    public void set(int i, int j, Fraction f) {
+        this.set(this.rowOffset(i) + j, f);
+    }
+
+    /**
+     * @param index Index in the flat arrays.
+     * @param f     Any non null Fraction.
+     */
+    public void set(int index, Fraction f) {
+        Objects.requireNonNull(f);
+        if (f.isBig())
+            this.setBig(index, f.toBigFraction());
+        else
+            this.setCanonical(index, f.getNumerator(), f.getDenominator());
+    }
+
+    /**
+     * Sets a value already in canonical form, the caller must guarantee it.
+     */
+    void setCanonical(int index, long numerator, long denominator) {
+        this.numerators[index] = numerator;
+        this.denominators[index] = denominator;
+        if (this.bigValues != null)
+            this.bigValues[index] = null;
+    }
+
+    /**
+     * Sets a value with arbitrary precision, demoted if it fits in a long.
+     */
+    void setBig(int index, BigFraction value) {
+        if (value.fitsInLong()) {
+            this.setCanonical(index, value.getNumerator().longValue(), value.getDenominator().longValue());
+            return;
+        }
+        if (this.bigValues == null)
+            this.allocateBigValues();
+        this.bigValues[index] = value;
+        this.numerators[index] = 0;
+        this.denominators[index] = 1;
+    }
+
+    /**
+     * Allocates the side array of promoted values only once, also if different threads set disjoint elements.
+     */
+    private synchronized void allocateBigValues() {
+        if (this.bigValues == null)
+            this.bigValues = new BigFraction[this.numerators.length];
+    }
+
+    /**
+     * @param index Index in the flat arrays.
+     * @return The value at the given index with arbitrary precision.
+     */
+    BigFraction getBig(int index) {
+        if (this.isBig(index))
+            return this.bigValues[index];
+        return new BigFraction(this.numerators[index], this.denominators[index]);
+    }
+
+    /**
+     * Switches two rows.
+     *
+     * @param i Index of the first row.
+     * @param j Index of the second row.
+     */
+    public void swapRows(int i, int j) {
+        if (i == j)
+            return;
+        int a = this.rowOffset(i);
+        int b = this.rowOffset(j);
+        for (int k = 0; k < this.columns; k++) {
+            long n = this.numerators[a + k];
+            this.numerators[a + k] = this.numerators[b + k];
+            this.numerators[b + k] = n;
+            long d = this.denominators[a + k];
+            this.denominators[a + k] = this.denominators[b + k];
+            this.denominators[b + k] = d;
+            if (this.bigValues != null) {
+                BigFraction f = this.bigValues[a + k];
+                this.bigValues[a + k] = this.bigValues[b + k];
+                this.bigValues[b + k] = f;
+            }
+        }
+    }
+
+    /**
+     * @return A new matrix with the same values of the calling one.
+     */
+    public FractionMatrix copy() {
+        FractionMatrix m = new FractionMatrix(this.rows, this.columns);
+        System.arraycopy(this.numerators, 0, m.numerators, 0, this.numerators.length);
+        System.arraycopy(this.denominators, 0, m.denominators, 0, this.denominators.length);
+        if (this.bigValues != null)
+            m.bigValues = Arrays.copyOf(this.bigValues, this.bigValues.length);
+        return m;
+    }
+
+    /**
+     * Two matrices are equal if they have same dimensions and same values, as every value is in canonical form.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof FractionMatrix)) return false;
+        FractionMatrix m = (FractionMatrix) o;
+        if (this.rows != m.rows || this.columns != m.columns)
+            return false;
+        if (!Arrays.equals(this.numerators, m.numerators) || !Arrays.equals(this.denominators, m.denominators))
+            return false;
+        for (int i = 0; i < this.numerators.length; i++) {
+            if (this.isBig(i) != m.isBig(i) || (this.isBig(i) && !this.bigValues[i].equals(m.bigValues[i])))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Follows the equals() method.
+     */
+    @Override
+    public int hashCode() {
+        int hashCode = Objects.hash(this.rows, this.columns);
+        hashCode = 31 * hashCode + Arrays.hashCode(this.numerators);
+        hashCode = 31 * hashCode + Arrays.hashCode(this.denominators);
+        if (this.hasBigValues())
+            hashCode = 31 * hashCode + Arrays.hashCode(this.bigValues);
+        return hashCode;
+    }
+
+    /**
+     * @return Calling matrix to String, with the same format of Arrays.deepToString().
+     */
+    @Override
+    public String toString() {
+        return Arrays.deepToString(this.toArray());
+    }
+}
@@ -0,0 +1,223 @@
+package matrixCalculator.numberDataTypes;
+
+import java.math.BigInteger;
+import java.util.Objects;
+
+/**
+ * Fingerprint of 128 bits of the content of a matrix, to use as key of caches instead of the matrix itself.
+ * Every not null element gives a term of 128 bits which depends on its position, numerator and denominator (values are
+ * always in canonical form, so equal values give the same term), the fingerprint is the sum of the terms and of a term
+ * of the dimensions. The sum is computed in one pass without creating any object, and it can be updated in O(1) when
+ * a single element changes, subtracting its old term and adding the new one.
+ * The fingerprint isn't a cryptographic hash: different matrices can have the same fingerprint, so a cache has to
+ * compare the content of the matrices when it finds a fingerprint.
+ */
+
+public final class MatrixFingerprint {
+
+    /**
+     * Seed of the high half.
+     */
+    private static final long HIGH_SEED = 0x9e3779b97f4a7c15L;
+    /**
+     * Seed of the low half, different from the high one so the halves are independent hashes.
+     */
+    private static final long LOW_SEED = 0xc2b2ae3d27d4eb4fL;
+
+    /**
+     * Number of rows of the matrix.
+     */
+    private final int rows;
+    /**
+     * Number of columns of the matrix.
+     */
+    private final int columns;
+    /**
+     * High 64 bits of the fingerprint.
+     */
+    private final long high;
+    /**
+     * Low 64 bits of the fingerprint.
+     */
+    private final long low;
+
+    private MatrixFingerprint(int rows, int columns, long high, long low) {
+        this.rows = rows;
+        this.columns = columns;
+        this.high = high;
+        this.low = low;
+    }
+
+    /**
+     * Computes the fingerprint of a matrix.
+     *
+     * @param matrix Any non null matrix.
+     * @return The fingerprint of the content of the matrix.
+     */
+    public static MatrixFingerprint of(FractionMatrix matrix) {
+        int rows = matrix.getRows();
+        int columns = matrix.getColumns();
+        long[] numerators = matrix.getNumerators();
+        long[] denominators = matrix.getDenominators();
+        long high = dimensionsTerm(rows, columns, HIGH_SEED);
+        long low = dimensionsTerm(rows, columns, LOW_SEED);
+        for (int i = 0; i < rows; i++) {
+            int row = matrix.rowOffset(i);
+            for (int j = 0; j < columns; j++) {
+                long n;
+                long d;
+                if (matrix.isBig(row + j)) {
+                    BigFraction big = matrix.getBig(row + j);
+                    n = digest(big.getNumerator());
+                    d = digest(big.getDenominator());
+                } else if (numerators[row + j] != 0) {
+                    n = numerators[row + j];
+                    d = denominators[row + j];
+                } else { // Null elements give no term
+                    continue;
+                }
+                high += term(i, j, n, d, HIGH_SEED);
+                low += term(i, j, n, d, LOW_SEED);
+            }
+        }
+        return new MatrixFingerprint(rows, columns, high, low);
+    }
+
+    /**
+     * Computes the fingerprint of a matrix, equal to the one of the correspondent FractionMatrix.
+     *
+     * @param matrix Any rectangular Fraction matrix without null elements.
+     * @return The fingerprint of the content of the matrix.
+     */
+    public static MatrixFingerprint of(Fraction[][] matrix) {
+        int rows = matrix.length;
+        int columns = matrix[0].length;
+        long high = dimensionsTerm(rows, columns, HIGH_SEED);
+        long low = dimensionsTerm(rows, columns, LOW_SEED);
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                Fraction f = matrix[i][j];
+                if (f.isZero())
+                    continue;
+                high += term(i, j, f, HIGH_SEED);
+                low += term(i, j, f, LOW_SEED);
+            }
+        }
+        return new MatrixFingerprint(rows, columns, high, low);
+    }
+
+    /**
+     * Provides the fingerprint of the matrix after changing one element, in O(1).
+     *
+     * @param i        Index of the row of the element.
+     * @param j        Index of the column of the element.
+     * @param oldValue Value of the element in the matrix of this fingerprint.
+     * @param newValue New value of the element.
+     * @return The fingerprint of the modified matrix.
+     */
+    public MatrixFingerprint update(int i, int j, Fraction oldValue, Fraction newValue) {
+        Objects.checkIndex(i, this.rows);
+        Objects.checkIndex(j, this.columns);
+        long high = this.high;
+        long low = this.low;
+        if (!oldValue.isZero()) {
+            high -= term(i, j, oldValue, HIGH_SEED);
+            low -= term(i, j, oldValue, LOW_SEED);
+        }
+        if (!newValue.isZero()) {
+            high += term(i, j, newValue, HIGH_SEED);
+            low += term(i, j, newValue, LOW_SEED);
+        }
+        return new MatrixFingerprint(this.rows, this.columns, high, low);
+    }
+
+    /**
+     * @return Number of rows of the matrix.
+     */
+    public int getRows() {
+        return this.rows;
+    }
+
+    /**
+     * @return Number of columns of the matrix.
+     */
+    public int getColumns() {
+        return this.columns;
+    }
+
+    /**
+     * @return Term of a not null Fraction element.
+     */
+    private static long term(int i, int j, Fraction f, long seed) {
+        if (f.isBig())
+            return term(i, j, digest(f.getBigNumerator()), digest(f.getBigDenominator()), seed);
+        return term(i, j, f.getNumerator(), f.getDenominator(), seed);
+    }
+
+    /**
+     * @return Term of the element at (i, j) with the given numerator and denominator.
+     */
+    private static long term(int i, int j, long numerator, long denominator, long seed) {
+        long position = ((long) i << 32) | j;
+        return mix(mix(mix(position ^ seed) + numerator) + denominator);
+    }
+
+    /**
+     * @return Term of the dimensions, so matrices with different dimensions and the same elements are different.
+     */
+    private static long dimensionsTerm(int rows, int columns, long seed) {
+        return mix((((long) rows << 32) | columns) + seed);
+    }
+
+    /**
+     * Digest of 64 bits of an integer which doesn't fit in a long: every word of 64 bits of its two's complement
+     * representation is mixed in turn, starting from its length. It can be equal to a long value, but the canonical
+     * form never memorizes as big a value which fits in a long.
+     */
+    private static long digest(BigInteger n) {
+        byte[] bytes = n.toByteArray(); // Big-endian, with the sign
+        long digest = mix(bytes.length);
+        long word = 0;
+        for (int i = 0; i < bytes.length; i++) {
+            word = (word << 8) | (bytes[i] & 0xff);
+            if ((i & 7) == 7 || i == bytes.length - 1) {
+                digest = mix(digest + word);
+                word = 0;
+            }
+        }
+        return digest;
+    }
+
+    /**
+     * Finalizer of SplitMix64: every bit of the input changes about half of the bits of the output.
+     */
+    private static long mix(long x) {
+        x = (x ^ (x >>> 30)) * 0xbf58476d1ce4e5b9L;
+        x = (x ^ (x >>> 27)) * 0x94d049bb133111ebL;
+        return x ^ (x >>> 31);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof MatrixFingerprint)) return false;
+        MatrixFingerprint f = (MatrixFingerprint) o;
+        return this.high == f.high && this.low == f.low && this.rows == f.rows && this.columns == f.columns;
+    }
+
+    /**
+     * Follows the equals() method, the bits are already mixed.
+     */
+    @Override
+    public int hashCode() {
+        return (int) this.low;
+    }
+
+    /**
+     * @return The 128 bits in hexadecimal, with the dimensions.
+     */
+    @Override
+    public String toString() {
+        return String.format("%dx%d:%016x%016x", this.rows, this.columns, this.high, this.low);
+    }
+}
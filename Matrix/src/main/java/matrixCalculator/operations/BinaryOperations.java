@@ -1,6 +1,9 @@
 package matrixCalculator.operations;
 
+import matrixCalculator.numberDataTypes.DoubleMatrix;
 import matrixCalculator.numberDataTypes.Fraction;
+import matrixCalculator.numberDataTypes.FractionAccumulator;
+import matrixCalculator.numberDataTypes.FractionMatrix;
 
 /**
  * Manages operations with two Fraction matrices.
@@ -18,22 +21,61 @@ public class BinaryOperations {
 
         if (!isMultiplicationValid(matrix1, matrix2))
             return null;
-        int r1 = matrix1.length; // Number rows first matrix
-        int rc = matrix2.length; // Number columns first matrix and row second one
-        int c2 = matrix2[0].length; // Number columns second matrix
-        Fraction[][] matrix3 = new Fraction[r1][c2];
+        return multiply(FractionMatrix.of(matrix1), FractionMatrix.of(matrix2)).toArray();
+    }
+
+    /**
+     * Multiply two matrices memorized as flat arrays, integer matrices are multiplied with long arithmetic.
+     *
+     * @param matrix1 Fraction matrix. Number of columns must be the same of number of rows of the second one.
+     * @param matrix2 Fraction matrix. Number of rows must be the same of number of columns of the first one.
+     * @return Matrix results of the product of matrix1 by matrix2, null if conditions are not observed.
+     */
+    public static FractionMatrix multiply(FractionMatrix matrix1, FractionMatrix matrix2) {
+
+        if (!isMultiplicationValid(matrix1, matrix2))
+            return null;
+        int r1 = matrix1.getRows(); // Number rows first matrix
+        int rc = matrix2.getRows(); // Number columns first matrix and row second one
+        int c2 = matrix2.getColumns(); // Number columns second matrix
+        if (matrix1.isIntegerMatrix() && matrix2.isIntegerMatrix()) {
+            long[] product = IntegerMatrixOperations.multiply(matrix1.getNumerators(), matrix2.getNumerators(),
+                    r1, rc, c2);
+            if (product != null) // Otherwise an element doesn't fit in a long
+                return IntegerMatrixOperations.toFractionMatrix(product, r1, c2);
+        }
+        int size = Math.max(matrix1.getRows(), Math.max(matrix2.getRows(), matrix2.getColumns()));
+        if (size > TiledMultiplication.DEFAULT_BLOCK_SIZE) // Matrices don't fit in cache anymore
+            return TiledMultiplication.multiply(matrix1, matrix2, TiledMultiplication.DEFAULT_BLOCK_SIZE);
+        FractionMatrix matrix3 = new FractionMatrix(r1, c2);
+        FractionAccumulator acc = new FractionAccumulator(); // Accumulates the dot product without intermediate objects
         for (int r3 = 0; r3 < r1; r3++) {
+            int row1 = matrix1.rowOffset(r3);
             for (int c3 = 0; c3 < c2; c3++) {
-                matrix3[r3][c3] = new Fraction(0, 1);
+                acc.reset();
                 for (int i = 0; i < rc; i++) {
-                    Fraction f = Fraction.multiply(matrix1[r3][i], matrix2[i][c3]);
-                    matrix3[r3][c3] = Fraction.add(matrix3[r3][c3], f);
+                    acc.addProduct(matrix1, row1 + i, matrix2, matrix2.rowOffset(i) + c3);
                 }
+                acc.store(matrix3, matrix3.rowOffset(r3) + c3);
             }
         }
         return matrix3;
     }
 
+    /**
+     * Multiply two double matrices, with the cache-blocked kernel.
+     *
+     * @param matrix1 Double matrix. Number of columns must be the same of number of rows of the second one.
+     * @param matrix2 Double matrix. Number of rows must be the same of number of columns of the first one.
+     * @return Matrix results of the product of matrix1 by matrix2, null if conditions are not observed.
+     */
+    public static double[][] multiply(double[][] matrix1, double[][] matrix2) {
+
+        if (matrix1 == null || matrix2 == null || matrix1[0].length != matrix2.length)
+            return null;
+        return DoubleMatrixOperations.multiply(DoubleMatrix.of(matrix1), DoubleMatrix.of(matrix2)).toArray();
+    }
+
     /**
      * Subtract two matrices.
      *
@@ -47,11 +89,20 @@ public class BinaryOperations {
             return null;
         int r = matrix1.length;
         int c = matrix1[0].length;
+        if (IntegerMatrixOperations.isIntegerMatrix(matrix1) && IntegerMatrixOperations.isIntegerMatrix(matrix2)) {
+            long[] result = IntegerMatrixOperations.sub(IntegerMatrixOperations.toLongs(matrix1),
+                    IntegerMatrixOperations.toLongs(matrix2));
+            if (result != null) // Otherwise an element doesn't fit in a long
+                return IntegerMatrixOperations.toFractions(result, r, c);
+        }
         Fraction[][] matrix3 = new Fraction[r][c];
+        FractionAccumulator acc = new FractionAccumulator();
 
         for (int i = 0; i < r; i++) {
             for (int j = 0; j < c; j++) {
-                matrix3[i][j] = Fraction.sub(matrix1[i][j], matrix2[i][j]);
+                acc.set(matrix1[i][j]);
+                acc.sub(matrix2[i][j]);
+                matrix3[i][j] = acc.toFraction();
             }
         }
         return matrix3;
@@ -70,11 +121,20 @@ public class BinaryOperations {
             return null;
         int r = matrix1.length;
         int c = matrix1[0].length;
+        if (IntegerMatrixOperations.isIntegerMatrix(matrix1) && IntegerMatrixOperations.isIntegerMatrix(matrix2)) {
+            long[] result = IntegerMatrixOperations.add(IntegerMatrixOperations.toLongs(matrix1),
+                    IntegerMatrixOperations.toLongs(matrix2));
+            if (result != null) // Otherwise an element doesn't fit in a long
+                return IntegerMatrixOperations.toFractions(result, r, c);
+        }
         Fraction[][] matrix3 = new Fraction[r][c];
+        FractionAccumulator acc = new FractionAccumulator();
 
         for (int i = 0; i < r; i++) {
             for (int j = 0; j < c; j++) {
-                matrix3[i][j] = Fraction.add(matrix1[i][j], matrix2[i][j]);
+                acc.set(matrix1[i][j]);
+                acc.add(matrix2[i][j]);
+                matrix3[i][j] = acc.toFraction();
             }
         }
         return matrix3;
@@ -88,7 +148,7 @@ public class BinaryOperations {
      * @return Matrix result of the product of matrix by the scalar.
      */
     public static Fraction[][] multiplyByScalar(Fraction[][] matrix, int scalar) {
-        return multiplyByScalar(matrix, new Fraction(scalar, 1));
+        return multiplyByScalar(matrix, Fraction.valueOf(scalar));
     }
 
     /**
@@ -103,10 +163,13 @@ public class BinaryOperations {
         int r = matrix.length;
         int c = matrix[0].length;
         Fraction[][] matrixRes = new Fraction[r][c];
+        FractionAccumulator acc = new FractionAccumulator();
 
         for (int i = 0; i < r; i++) {
             for (int j = 0; j < c; j++) {
-                matrixRes[i][j] = Fraction.multiply(matrix[i][j], scalar);
+                acc.set(matrix[i][j]);
+                acc.multiply(scalar);
+                matrixRes[i][j] = acc.toFraction();
             }
         }
         return matrixRes;
@@ -123,6 +186,17 @@ public class BinaryOperations {
         return matrix1[0].length == matrix2.length;
     }
 
+    /**
+     * Checks if multiplication by the two matrices is valid.
+     */
+    public static boolean isMultiplicationValid(FractionMatrix matrix1, FractionMatrix matrix2) {
+        if (matrix1 == null)
+            return false;
+        if (matrix2 == null)
+            return false;
+        return matrix1.getColumns() == matrix2.getRows();
+    }
+
     /**
      * Checks if addition or subtraction of the two matrices is valid.
      */
@@ -135,23 +209,89 @@ public class BinaryOperations {
     }
 
     /**
-     * Raises a matrix to a power.
+     * Squares of the last matrix raised to a power, reused if the following power has the same base.
+     * Guarded by the lock of the class, as pow() can be called by different threads.
+     */
+    private static SquareChain lastSquareChain;
+
+    /**
+     * Raises a matrix to a power by squaring, a negative power raises the inverse matrix.
      *
      * @param matrix Any square matrix.
      * @param pow    Power to which raise the matrix.
-     * @return The matrix raised to the input power, if it isn't square return null.
+     * @return The matrix raised to the input power, if it isn't square or the power is negative and the matrix isn't
+     * invertible return null.
      */
     public static Fraction[][] pow(Fraction[][] matrix, int pow) {
         if (!UnaryOperations.isSquare(matrix))
             return null;
-        if (pow == 0) {
-            return UnaryOperations.getIdentityMatrix(matrix.length);
+        FractionMatrix result = pow(FractionMatrix.of(matrix), pow);
+        return result == null ? null : result.toArray();
+    }
+
+    /**
+     * Raises a matrix memorized as flat arrays to a power by squaring, a negative power raises the inverse matrix.
+     *
+     * @param matrix Any square matrix.
+     * @param pow    Power to which raise the matrix.
+     * @return The matrix raised to the input power, if it isn't square or the power is negative and the matrix isn't
+     * invertible return null.
+     */
+    public static FractionMatrix pow(FractionMatrix matrix, int pow) {
+        if (matrix == null || !matrix.isSquare())
+            return null;
+        int n = matrix.getRows();
+        if (pow == 0)
+            return FractionMatrix.of(UnaryOperations.getIdentityMatrix(n));
+        if (matrix.isDiagonal()) { // Closed form: every element of the diagonal is raised to the power
+            FractionMatrix result = new FractionMatrix(n, n);
+            for (int i = 0; i < n; i++) {
+                Fraction f = matrix.get(i, i);
+                if (pow < 0 && f.isZero()) // Not invertible
+                    return null;
+                result.set(i, i, Fraction.pow(f, pow));
+            }
+            return result;
         }
-        Fraction[][] result = matrix;
-        for (int i = 2; i <= pow; i++) {
-            result = multiply(result, matrix);
+        if (pow > 0 && matrix.isIntegerMatrix()) {
+            long[] result = IntegerMatrixOperations.pow(matrix.getNumerators(), n, pow);
+            if (result != null) // Otherwise an element doesn't fit in a long
+                return IntegerMatrixOperations.toFractionMatrix(result, n, n);
         }
-        return result;
+        if (pow < 0) {
+            FractionMatrix inverse = UnaryOperations.getInverseMatrix(matrix);
+            if (inverse == null) // Not invertible
+                return null;
+            return powBySquaring(inverse, -(long) pow);
+        }
+        return powBySquaring(matrix, pow);
+    }
+
+    /**
+     * Raises a square matrix to a positive power, multiplying the squares A^(2^k) correspondent to the bits of the
+     * power. The squares are taken from the memorized chain, so they are computed only once for the same base.
+     */
+    private static FractionMatrix powBySquaring(FractionMatrix matrix, long pow) {
+        SquareChain chain = squareChainOf(matrix);
+        FractionMatrix result = null;
+        boolean shared = false; // true while the result is a square of the chain
+        for (int k = 0; pow != 0; k++, pow >>>= 1) {
+            if ((pow & 1) == 1) {
+                FractionMatrix square = chain.getSquare(k);
+                shared = result == null;
+                result = shared ? square : chain.multiply(result, square);
+            }
+        }
+        return shared ? result.copy() : result; // The squares of the chain must not be modified
+    }
+
+    /**
+     * @return The memorized chain of squares of the matrix, a new one if the last chain has a different base.
+     */
+    private static synchronized SquareChain squareChainOf(FractionMatrix matrix) {
+        if (lastSquareChain == null || !lastSquareChain.isChainOf(matrix))
+            lastSquareChain = new SquareChain(matrix);
+        return lastSquareChain;
     }
 
     @Deprecated
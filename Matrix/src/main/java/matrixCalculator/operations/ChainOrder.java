@@ -0,0 +1,146 @@
+package matrixCalculator.operations;
+
+import matrixCalculator.numberDataTypes.Fraction;
+
+import java.util.List;
+
+/**
+ * Order of the products of a chain of matrices M0*M1*...*Mk-1, which gives the same result with any parenthesization.
+ * The product of a p x q matrix by a q x r one costs p*q*r multiplications of elements, so the order is chosen by the
+ * classic dynamic programming on the dimensions in O(k^3): the cheapest way to multiply Mi..Mj is the cheapest split
+ * (Mi..Ms)*(Ms+1..Mj). Between orders with the same cost the left to right one is preferred.
+ * Chains whose matrices are all square of the same order, or longer than MAX_OPTIMIZED, are multiplied left to right.
+ */
+
+class ChainOrder {
+
+    /**
+     * Maximum number of matrices of a chain optimized by the dynamic programming.
+     */
+    static final int MAX_OPTIMIZED = 256;
+
+    /**
+     * The matrix i of the chain is dimensions[i] x dimensions[i+1].
+     */
+    private final int[] dimensions;
+    /**
+     * splits[i][j] is the last matrix of the left factor in the best order of Mi..Mj, null for the left to right order.
+     */
+    private final int[][] splits;
+    /**
+     * Multiplications of elements in the chosen order.
+     */
+    private final long cost;
+
+    /**
+     * @param dimensions The matrix i of the chain is dimensions[i] x dimensions[i+1], at least one matrix.
+     */
+    ChainOrder(int[] dimensions) {
+        int k = dimensions.length - 1;
+        this.dimensions = dimensions.clone();
+        if (k > MAX_OPTIMIZED || isUniform(dimensions)) { // Every order has the same cost
+            this.splits = null;
+            this.cost = leftToRightCost(dimensions);
+            return;
+        }
+        long[][] costs = new long[k][k];
+        int[][] splits = new int[k][k];
+        for (int length = 2; length <= k; length++) {
+            for (int i = 0; i + length <= k; i++) {
+                int j = i + length - 1;
+                costs[i][j] = Long.MAX_VALUE;
+                for (int s = j - 1; s >= i; s--) { // From the last split, so ties keep the left to right order
+                    long c = costs[i][s] + costs[s + 1][j] + (long) dimensions[i] * dimensions[s + 1] * dimensions[j + 1];
+                    if (c < costs[i][j]) {
+                        costs[i][j] = c;
+                        splits[i][j] = s;
+                    }
+                }
+            }
+        }
+        this.splits = splits;
+        this.cost = costs[0][k - 1];
+    }
+
+    /**
+     * @return Multiplications of elements of the chain in the chosen order.
+     */
+    long getCost() {
+        return this.cost;
+    }
+
+    /**
+     * @return Multiplications of elements of the chain multiplied left to right.
+     */
+    long getLeftToRightCost() {
+        return leftToRightCost(this.dimensions);
+    }
+
+    /**
+     * Multiplies the chain in the chosen order.
+     *
+     * @param matrices The matrices of the chain, with the dimensions of this order.
+     * @return The product of the chain, the only matrix if the chain has one matrix.
+     */
+    Fraction[][] multiply(List<Fraction[][]> matrices) {
+        if (this.splits == null) {
+            Fraction[][] product = matrices.get(0);
+            for (int i = 1; i < matrices.size(); i++) {
+                product = BinaryOperations.multiply(product, matrices.get(i));
+            }
+            return product;
+        }
+        return this.multiply(matrices, 0, matrices.size() - 1);
+    }
+
+    private Fraction[][] multiply(List<Fraction[][]> matrices, int i, int j) {
+        if (i == j)
+            return matrices.get(i);
+        int s = this.splits[i][j];
+        return BinaryOperations.multiply(this.multiply(matrices, i, s), this.multiply(matrices, s + 1, j));
+    }
+
+    /**
+     * @param names Names of the matrices of the chain.
+     * @return The chain with the parentheses of the chosen order, for example (A*B)*C.
+     */
+    String toString(List<String> names) {
+        if (this.splits == null) {
+            StringBuilder sb = new StringBuilder(names.get(0));
+            for (int i = 1; i < names.size(); i++) {
+                if (i > 1)
+                    sb.insert(0, '(').append(')');
+                sb.append('*').append(names.get(i));
+            }
+            return sb.toString();
+        }
+        return this.toString(names, 0, names.size() - 1, true);
+    }
+
+    private String toString(List<String> names, int i, int j, boolean outer) {
+        if (i == j)
+            return names.get(i);
+        int s = this.splits[i][j];
+        String product = this.toString(names, i, s, false) + "*" + this.toString(names, s + 1, j, false);
+        return outer ? product : "(" + product + ")";
+    }
+
+    /**
+     * @return true if all the matrices are square of the same order.
+     */
+    private static boolean isUniform(int[] dimensions) {
+        for (int d : dimensions) {
+            if (d != dimensions[0])
+                return false;
+        }
+        return true;
+    }
+
+    private static long leftToRightCost(int[] dimensions) {
+        long cost = 0;
+        for (int i = 2; i < dimensions.length; i++) {
+            cost += (long) dimensions[0] * dimensions[i - 1] * dimensions[i];
+        }
+        return cost;
+    }
+}
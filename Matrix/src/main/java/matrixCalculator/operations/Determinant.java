@@ -1,6 +1,7 @@
 package matrixCalculator.operations;
 
 import matrixCalculator.numberDataTypes.Fraction;
+import matrixCalculator.numberDataTypes.FractionMatrix;
 
 /**
  * Methods to compute determinant.
@@ -8,12 +9,37 @@ import matrixCalculator.numberDataTypes.Fraction;
 public class Determinant {
 
     /**
-     * Compute the determinant of the matrix expanding along the first column.
+     * Computes the determinant of the matrix as the last pivot of the Bareiss fraction-free elimination which gives its
+     * {@link LUDecomposition}, in O(n^3) the first time and in O(1) if the matrix has already been decomposed. The
+     * decomposition is kept, so following operations on the same matrix don't repeat the elimination.
+     * Integer matrices not yet decomposed are eliminated modulo several primes, without fractions.
      *
      * @param matrix Any matrix.
      * @return The determinant of the input matrix, null if matrix isn't square or is null.
      */
     public static Fraction computeDeterminant(Fraction[][] matrix) {
+        if (!isDetValid(matrix))
+            return null;
+        int n = matrix.length;
+        if (n == 1) // Base case 1x1
+            return matrix[0][0];
+        FractionMatrix m = FractionMatrix.of(matrix);
+        LUDecomposition lu = LUDecomposition.cached(m);
+        if (lu != null)
+            return lu.getDeterminant();
+        if (m.isIntegerMatrix())
+            return ModularMatrixOperations.computeDeterminant(m.getNumerators(), n);
+        return LUDecomposition.of(m).getDeterminant();
+    }
+
+    /**
+     * Computes the determinant of the matrix expanding along the first column.
+     * Works in O(n!), it's kept only as reference implementation to check {@link #computeDeterminant(Fraction[][])}.
+     *
+     * @param matrix Any matrix.
+     * @return The determinant of the input matrix, null if matrix isn't square or is null.
+     */
+    static Fraction computeDeterminantByCofactors(Fraction[][] matrix) {
         if (!isDetValid(matrix))
             return null;
         // Expanding along first column
@@ -31,7 +57,7 @@ public class Determinant {
                 else
                     k = -1;
                 Fraction[][] subMatrix = UnaryOperations.computeComplementaryMinor(matrix, i, 0);
-                Fraction detAct = Fraction.multiply(new Fraction(k, 1), matrix[i][0], computeDeterminant(subMatrix));
+                Fraction detAct = Fraction.multiply(new Fraction(k, 1), matrix[i][0], computeDeterminantByCofactors(subMatrix));
                 det = Fraction.add(det, detAct);
             }
             return det;
@@ -0,0 +1,58 @@
+package matrixCalculator.operations;
+
+/**
+ * Inner loops of the double matrix operations, on ranges of flat arrays.
+ * The implementation is chosen once when the class is loaded: the SIMD one of {@link VectorDoubleKernel} if it was
+ * compiled (build profile "vector") and the jdk.incubator.vector module is available, the scalar one otherwise.
+ * The system property "matrixCalculator.simd=false" forces the scalar implementation.
+ */
+
+interface DoubleKernel {
+
+    /**
+     * Implementation used by the operations.
+     */
+    DoubleKernel INSTANCE = load();
+
+    /**
+     * Adds a multiple of a range of an array to a range of another one: z[zFrom + i] += x * y[yFrom + i].
+     *
+     * @param z      Array modified.
+     * @param zFrom  First index of the modified range.
+     * @param x      Multiplier of the added range.
+     * @param y      Array added.
+     * @param yFrom  First index of the added range.
+     * @param length Number of elements of the ranges.
+     */
+    void multiplyAdd(double[] z, int zFrom, double x, double[] y, int yFrom, int length);
+
+    /**
+     * Sums two arrays of the same length element by element: z[i] = x[i] + y[i].
+     */
+    void add(double[] x, double[] y, double[] z);
+
+    /**
+     * Subtracts two arrays of the same length element by element: z[i] = x[i] - y[i].
+     */
+    void sub(double[] x, double[] y, double[] z);
+
+    /**
+     * Multiplies an array by a scalar: z[i] = x[i] * scalar.
+     */
+    void multiplyByScalar(double[] x, double scalar, double[] z);
+
+    /**
+     * @return The SIMD implementation if it is available and enabled, the scalar one otherwise.
+     */
+    static DoubleKernel load() {
+        if ("false".equals(System.getProperty("matrixCalculator.simd")))
+            return new ScalarDoubleKernel();
+        try {
+            return (DoubleKernel) Class.forName("matrixCalculator.operations.VectorDoubleKernel")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError | UnsupportedOperationException e) {
+            // Not compiled, module not added or no vector register wider than a double
+            return new ScalarDoubleKernel();
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package matrixCalculator.operations;
+
+import matrixCalculator.numberDataTypes.DoubleMatrix;
+
+/**
+ * <p>Manages operations on double matrices, the floating point counterpart of {@link BinaryOperations},
+ * {@link UnaryOperations} and {@link Determinant}.</p>
+ * <p>Eliminations use partial pivoting (the element with the greatest absolute value) to limit rounding errors, and a
+ * value is considered 0 if its absolute value isn't greater than the tolerance multiplied by the greatest absolute
+ * value of the matrix.</p>
+ * <p>The inner loops are computed by {@link DoubleKernel}, with SIMD instructions when they are available.</p>
+ */
+
+public class DoubleMatrixOperations {
+
+    /**
+     * Relative tolerance used if not specified.
+     */
+    public static final double DEFAULT_TOLERANCE = 1e-10;
+
+    /**
+     * Multiply two matrices, with the cache-blocked kernel.
+     *
+     * @param matrix1 Double matrix. Number of columns must be the same of number of rows of the second one.
+     * @param matrix2 Double matrix. Number of rows must be the same of number of columns of the first one.
+     * @return Matrix results of the product of matrix1 by matrix2, null if conditions are not observed.
+     */
+    public static DoubleMatrix multiply(DoubleMatrix matrix1, DoubleMatrix matrix2) {
+        if (matrix1 == null || matrix2 == null || matrix1.getColumns() != matrix2.getRows())
+            return null;
+        double[] values = TiledMultiplication.multiply(matrix1.getValues(), matrix2.getValues(), matrix1.getRows(),
+                matrix2.getRows(), matrix2.getColumns(), TiledMultiplication.DEFAULT_BLOCK_SIZE);
+        return new DoubleMatrix(matrix1.getRows(), matrix2.getColumns(), values);
+    }
+
+    /**
+     * Add two matrices.
+     *
+     * @param matrix1 Double matrix with the same dimensions of the second one.
+     * @param matrix2 Double matrix with the same dimensions of the first one.
+     * @return Matrix result of matrix1 plus matrix2, null if conditions are not observed.
+     */
+    public static DoubleMatrix add(DoubleMatrix matrix1, DoubleMatrix matrix2) {
+        if (!isSubAddValid(matrix1, matrix2))
+            return null;
+        double[] z = new double[matrix1.getValues().length];
+        DoubleKernel.INSTANCE.add(matrix1.getValues(), matrix2.getValues(), z);
+        return new DoubleMatrix(matrix1.getRows(), matrix1.getColumns(), z);
+    }
+
+    /**
+     * Subtract two matrices.
+     *
+     * @param matrix1 Double matrix with the same dimensions of the second one.
+     * @param matrix2 Double matrix with the same dimensions of the first one.
+     * @return Matrix result of matrix1 minus matrix2, null if conditions are not observed.
+     */
+    public static DoubleMatrix sub(DoubleMatrix matrix1, DoubleMatrix matrix2) {
+        if (!isSubAddValid(matrix1, matrix2))
+            return null;
+        double[] z = new double[matrix1.getValues().length];
+        DoubleKernel.INSTANCE.sub(matrix1.getValues(), matrix2.getValues(), z);
+        return new DoubleMatrix(matrix1.getRows(), matrix1.getColumns(), z);
+    }
+
+    /**
+     * Multiplies a matrix by a scalar.
+     *
+     * @param matrix Any double matrix.
+     * @param scalar Number by which multiplying the matrix.
+     * @return Matrix result of the product of matrix by the scalar.
+     */
+    public static DoubleMatrix multiplyByScalar(DoubleMatrix matrix, double scalar) {
+        double[] z = new double[matrix.getValues().length];
+        DoubleKernel.INSTANCE.multiplyByScalar(matrix.getValues(), scalar, z);
+        return new DoubleMatrix(matrix.getRows(), matrix.getColumns(), z);
+    }
+
+    /**
+     * Checks if addition or subtraction of the two matrices is valid.
+     */
+    public static boolean isSubAddValid(DoubleMatrix matrix1, DoubleMatrix matrix2) {
+        if (matrix1 == null || matrix2 == null)
+            return false;
+        return matrix1.getRows() == matrix2.getRows() && matrix1.getColumns() == matrix2.getColumns();
+    }
+
+    /**
+     * Provides the identity matrix of desired order.
+     *
+     * @param order Order of the desired matrix.
+     * @return An identity matrix of the specified order.
+     */
+    public static DoubleMatrix getIdentityMatrix(int order) {
+        DoubleMatrix identity = new DoubleMatrix(order, order);
+        for (int i = 0; i < order; i++) {
+            identity.set(i, i, 1);
+        }
+        return identity;
+    }
+
+    /**
+     * Raises a matrix to a power by squaring, a negative power raises the inverse matrix.
+     *
+     * @param matrix Any square matrix.
+     * @param pow    Power to which raise the matrix.
+     * @return The matrix raised to the input power, if it isn't square or the power is negative and the matrix isn't
+     * invertible return null.
+     */
+    public static DoubleMatrix pow(DoubleMatrix matrix, int pow) {
+        if (matrix == null || !matrix.isSquare())
+            return null;
+        long p = pow;
+        if (p < 0) {
+            matrix = getInverseMatrix(matrix);
+            if (matrix == null) // Not invertible
+                return null;
+            p = -p;
+        }
+        DoubleMatrix result = getIdentityMatrix(matrix.getRows());
+        DoubleMatrix square = matrix;
+        while (p != 0) {
+            if ((p & 1) == 1)
+                result = multiply(result, square);
+            p >>>= 1;
+            if (p != 0)
+                square = multiply(square, square);
+        }
+        return result;
+    }
+
+    /**
+     * Computes the determinant with the LU decomposition: the matrix is reduced to an upper triangular one with
+     * partial pivoting and the determinant is the product of the diagonal, with the sign of the rows switches.
+     *
+     * @param matrix Any square matrix.
+     * @return The determinant of the matrix, NaN if it isn't square.
+     */
+    public static double computeDeterminant(DoubleMatrix matrix) {
+        if (!matrix.isSquare())
+            return Double.NaN;
+        int n = matrix.getRows();
+        DoubleMatrix lu = matrix.copy();
+        double[] a = lu.getValues();
+        double determinant = 1;
+        for (int k = 0; k < n; k++) {
+            int p = findPivot(lu, k, k);
+            if (a[lu.rowOffset(p) + k] == 0)
+                return 0;
+            if (p != k) {
+                lu.swapRows(k, p);
+                determinant = -determinant;
+            }
+            double pivot = a[lu.rowOffset(k) + k];
+            determinant *= pivot;
+            eliminate(lu, k, k, k + 1, n);
+        }
+        return determinant;
+    }
+
+    /**
+     * Provides the inverse of the input matrix according to the Gauss-Jordan algorithm with partial pivoting.
+     *
+     * @param matrix A square matrix.
+     * @return The inverse of the matrix, null if it isn't square or it is singular within the default tolerance.
+     */
+    public static DoubleMatrix getInverseMatrix(DoubleMatrix matrix) {
+        return getInverseMatrix(matrix, DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * Provides the inverse of the input matrix according to the Gauss-Jordan algorithm with partial pivoting.
+     *
+     * @param matrix    A square matrix.
+     * @param tolerance Relative tolerance under which a pivot is considered 0.
+     * @return The inverse of the matrix, null if it isn't square or it is singular within the tolerance.
+     */
+    public static DoubleMatrix getInverseMatrix(DoubleMatrix matrix, double tolerance) {
+        if (matrix == null || !matrix.isSquare())
+            return null;
+        int n = matrix.getRows();
+        DoubleMatrix augmented = new DoubleMatrix(n, 2 * n);
+        double[] a = augmented.getValues();
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(matrix.getValues(), matrix.rowOffset(i), a, augmented.rowOffset(i), n);
+            augmented.set(i, n + i, 1);
+        }
+        double epsilon = tolerance * matrix.maxAbs();
+        for (int k = 0; k < n; k++) {
+            int p = findPivot(augmented, k, k);
+            if (Math.abs(a[augmented.rowOffset(p) + k]) <= epsilon) // Singular
+                return null;
+            augmented.swapRows(k, p);
+            int rowK = augmented.rowOffset(k);
+            double pivot = a[rowK + k];
+            for (int z = k; z < 2 * n; z++) {
+                a[rowK + z] /= pivot;
+            }
+            eliminate(augmented, k, k, 0, k);
+            eliminate(augmented, k, k, k + 1, n);
+        }
+        DoubleMatrix inverse = new DoubleMatrix(n, n);
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(a, augmented.rowOffset(i) + n, inverse.getValues(), inverse.rowOffset(i), n);
+        }
+        return inverse;
+    }
+
+    /**
+     * Computes the Row Echelon Form of the given matrix with partial pivoting, values within the default tolerance are
+     * replaced by 0.
+     *
+     * @param matrix Any double matrix.
+     * @return The Row Echelon Form of the given matrix.
+     */
+    public static DoubleMatrix reduceToRowEchelonForm(DoubleMatrix matrix) {
+        return reduceToRowEchelonForm(matrix, DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * Computes the Row Echelon Form of the given matrix with partial pivoting, values within the tolerance are
+     * replaced by 0.
+     *
+     * @param matrix    Any double matrix.
+     * @param tolerance Relative tolerance under which a value is considered 0.
+     * @return The Row Echelon Form of the given matrix.
+     */
+    public static DoubleMatrix reduceToRowEchelonForm(DoubleMatrix matrix, double tolerance) {
+        DoubleMatrix m = matrix.copy();
+        reduce(m, tolerance);
+        return m;
+    }
+
+    /**
+     * Computes rank of the given matrix as the number of pivots greater than the default tolerance.
+     *
+     * @param matrix Any double matrix.
+     * @return The rank of the given matrix.
+     */
+    public static int computeRank(DoubleMatrix matrix) {
+        return computeRank(matrix, DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * Computes rank of the given matrix as the number of pivots greater than the tolerance.
+     *
+     * @param matrix    Any double matrix.
+     * @param tolerance Relative tolerance under which a value is considered 0.
+     * @return The rank of the given matrix.
+     */
+    public static int computeRank(DoubleMatrix matrix, double tolerance) {
+        return reduce(matrix.copy(), tolerance);
+    }
+
+    /**
+     * Reduces in place a matrix to the Row Echelon Form.
+     *
+     * @return The number of pivots.
+     */
+    private static int reduce(DoubleMatrix m, double tolerance) {
+        double[] a = m.getValues();
+        double epsilon = tolerance * m.maxAbs();
+        int row = 0;
+        for (int column = 0; column < m.getColumns() && row < m.getRows(); column++) {
+            int p = findPivot(m, row, column);
+            if (Math.abs(a[m.rowOffset(p) + column]) <= epsilon) { // Null column under the actual row
+                for (int i = row; i < m.getRows(); i++) {
+                    a[m.rowOffset(i) + column] = 0;
+                }
+                continue;
+            }
+            m.swapRows(row, p);
+            eliminate(m, row, column, row + 1, m.getRows());
+            for (int i = row; i < m.getRows(); i++) { // Removes rounding residues
+                for (int j = column + 1; j < m.getColumns(); j++) {
+                    if (Math.abs(a[m.rowOffset(i) + j]) <= epsilon)
+                        a[m.rowOffset(i) + j] = 0;
+                }
+            }
+            row++;
+        }
+        return row;
+    }
+
+    /**
+     * @return Index of the row, from the given one, with the greatest absolute value in the column.
+     */
+    private static int findPivot(DoubleMatrix m, int row, int column) {
+        double[] a = m.getValues();
+        int p = row;
+        for (int i = row + 1; i < m.getRows(); i++) {
+            if (Math.abs(a[m.rowOffset(i) + column]) > Math.abs(a[m.rowOffset(p) + column]))
+                p = i;
+        }
+        return p;
+    }
+
+    /**
+     * Nullifies the elements of the pivot column in the given rows, subtracting the pivot row multiplied by a scalar.
+     */
+    private static void eliminate(DoubleMatrix m, int pivotRow, int column, int rowFrom, int rowTo) {
+        double[] a = m.getValues();
+        int rowP = m.rowOffset(pivotRow);
+        double pivot = a[rowP + column];
+        for (int i = rowFrom; i < rowTo; i++) {
+            int rowI = m.rowOffset(i);
+            double x = a[rowI + column] / pivot;
+            if (x == 0)
+                continue;
+            DoubleKernel.INSTANCE.multiplyAdd(a, rowI + column + 1, -x, a, rowP + column + 1,
+                    m.getColumns() - column - 1);
+            a[rowI + column] = 0;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package matrixCalculator.operations;
+
+import matrixCalculator.numberDataTypes.Fraction;
+import matrixCalculator.numberDataTypes.FractionAccumulator;
+import matrixCalculator.numberDataTypes.FractionMatrix;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Gaussian elimination on a matrix memorized as flat arrays, modified in place.
+ * The pivot row and column are tracked during the elimination, so the matrix is never scanned again to find them and
+ * the rank is the number of pivots found.
+ */
+
+public class EliminationKernel {
+
+    /**
+     * How the pivot is chosen among the not null elements of the pivot column.
+     */
+    public enum PivotStrategy {
+        /**
+         * The first not null element, as it is done by hand.
+         */
+        FIRST_NON_ZERO,
+        /**
+         * The element with the smallest numerator and denominator, it limits the growth of the following coefficients.
+         */
+        SMALLEST_HEIGHT
+    }
+
+    /**
+     * Matrix to reduce, modified in place.
+     */
+    private final FractionMatrix matrix;
+    /**
+     * Strategy to choose the pivots.
+     */
+    private final PivotStrategy strategy;
+    /**
+     * The element i is the column of the pivot of the row i, meaningful only for the first rank rows.
+     */
+    private final int[] pivotColumns;
+    /**
+     * Number of pivots found, -1 until the matrix is reduced.
+     */
+    private int rank = -1;
+    /**
+     * Number of rows switched during the elimination.
+     */
+    private int swaps;
+    /**
+     * true if the matrix has been reduced to the Reduced Row Echelon Form.
+     */
+    private boolean reduced;
+
+    /**
+     * @param matrix   Any matrix, it is modified in place.
+     * @param strategy Strategy to choose the pivots.
+     */
+    public EliminationKernel(FractionMatrix matrix, PivotStrategy strategy) {
+        this.matrix = Objects.requireNonNull(matrix);
+        this.strategy = Objects.requireNonNull(strategy);
+        this.pivotColumns = new int[Math.min(matrix.getRows(), matrix.getColumns())];
+    }
+
+    /**
+     * Reduces the matrix to the Row Echelon Form: for every column the pivot is moved to the actual row and all the
+     * elements under it are nullified. A column without pivot is skipped without changing the actual row.
+     * If the matrix has already been reduced nothing is done.
+     *
+     * @return The calling kernel.
+     */
+    public EliminationKernel reduceToRowEchelonForm() {
+        if (this.rank >= 0)
+            return this;
+        int rows = this.matrix.getRows();
+        int columns = this.matrix.getColumns();
+        int row = 0;
+        for (int column = 0; column < columns && row < rows; column++) {
+            int pivotRow = this.findPivot(row, column);
+            if (pivotRow < 0) // Null column under the actual row
+                continue;
+            if (pivotRow != row) {
+                this.matrix.swapRows(row, pivotRow);
+                this.swaps++;
+            }
+            this.eliminateBelow(row, column);
+            this.pivotColumns[row] = column;
+            row++;
+        }
+        this.rank = row;
+        return this;
+    }
+
+    /**
+     * Reduces the matrix to the Reduced Row Echelon Form: after the Row Echelon Form every pivot row, from the last
+     * one, is divided by its pivot and the elements over the pivot are nullified.
+     * If the matrix has already been reduced nothing is done.
+     *
+     * @return The calling kernel.
+     */
+    public EliminationKernel reduceToReducedRowEchelonForm() {
+        this.reduceToRowEchelonForm();
+        if (this.reduced)
+            return this;
+        FractionAccumulator acc = new FractionAccumulator();
+        int columns = this.matrix.getColumns();
+        for (int row = this.rank - 1; row >= 0; row--) {
+            int column = this.pivotColumns[row];
+            int pivotRow = this.matrix.rowOffset(row);
+            // Divides the pivot row by the pivot, elements before the pivot are 0
+            Fraction pivot = this.matrix.get(pivotRow + column);
+            for (int z = column + 1; z < columns; z++) {
+                if (!this.matrix.isZero(pivotRow + z)) {
+                    acc.set(this.matrix, pivotRow + z);
+                    acc.divide(pivot);
+                    acc.store(this.matrix, pivotRow + z);
+                }
+            }
+            this.matrix.set(pivotRow + column, Fraction.ONE);
+            // Nullifies the elements over the pivot, the pivot is 1 so the scalar is the element itself
+            for (int k = 0; k < row; k++) {
+                int actRow = this.matrix.rowOffset(k);
+                if (this.matrix.isZero(actRow + column))
+                    continue;
+                for (int z = column + 1; z < columns; z++) {
+                    if (!this.matrix.isZero(pivotRow + z)) {
+                        acc.set(this.matrix, actRow + z);
+                        acc.subProduct(this.matrix, actRow + column, this.matrix, pivotRow + z);
+                        acc.store(this.matrix, actRow + z);
+                    }
+                }
+                this.matrix.set(actRow + column, Fraction.ZERO);
+            }
+        }
+        this.reduced = true;
+        return this;
+    }
+
+    /**
+     * Computes a basis of the null space, the solutions of Ax = 0. Every column without pivot is a free variable: the
+     * correspondent vector has 1 in the free variable, 0 in the others and the opposite of the Reduced Row Echelon
+     * Form column in the pivot variables. The matrix is reduced if it hasn't been yet.
+     *
+     * @return A matrix whose columns are the vectors of the basis, null if the null space is only the zero vector.
+     */
+    public FractionMatrix getNullSpace() {
+        this.reduceToReducedRowEchelonForm();
+        int columns = this.matrix.getColumns();
+        if (this.rank == columns)
+            return null;
+        FractionMatrix basis = new FractionMatrix(columns, columns - this.rank);
+        FractionAccumulator acc = new FractionAccumulator();
+        int vector = 0;
+        int row = 0; // Next pivot row
+        for (int free = 0; free < columns; free++) {
+            if (row < this.rank && this.pivotColumns[row] == free) {
+                row++;
+                continue;
+            }
+            basis.set(free, vector, Fraction.ONE);
+            for (int i = 0; i < row; i++) { // Only pivots before the free column can have a not null element in it
+                acc.reset();
+                acc.sub(this.matrix.get(i, free));
+                acc.store(basis, basis.rowOffset(this.pivotColumns[i]) + vector);
+            }
+            vector++;
+        }
+        return basis;
+    }
+
+    /**
+     * Nullifies all the elements under the pivot subtracting the pivot row multiplied by a scalar.
+     */
+    private void eliminateBelow(int row, int column) {
+        FractionAccumulator acc = new FractionAccumulator();
+        int columns = this.matrix.getColumns();
+        int pivotRow = this.matrix.rowOffset(row);
+        Fraction pivot = this.matrix.get(pivotRow + column);
+        for (int k = row + 1; k < this.matrix.getRows(); k++) {
+            int actRow = this.matrix.rowOffset(k);
+            if (this.matrix.isZero(actRow + column))
+                continue;
+            Fraction x = Fraction.divide(this.matrix.get(actRow + column), pivot);
+            for (int z = column + 1; z < columns; z++) {
+                if (!this.matrix.isZero(pivotRow + z)) {
+                    acc.set(this.matrix, actRow + z);
+                    acc.subProduct(this.matrix, pivotRow + z, x);
+                    acc.store(this.matrix, actRow + z);
+                }
+            }
+            this.matrix.set(actRow + column, Fraction.ZERO);
+        }
+    }
+
+    /**
+     * Chooses the pivot of a column according to the strategy.
+     *
+     * @return Index of the row of the pivot, -1 if all the elements of the column from the given row are 0.
+     */
+    private int findPivot(int row, int column) {
+        int pivotRow = -1;
+        int pivotHeight = Integer.MAX_VALUE;
+        for (int i = row; i < this.matrix.getRows(); i++) {
+            int index = this.matrix.rowOffset(i) + column;
+            if (this.matrix.isZero(index))
+                continue;
+            if (this.strategy == PivotStrategy.FIRST_NON_ZERO)
+                return i;
+            int height = this.height(index);
+            if (height < pivotHeight) {
+                pivotRow = i;
+                pivotHeight = height;
+            }
+        }
+        return pivotRow;
+    }
+
+    /**
+     * @return Number of bits of the numerator plus number of bits of the denominator of an element.
+     */
+    private int height(int index) {
+        if (this.matrix.isBig(index)) {
+            Fraction f = this.matrix.get(index);
+            return f.getBigNumerator().abs().bitLength() + f.getBigDenominator().bitLength();
+        }
+        long n = Math.abs(this.matrix.getNumerators()[index]);
+        long d = this.matrix.getDenominators()[index];
+        return 2 * Long.SIZE - Long.numberOfLeadingZeros(n) - Long.numberOfLeadingZeros(d);
+    }
+
+    /**
+     * @return The matrix, reduced if reduceToRowEchelonForm() or reduceToReducedRowEchelonForm() has been called.
+     */
+    public FractionMatrix getMatrix() {
+        return this.matrix;
+    }
+
+    /**
+     * @return The rank of the matrix, the matrix is reduced if it hasn't been yet.
+     */
+    public int getRank() {
+        return this.reduceToRowEchelonForm().rank;
+    }
+
+    /**
+     * @return The columns of the pivots in order of row, the matrix is reduced if it hasn't been yet.
+     */
+    public int[] getPivotColumns() {
+        return Arrays.copyOf(this.reduceToRowEchelonForm().pivotColumns, this.rank);
+    }
+
+    /**
+     * @return Number of rows switched, the matrix is reduced if it hasn't been yet.
+     */
+    public int getSwaps() {
+        return this.reduceToRowEchelonForm().swaps;
+    }
+}
@@ -4,10 +4,14 @@ import matrixCalculator.numberDataTypes.Fraction;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Manages an expression containing various operations between scalars and two matrices, A and B.
+ * The expression is compiled by {@link ExpressionParser} into a tree of {@link ExpressionNode}, then the tree is
+ * evaluated walking it once.
  * <p>
  * An example: A*3B+{[3(2A+4B)(A+2B)]A}+B
  */
@@ -15,245 +19,274 @@ import java.util.List;
 public class Expression {
 
     /**
-     * Given the initial expression, adds the missing multiplication signs according to mathematical rules
+     * Compiles an expression, checking it in the same pass.
      *
-     * @param sequence A string containing a raw expression.
-     * @return A list containing the characters of the original string memorized as Integers and the missing
-     * multiplication signs added.
+     * @param sequence Any expression written by the user.
+     * @return The root of the tree of the expression, null if the expression isn't valid.
      */
-    public static List<Integer> addMulSigns(String sequence) {
-        List<Integer> mainExpression = new ArrayList<>();
-        // Adds multiplication signs
-        for (int i = 0; i < sequence.length(); i++) {
-            if (sequence.charAt(i) >= '0' && sequence.charAt(i) <= '9') { // Manages scalars
-                if (i > 0 && sequence.charAt(i - 1) != '*' && sequence.charAt(i - 1) != '(' && sequence.charAt(i - 1) != '[' && sequence.charAt(i - 1) != '{'
-                        && sequence.charAt(i - 1) != '+' && sequence.charAt(i - 1) != '-') { // Before the scalar there is a letter or a closed parenthesis
-                    mainExpression.add((int) '*');
-                }
-                String number = sequence.charAt(i) + "";
-                i++;
-                while ((i < sequence.length()) && (sequence.charAt(i) >= '0' && sequence.charAt(i) <= '9')) { // Builds the entire number
-                    number += sequence.charAt(i) + "";
-                    i++;
-                }
-                int scalar = -Integer.parseInt(number); // A scalar is memorized as negative integer to avoid conflicts
-                mainExpression.add(scalar);
-                i--;
-                // If there is a letter, a scalar or an open parenthesis after the scalar
-                if ((i < sequence.length() - 1 && sequence.charAt(i + 1) != ')' && sequence.charAt(i + 1) != ']' && sequence.charAt(i + 1) != '}'
-                        && sequence.charAt(i + 1) != '*' && sequence.charAt(i + 1) != '+' && sequence.charAt(i + 1) != '-')) {
-                    mainExpression.add((int) '*');
-                }
-            } else {
-                boolean parNext = i < sequence.length() - 1 && (sequence.charAt(i + 1) ==
-                        '(' || sequence.charAt(i + 1) == '[' || sequence.charAt(i + 1) == '{'); // If it follows a parenthesis
-                mainExpression.add((int) sequence.charAt(i));
-                if ((sequence.charAt(i) == 'A' || sequence.charAt(i) == 'B') && (parNext)) {
-                    // Letter followed by parenthesis
-                    mainExpression.add((int) '*');
-                } else if (i < sequence.length() - 1 && ((sequence.charAt(i) == ')' && (parNext))
-                        || (sequence.charAt(i) == ']' && (parNext))) || (sequence.charAt(i) == '}' && (parNext))) {
-                    // Two consecutive parentheses
-                    mainExpression.add((int) '*');
-                }
+    public static ExpressionNode compile(String sequence) {
+        return ExpressionParser.parse(sequence);
+    }
+
+    /**
+     * Computes the operations in an expression between scalars and two matrices.
+     *
+     * @param sequence A raw valid string which contains the expression.
+     * @param a        Fraction matrix represented by the letter "A" in the sequence.
+     * @param b        Fraction matrix represented by the letter "B" in the sequence.
+     * @return A Fraction matrix result of the expression.
+     * @throws IllegalArgumentException If the expression isn't valid.
+     */
+    public static Fraction[][] computeExpression(String sequence, Fraction[][] a, Fraction[][] b) {
+        ExpressionNode root = compile(sequence);
+        if (root == null)
+            throw new IllegalArgumentException("Expression not valid: " + sequence);
+        return evaluate(root, a, b);
+    }
+
+    /**
+     * Evaluates a compiled expression, every node is computed once after its operands.
+     * Scalars are kept as scalars: a scalar by a matrix costs O(n^2), operations between scalars are folded into a
+     * single scalar and a scalar s added to a matrix means s*I, so it changes only the diagonal.
+     * The expression is simplified and planned by {@link ExpressionPlan}: every run of products is a chain whose scalar
+     * factors are hoisted and whose matrices are multiplied in the cheapest order for their dimensions.
+     *
+     * @param root Root of the tree of the expression.
+     * @param a    Fraction matrix represented by the letter "A" in the expression.
+     * @param b    Fraction matrix represented by the letter "B" in the expression.
+     * @return A Fraction matrix result of the expression, scalar*I if the whole expression is a scalar.
+     * @throws IllegalArgumentException If the dimensions of the matrices aren't valid for the operations.
+     */
+    public static Fraction[][] evaluate(ExpressionNode root, Fraction[][] a, Fraction[][] b) {
+        ExpressionPlan plan = new ExpressionPlan(root, a, b);
+        Results results = new Results(plan);
+        for (ExpressionNode node : plan.getNodes()) {
+            if (plan.isInner(node) || plan.isDead(node)) // Computed with its chain or not needed
+                continue;
+            Value result;
+            switch (node.getKind()) {
+                case SCALAR:
+                    result = new Value(node.getValue());
+                    break;
+                case VARIABLE:
+                    result = new Value(node.getName() == 'A' ? a : b, false);
+                    break;
+                case ADD:
+                case SUB:
+                    Value left = results.take(node.getLeft());
+                    Value right = results.take(node.getRight());
+                    result = node.getKind() == ExpressionNode.Kind.ADD ? add(left, right) : sub(left, right);
+                    break;
+                default:
+                    result = multiply(plan.getChain(node), results);
             }
+            results.put(node, result);
         }
-        return mainExpression;
+        Value value = results.take(plan.getRoot());
+        if (value.isScalar()) // Multiply by a scalar is the same that multiply by identity matrix*scalar
+            return BinaryOperations.multiplyByScalar(UnaryOperations.getIdentityMatrix(a.length), value.scalar);
+        return value.owned ? value.matrix : Arrays.copyOf(value.matrix, value.matrix.length);
     }
 
     /**
-     * @param simpleExpression An expression without parentheses.
-     * @param results          List where result matrices can be memorized.
-     * @param a                Any square matrix.
-     * @param b                Any square matrix.
-     * @return The original simpleExpression with the first unary operation solved (nothing if +, memorized in results if -)
+     * Describes how an expression is evaluated with the given matrices: for every run of products, the order of the
+     * products, where the scalar factors are applied and the multiplications of elements needed.
+     *
+     * @param root Root of the tree of the expression.
+     * @param a    Fraction matrix represented by the letter "A" in the expression.
+     * @param b    Fraction matrix represented by the letter "B" in the expression.
+     * @return The plan, one run of products per line, empty if the expression has no products.
+     * @throws IllegalArgumentException If the dimensions of the matrices aren't valid for the operations.
      */
-    public static List<Integer> resolveUnaryOperands(List<Integer> simpleExpression, List<Fraction[][]> results, Fraction[][] a, Fraction[][] b) {
-        // Manages unary + and - in first position in a simple sequence (size >= 2, at least a sign and a scalar/letter)
+    public static String explain(ExpressionNode root, Fraction[][] a, Fraction[][] b) {
+        return new ExpressionPlan(root, a, b).explain();
+    }
 
-        boolean prevUnaryMinus = simpleExpression.get(0) == '-';
-        boolean prevUnaryPlus = simpleExpression.get(0) == '+';
-        boolean isScalar = simpleExpression.get(1) < 0;
-        boolean isLetterA = simpleExpression.get(1) == 'A';
-        boolean isLetterB = simpleExpression.get(1) == 'B';
+    /**
+     * Result of a node of the expression: a scalar or a matrix.
+     */
+    private static final class Value {
 
-        if ((isScalar || isLetterA || isLetterB) && prevUnaryPlus) {
-            simpleExpression.remove(0);
-        } else if ((isScalar || isLetterA || isLetterB) && prevUnaryMinus) {
-            Fraction[][] x;
-            if (isLetterA)
-                x = Arrays.copyOf(a, a.length);
-            else if (isLetterB)
-                x = Arrays.copyOf(b, b.length);
-            else
-                x = BinaryOperations.multiplyByScalar(UnaryOperations.getIdentityMatrix(a.length), -simpleExpression.get(1));
-            // Scalar memorized is negative
-            simpleExpression.subList(0, 2).clear();
-            Fraction[][] f = BinaryOperations.multiplyByScalar(x, -1);
-            results.add(f);
-            int result = results.indexOf(f) + 128;
-            simpleExpression.add(0, result);
+        /**
+         * Value of a scalar, null for a matrix.
+         */
+        final Fraction scalar;
+        /**
+         * Elements of a matrix, null for a scalar.
+         */
+        final Fraction[][] matrix;
+        /**
+         * true if the matrix has been created by the evaluation, so it can be modified in place.
+         */
+        final boolean owned;
+
+        Value(Fraction scalar) {
+            this.scalar = scalar;
+            this.matrix = null;
+            this.owned = false;
         }
 
-        return simpleExpression;
+        Value(Fraction[][] matrix, boolean owned) {
+            this.scalar = null;
+            this.matrix = matrix;
+            this.owned = owned;
+        }
+
+        boolean isScalar() {
+            return this.scalar != null;
+        }
     }
 
     /**
-     * Computes the operations in an expression between scalars and two matrices.
-     *
-     * @param sequence A raw valid string already checked which contains the expression.
-     * @param a        Fraction matrix represented by the letter "A" in the sequence.
-     * @param b        Fraction matrix represented by the letter "B" in the sequence.
-     * @return A Fraction matrix result of the expression.
-     * @throws Exception If there are unchecked conflicts or error in the sequence.
+     * Results of the distinct nodes of an expression, each one kept until its last use.
      */
-    public static Fraction[][] computeExpression(String sequence, Fraction[][] a, Fraction[][] b) throws Exception {
+    private static final class Results {
 
-        /*
-         * mainExpression contains the expression which is resolved step by step.
-         * Operands, parentheses and letters "A" and "B" are memorized with their character number according to ASCII.
-         * Scalars are memorized with their correspondent negative number to avoid conflicts.
-         * Integers >= 128 represents the matrices results of binary operations. The number corresponds to their
-         * position in the List results minus 128 (to avoid conflicts with scalars, operands, letters and parentheses).
+        /**
+         * Results by node, only of the nodes which still have uses.
          */
+        private final Map<ExpressionNode, Value> values = new IdentityHashMap<>();
+        /**
+         * Uses left of every node in the map of the results.
+         */
+        private final Map<ExpressionNode, Integer> uses = new IdentityHashMap<>();
+        private final ExpressionPlan plan;
 
-        List<Fraction[][]> results = new ArrayList<>(); // List containing the memorized matrices results of binary or unary operations
-        List<Integer> mainExpression = addMulSigns(sequence); // List containing the sequence to resolve
-
-        // Looks for ")", the while loop is for resolve nested round brackets
-        while (mainExpression.contains((int) '(')) {
-            for (int i = 0; i < mainExpression.size(); i++) {
-                if (mainExpression.get(i) < 128 && (char) (int) (mainExpression.get(i)) == ')') {
-                    int j = i;
-                    while ((char) (int) (mainExpression.get(j)) != '(')
-                        j--;
-                    List<Integer> simpleSequence = mainExpression.subList(j + 1, i); // Sublist of the simple expression without parentheses
-                    Integer result = simpleExpression(simpleSequence, results, a, b); // Position + 128 of the matrix in results
-                    mainExpression.subList(j, j + simpleSequence.size() + 2).clear(); // Clears the simple expression solved
-                    mainExpression.add(j, result); // Substitutes the old expression with its result
-                }
-            }
+        Results(ExpressionPlan plan) {
+            this.plan = plan;
         }
 
-        // Looks for "]"
-        for (int i = 0; i < mainExpression.size(); i++) {
-            if (mainExpression.get(i) < 128 && (char) (int) (mainExpression.get(i)) == ']') {
-                int j = i;
-                while ((char) (int) (mainExpression.get(j)) != '[')
-                    j--;
-                List<Integer> simpleSequence = mainExpression.subList(j + 1, i);
-                Integer result = simpleExpression(simpleSequence, results, a, b);
-                mainExpression.subList(j, j + simpleSequence.size() + 2).clear();
-                mainExpression.add(j, result);
-            }
+        void put(ExpressionNode node, Value value) {
+            this.values.put(node, value);
+            this.uses.put(node, this.plan.getUses(node));
         }
 
-        // Looks for "}"
-        for (int i = 0; i < mainExpression.size(); i++) {
-            if (mainExpression.get(i) < 128 && (char) (int) (mainExpression.get(i)) == '}') {
-                int j = i;
-                while ((char) (int) (mainExpression.get(j)) != '{')
-                    j--;
-                List<Integer> simpleSequence = mainExpression.subList(j + 1, i);
-                Integer result = simpleExpression(simpleSequence, results, a, b);
-                mainExpression.subList(j, j + simpleSequence.size() + 2).clear();
-                mainExpression.add(j, result);
+        /**
+         * Provides the result of a node for one of its uses, and removes it at the last use.
+         *
+         * @return The result, not owned if it will be used again, so it can't be modified in place.
+         */
+        Value take(ExpressionNode node) {
+            int uses = this.uses.get(node) - 1;
+            if (uses <= 0) {
+                this.uses.remove(node);
+                return this.values.remove(node);
             }
+            this.uses.put(node, uses);
+            Value value = this.values.get(node);
+            return value.isScalar() ? value : new Value(value.matrix, false);
         }
+    }
 
-        // The last step is to resolve a simple expression by now without any parentheses
-        Integer r = simpleExpression(mainExpression, results, a, b); // Compute the last result matrix and gets the position
-        return results.get(r - 128); // Gets the last result matrix referenced in the solved expression
+    /**
+     * @return -x, the opposite scalar or the matrix multiplied by -1.
+     */
+    private static Value negate(Value x) {
+        if (x.isScalar())
+            return new Value(x.scalar.negative());
+        return new Value(BinaryOperations.multiplyByScalar(x.matrix, -1), true);
     }
 
     /**
-     * Solve a simple expression without parentheses.
+     * Multiplies a chain of factors: the scalars and the signs into a coefficient, the matrices in the planned order.
+     * A null coefficient gives the null matrix without any product.
      *
-     * @param originalList An expression without parentheses.
-     * @param results      List where result matrices can be memorized.
-     * @param a            Any square matrix.
-     * @param b            Any square matrix.
-     * @return The position + 128 of the matrix result of the input expression.
-     * @throws Exception If there are conflicts (expression not valid) or other unexpected Exceptions (i.e. Arithmetic Exception).
+     * @param chain   The plan of the chain.
+     * @param results Results of the nodes, with the factors of the chain.
+     * @return The product of the factors.
      */
-    private static Integer simpleExpression(List<Integer> originalList, List<Fraction[][]> results, Fraction[][] a, Fraction[][] b) throws Exception {
-
-        List<Integer> simpleSequence = new ArrayList<>(originalList);
-
-        // If sequence start with a plus or minus sign
-        if (simpleSequence.get(0) == '+' || simpleSequence.get(0) == '-')
-            simpleSequence = resolveUnaryOperands(originalList, results, a, b);
-
-        // Sequence of just a letter A or B, a scalar or a result matrix memorized in results
-        if (simpleSequence.size() == 1) {
-            Fraction[][] resultMatrix = getExpressionMatrix(simpleSequence.get(0), results, a, b);
-            results.add(resultMatrix);
-            return results.indexOf(resultMatrix) + 128; // Returns position + 128 of the result matrix in results
+    private static Value multiply(ExpressionPlan.Chain chain, Results results) {
+        if (chain.zero) // The factors are dead
+            return chain.order == null ? new Value(Fraction.ZERO) : zero(chain.rows, chain.columns);
+        Fraction coefficient = chain.negative ? Fraction.ONE.negative() : Fraction.ONE;
+        List<Value> matrices = new ArrayList<>(chain.factors.size());
+        for (ExpressionNode node : chain.factors) {
+            Value factor = results.take(node);
+            if (factor.isScalar())
+                coefficient = Fraction.multiply(coefficient, factor.scalar);
+            else
+                matrices.add(factor);
         }
-
-        // Looks for "*"
-        for (int i = 0; i < simpleSequence.size(); i++) {
-            if ((char) (int) (simpleSequence.get(i)) == '*') {
-                List<Integer> binaryOperation = simpleSequence.subList(i - 1, i + 2); // i-1=1^ matrix, i=sign, i+1=2^matrix
-                Fraction[][] x = getExpressionMatrix(binaryOperation.get(0), results, a, b); // First matrix
-                Fraction[][] y = getExpressionMatrix(binaryOperation.get(2), results, a, b); // Second matrix
-                Fraction[][] resultMatrix = BinaryOperations.multiply(x, y);
-                results.add(resultMatrix);
-                simpleSequence.subList(i - 1, i + 2).clear(); // Removes the old binary operation now solved
-                simpleSequence.add(i - 1, results.indexOf(resultMatrix) + 128); // Adds the result
-                i--;
-            }
+        if (matrices.isEmpty())
+            return new Value(coefficient);
+        if (coefficient.isZero())
+            return zero(chain.rows, chain.columns);
+        boolean scale = !coefficient.equals(Fraction.ONE);
+        if (matrices.size() == 1 && !scale)
+            return matrices.get(0);
+        List<Fraction[][]> operands = new ArrayList<>(matrices.size());
+        for (int i = 0; i < matrices.size(); i++) {
+            Fraction[][] matrix = matrices.get(i).matrix;
+            operands.add(scale && i == chain.scaled ? BinaryOperations.multiplyByScalar(matrix, coefficient) : matrix);
         }
+        Fraction[][] product = chain.order.multiply(operands);
+        if (scale && chain.scaled < 0)
+            product = BinaryOperations.multiplyByScalar(product, coefficient);
+        return new Value(product, true);
+    }
 
-        // Looks for "+" or "-"
-        for (int i = 0; i < simpleSequence.size(); i++) {
-            if ((char) (int) (simpleSequence.get(i)) == '+' || (char) (int) (simpleSequence.get(i)) == '-') {
-                List<Integer> binaryOperation = simpleSequence.subList(i - 1, i + 2); // i-1=1^ matrix, i=sign, i+1=2^ matrix
-                Fraction[][] x = getExpressionMatrix(binaryOperation.get(0), results, a, b); // First matrix
-                Fraction[][] y = getExpressionMatrix(binaryOperation.get(2), results, a, b); // Second matrix
-                Fraction[][] resultMatrix;
-                if ((char) (int) (binaryOperation.get(1)) == '+')
-                    resultMatrix = BinaryOperations.add(x, y);
-                else
-                    resultMatrix = BinaryOperations.sub(x, y);
-                results.add(resultMatrix);
-                simpleSequence.subList(i - 1, i + 2).clear(); // Removes the old binary operation now solved
-                simpleSequence.add(i - 1, results.indexOf(resultMatrix) + 128); // Adds the result
-                i--;
-            }
+    /**
+     * @return The null matrix with the given dimensions.
+     */
+    private static Value zero(int rows, int columns) {
+        Fraction[][] zero = new Fraction[rows][columns];
+        for (Fraction[] row : zero) {
+            Arrays.fill(row, Fraction.ZERO);
         }
-        /*
-         * First and only element of the original expression now solved.
-         * Can be only a matrix, memorized in results or represented by letter A or B, if it was a scalar it was converted to
-         * matrix.
-         */
-        return simpleSequence.get(0);
+        return new Value(zero, true);
+    }
+
+    /**
+     * @return x+y, a scalar s is added as s*I.
+     */
+    private static Value add(Value x, Value y) {
+        if (x.isScalar() && y.isScalar())
+            return new Value(Fraction.add(x.scalar, y.scalar));
+        if (x.isScalar())
+            return addToDiagonal(y, x.scalar);
+        if (y.isScalar())
+            return addToDiagonal(x, y.scalar);
+        return new Value(BinaryOperations.add(x.matrix, y.matrix), true);
+    }
+
+    /**
+     * @return x-y, a scalar s is subtracted or subtracted from as s*I.
+     */
+    private static Value sub(Value x, Value y) {
+        if (x.isScalar() && y.isScalar())
+            return new Value(Fraction.sub(x.scalar, y.scalar));
+        if (x.isScalar()) // s*I - Y = -Y + s*I
+            return addToDiagonal(negate(y), x.scalar);
+        if (y.isScalar())
+            return addToDiagonal(x, y.scalar.negative());
+        return new Value(BinaryOperations.sub(x.matrix, y.matrix), true);
     }
 
     /**
-     * Provides the matrix referenced by the integer in the expression.
+     * Adds scalar*I to a matrix: in O(n) if the matrix has been created by the evaluation, otherwise the rows are
+     * copied first, so the matrices of the user aren't modified.
      *
-     * @param operand The Integer representing the operand in the expression.
-     * @param results List where result matrices can be memorized.
-     * @param a       Any square matrix.
-     * @param b       Any square matrix.
-     * @return The matrix referenced by the integer in the expression.
+     * @param x      A matrix.
+     * @param scalar Scalar to add to the elements of the diagonal.
+     * @return x+scalar*I.
+     * @throws IllegalArgumentException If the matrix isn't square.
      */
-    private static Fraction[][] getExpressionMatrix(Integer operand, List<Fraction[][]> results, Fraction[][] a, Fraction[][] b) {
-        Fraction[][] matrix;
-        if ((char) (int) (operand) == 'A')
-            matrix = Arrays.copyOf(a, a.length);
-        else if ((char) (int) (operand) == 'B')
-            matrix = Arrays.copyOf(b, b.length);
-        else if (operand > 0) { // Position in results
-            matrix = results.get(operand - 128);
-        } else { // Scalar by which multiply (memorized as <0)
-            int scalar = -operand;
-            // Multiply by a scalar is the same that multiply by identity matrix*scalar
-            Fraction[][] tmp = UnaryOperations.getIdentityMatrix(a.length);
-            matrix = BinaryOperations.multiplyByScalar(tmp, scalar);
+    private static Value addToDiagonal(Value x, Fraction scalar) {
+        Fraction[][] matrix = x.matrix;
+        if (!UnaryOperations.isSquare(matrix))
+            throw new IllegalArgumentException("A scalar can be added only to a square matrix");
+        if (scalar.isZero())
+            return x;
+        if (!x.owned) {
+            matrix = new Fraction[matrix.length][];
+            for (int i = 0; i < matrix.length; i++) {
+                matrix[i] = x.matrix[i].clone();
+            }
+        }
+        for (int i = 0; i < matrix.length; i++) {
+            matrix[i][i] = Fraction.add(matrix[i][i], scalar);
         }
-        return matrix;
+        return new Value(matrix, true);
     }
 
     /**
@@ -263,152 +296,6 @@ public class Expression {
      * @return true if expression is valid, false otherwise.
      */
     public static boolean isExpressionValid(String inputExpression) {
-
-        // Null or void expression are not valid
-        if (inputExpression == null || inputExpression.equals(""))
-            return false;
-
-        List<Integer> mulSigns = addMulSigns(inputExpression); // Adds missing multiplication signs according to math rules
-        String expression = ""; // Builds a string from the List
-        for (Integer i : mulSigns) {
-            if (i < 0) {
-                expression += -i + "";
-            } else {
-                expression += (char) (int) i + "";
-            }
-        }
-
-        // Delete parentheses from the string
-        String withoutPar = expression.replace("(", "").replace(")", "")
-                .replace("[", "").replace("]", "")
-                .replace("{", "").replace("}", "");
-
-        // First check (withoutPar): string without parentheses, scalars surrounded from just + or - are not valid
-        for (int i = 0; i < withoutPar.length(); i++) {
-            char num = withoutPar.charAt(i);
-            if (num >= '0' && num <= '9') {
-                String n = num + "";
-                int j = i + 1; // Finds end of the scalar (j end, i start of scalar)
-                while (j < withoutPar.length() && withoutPar.charAt(j) >= '0' && withoutPar.charAt(j) <= '9') {
-                    n += withoutPar.charAt(j);
-                    j++;
-                }
-                j--;
-                if (i == 0 && withoutPar.length() == 1)
-                    return false;
-                boolean prevSign = (i != 0 && (withoutPar.charAt(i - 1) == '+' || withoutPar.charAt(i - 1) == '-')); // Sign before scalar
-                boolean nextSign = (j != withoutPar.length() - 1 && (withoutPar.charAt(j + 1) == '+' || withoutPar.charAt(j + 1) == '-')); // Sign after scalar
-                if (i == 0 && nextSign) { // Scalar at the start of expression followed immediately by a + or -
-                    return false;
-                } else if (j == withoutPar.length() - 1 && prevSign) { // Scalar at the end of expression comes immediately after a + or -
-                    return false;
-                } else if (prevSign && nextSign) { // Scalar surrounded by + or -
-                    return false;
-                }
-            }
-        }
-
-        // Second check (expression): string with parentheses
-        List<Character> parentheses = new ArrayList<>(); // Checks the validity of parentheses. Works as a stack.
-        int position = 0; // Represents the alternating sequence of operators and operands
-        for (int i = 0; i < expression.length(); i++) {
-            char c = expression.charAt(i); // Symbol to check
-            if (c == '{') { // If stack isn't empty or it is in position 1 returns false
-                if ((parentheses.size() != 0) || position == 1)
-                    return false;
-                else {
-                    parentheses.add(c); // Adds parenthesis to stack
-                    position = 0; // Restores position (operands or parentheses can start)
-                }
-            } else if (c == '[') { // If stack isn't empty and not follows a curly bracket or it is in position 1 returns false
-                if ((parentheses.size() != 0 && parentheses.get(parentheses.size() - 1) != '{') || position == 1)
-                    return false;
-                else {
-                    parentheses.add(c); // Adds parenthesis to stack
-                    position = 0; // Restores position (operands or parentheses can start)
-                }
-            } else if (c == '(') { // If stack isn't empty and not follows a curly or square bracket or it is in position 1 returns false
-                if ((parentheses.size() != 0 && parentheses.get(parentheses.size() - 1) != '{' && parentheses.get(parentheses.size() - 1) != '[' && parentheses.get(parentheses.size() - 1) != '(') || position == 1)
-                    return false;
-                else {
-                    parentheses.add(c); // Adds parenthesis to stack
-                    position = 0; // Restores position (operands or parentheses can start)
-                }
-            } else if (c == ')') { // If stack is empty or the bracket before doesn't match.
-                if ((parentheses.size() == 0 || parentheses.get(parentheses.size() - 1) != '('))
-                    return false;
-                else {
-                    parentheses.remove(parentheses.size() - 1); // Removes the correspondent bracket from stack
-                    position = 1; // Position is set to 1 (operators can start)
-                }
-            } else if (c == ']') { // If stack is empty or the bracket before doesn't match.
-                if ((parentheses.size() == 0 || parentheses.get(parentheses.size() - 1) != '['))
-                    return false;
-                else {
-                    parentheses.remove(parentheses.size() - 1); // Removes the correspondent bracket from stack
-                    position = 1; // Position is set to 1 (operators can start)
-                }
-            } else if (c == '}') { // If stack is empty or the bracket before doesn't match.
-                if ((parentheses.size() == 0 || parentheses.get(parentheses.size() - 1) != '{'))
-                    return false;
-                else {
-                    parentheses.remove(parentheses.size() - 1); // Removes the correspondent bracket from stack
-                    position = 1; // Position is set to 1 (operators can start)
-                }
-            } else if (c == 'A' || c == 'B') {
-                if (position == 1) // Not valid if position is 1 (spot for operators)
-                    return false;
-                else {
-                    position = 1; // Increases position by 1 (an operator must follow)
-                }
-            } else if (c == '*') { // Not valid if position is 0 (spot for operand) or it is at the end of expression
-                if (position == 0 || i == expression.length() - 1)
-                    return false;
-                else {
-                    position = 0; // Increases position by 1 (an operand must follow)
-                }
-            } else if (c == '+' || c == '-') {
-                if (i == 0 || expression.charAt(i - 1) == '(' || expression.charAt(i - 1) == '[' || expression.charAt(i - 1) == '{')
-                    position = 1;
-                /*
-                 * + and - can be valid if:
-                 * 1) it is at the start or it follows a bracket
-                 * 2) it follows an operand
-                 * If it is at the start or it follows a bracket (unary operator), it is valid and as the actual position would be 0,
-                 * to make it a valid position is restored to 1.
-                 * If it will be valid in the following condition, position will increase by 1: if pos is now set to 1, it will pass
-                 * conditions and it will become 0 (a operand can follow).
-                 */
-                if (position == 0 || i == expression.length() - 1) // If odd position or at the end, it is not valid
-                    return false;
-                else {
-                    position = 0; // Increases position by 1 (an operand must follow)
-                }
-            } else if (c >= '0' && c <= '9') { // Not valid if position is odd (spot for operators)
-                if (position == 1)
-                    return false;
-                else { // If pos valid, must check if another number doesn't follow, otherwise position won't increase (another n can follow)
-                    if (i != expression.length() - 1 && (expression.charAt(i + 1) < '0' || expression.charAt(i + 1) > '9'))
-                        position = 1;
-                }
-            } else { // Any other not valid symbol
-                return false;
-            }
-        }
-        return parentheses.size() == 0; // Check if the stack is empty, otherwise returns false
+        return compile(inputExpression) != null;
     }
 }
-
-/*
-// To debug
-List<Character> p = new ArrayList<>();
-for (int i = 0; i < mainExpression.size(); i++) {
-    if (mainExpression.get(i) >= 128)
-        p.add('O');
-        else if (mainExpression.get(i) < 0)
-            p.add((char) ((-mainExpression.get(i)) + '0'));
-        else
-            p.add((char) (int) (mainExpression.get(i)));
-        }
-System.err.println(p);
-*/
\ No newline at end of file
@@ -0,0 +1,236 @@
+package matrixCalculator.operations;
+
+import matrixCalculator.numberDataTypes.Fraction;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable node of the syntax tree of an expression, built by {@link ExpressionParser}.
+ * A node is a scalar, a variable (a letter which represents a matrix), the negation of another node or a binary
+ * operation between two nodes. Two nodes are equal if their trees have the same structure and the same leaves.
+ */
+
+public final class ExpressionNode {
+
+    /**
+     * Kind of node.
+     */
+    public enum Kind {
+        SCALAR, VARIABLE, NEGATION, ADD, SUB, MUL
+    }
+
+    /**
+     * Kind of the node.
+     */
+    private final Kind kind;
+    /**
+     * Value of a scalar, null for the other kinds.
+     */
+    private final Fraction value;
+    /**
+     * Letter of a variable, 0 for the other kinds.
+     */
+    private final char name;
+    /**
+     * Operand of a negation or first operand of a binary operation, null for the leaves.
+     */
+    private final ExpressionNode left;
+    /**
+     * Second operand of a binary operation, null for the other kinds.
+     */
+    private final ExpressionNode right;
+    /**
+     * Hash code of the whole tree, computed once as the node is immutable.
+     */
+    private final int hash;
+
+    private ExpressionNode(Kind kind, Fraction value, char name, ExpressionNode left, ExpressionNode right) {
+        this.kind = kind;
+        this.value = value;
+        this.name = name;
+        this.left = left;
+        this.right = right;
+        this.hash = Objects.hash(kind, value, name, left, right);
+    }
+
+    /**
+     * @param value Any non null Fraction.
+     * @return A leaf with a scalar.
+     */
+    public static ExpressionNode scalar(Fraction value) {
+        return new ExpressionNode(Kind.SCALAR, Objects.requireNonNull(value), (char) 0, null, null);
+    }
+
+    /**
+     * @param name Letter of the variable.
+     * @return A leaf with the matrix represented by the letter.
+     */
+    public static ExpressionNode variable(char name) {
+        return new ExpressionNode(Kind.VARIABLE, null, name, null, null);
+    }
+
+    /**
+     * @param operand Node to negate.
+     * @return The negation of the operand.
+     */
+    public static ExpressionNode negation(ExpressionNode operand) {
+        return new ExpressionNode(Kind.NEGATION, null, (char) 0, Objects.requireNonNull(operand), null);
+    }
+
+    /**
+     * @param kind  ADD, SUB or MUL.
+     * @param left  First operand.
+     * @param right Second operand.
+     * @return The binary operation between the operands.
+     */
+    public static ExpressionNode binary(Kind kind, ExpressionNode left, ExpressionNode right) {
+        if (kind != Kind.ADD && kind != Kind.SUB && kind != Kind.MUL)
+            throw new IllegalArgumentException("Not a binary operation: " + kind);
+        return new ExpressionNode(kind, null, (char) 0, Objects.requireNonNull(left), Objects.requireNonNull(right));
+    }
+
+    public Kind getKind() {
+        return this.kind;
+    }
+
+    /**
+     * @return The value of a scalar, null for the other kinds.
+     */
+    public Fraction getValue() {
+        return this.value;
+    }
+
+    /**
+     * @return The letter of a variable, 0 for the other kinds.
+     */
+    public char getName() {
+        return this.name;
+    }
+
+    /**
+     * @return The operand of a negation or the first operand of a binary operation, null for the leaves.
+     */
+    public ExpressionNode getLeft() {
+        return this.left;
+    }
+
+    /**
+     * @return The second operand of a binary operation, null for the other kinds.
+     */
+    public ExpressionNode getRight() {
+        return this.right;
+    }
+
+    /**
+     * @return true if the node is a binary operation.
+     */
+    public boolean isBinary() {
+        return this.right != null;
+    }
+
+    /**
+     * Visits the tree without recursion, so also very long expressions can't overflow the stack.
+     *
+     * @return The nodes of the tree in post-order: every node after its operands, the left before the right one.
+     */
+    public List<ExpressionNode> postOrder() {
+        List<ExpressionNode> nodes = new ArrayList<>();
+        Deque<ExpressionNode> stack = new ArrayDeque<>();
+        stack.push(this);
+        while (!stack.isEmpty()) { // Root, right, left: the reverse of the post-order
+            ExpressionNode node = stack.pop();
+            nodes.add(node);
+            if (node.left != null)
+                stack.push(node.left);
+            if (node.right != null)
+                stack.push(node.right);
+        }
+        Collections.reverse(nodes);
+        return nodes;
+    }
+
+    /**
+     * @return Precedence of the node as operator, the leaves bind more than any operation.
+     */
+    private int precedence() {
+        switch (this.kind) {
+            case ADD:
+            case SUB:
+                return 1;
+            case MUL:
+                return 2;
+            case NEGATION:
+                return 3;
+            default:
+                return 4;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ExpressionNode)) return false;
+        Deque<ExpressionNode> pairs = new ArrayDeque<>(); // Nodes still to compare, without recursion
+        pairs.push(this);
+        pairs.push((ExpressionNode) o);
+        while (!pairs.isEmpty()) {
+            ExpressionNode y = pairs.pop();
+            ExpressionNode x = pairs.pop();
+            if (x == y)
+                continue;
+            if (x.hash != y.hash || x.kind != y.kind || x.name != y.name || !Objects.equals(x.value, y.value))
+                return false;
+            if (x.left != null) { // The same kind, so the same operands
+                pairs.push(x.left);
+                pairs.push(y.left);
+            }
+            if (x.right != null) {
+                pairs.push(x.right);
+                pairs.push(y.right);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Follows the equals() method.
+     */
+    @Override
+    public int hashCode() {
+        return this.hash;
+    }
+
+    /**
+     * @return The expression in infix notation, with the parentheses needed by the precedence of the operators.
+     */
+    @Override
+    public String toString() {
+        switch (this.kind) {
+            case SCALAR:
+                return this.value.toString();
+            case VARIABLE:
+                return String.valueOf(this.name);
+            case NEGATION:
+                return "-" + this.operandToString(this.left, false);
+            default:
+                char operator = this.kind == Kind.ADD ? '+' : this.kind == Kind.SUB ? '-' : '*';
+                // Operators are left associative, so a right operand with the same precedence needs parentheses
+                return this.operandToString(this.left, false) + operator + this.operandToString(this.right, true);
+        }
+    }
+
+    /**
+     * @return The operand as String, in parentheses if it binds less than the calling node.
+     */
+    private String operandToString(ExpressionNode operand, boolean isRight) {
+        int p = operand.precedence();
+        if (p < this.precedence() || (isRight && p == this.precedence()))
+            return "(" + operand + ")";
+        return operand.toString();
+    }
+}
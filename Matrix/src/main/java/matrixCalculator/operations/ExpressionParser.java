@@ -0,0 +1,293 @@
+package matrixCalculator.operations;
+
+import matrixCalculator.numberDataTypes.BigFraction;
+import matrixCalculator.numberDataTypes.Fraction;
+import matrixCalculator.operations.ExpressionNode.Kind;
+
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Compiles an expression between scalars and the matrices A and B into an {@link ExpressionNode} tree, in one pass.
+ * The tokenizer adds the missing multiplication signs according to mathematical rules (3A, A(B), (A)(B), A2), then the
+ * tokens are parsed by precedence climbing: * binds more than + and -, all of them are left associative.
+ * Rules of the expressions:
+ * <ul>
+ * <li>{} can be used only at the top level, [] only at the top level or inside {}, () everywhere;</li>
+ * <li>a sign + or - before the first operand of the expression or of a bracket is unary;</li>
+ * <li>a scalar must be multiplied by something, alone or between + and - it isn't valid (A+3 isn't valid).</li>
+ * </ul>
+ * An example: A*3B+{[3(2A+4B)(A+2B)]A}+B
+ */
+
+final class ExpressionParser {
+
+    /**
+     * Symbol of the tokens with a number.
+     */
+    private static final char NUMBER = '#';
+    /**
+     * Symbols of the valid tokens which aren't numbers.
+     */
+    private static final String SYMBOLS = "AB+-*()[]{}";
+
+    /**
+     * Token of the expression: a symbol or a number.
+     */
+    private static final class Token {
+
+        /**
+         * The character of the symbol, NUMBER for a number.
+         */
+        final char symbol;
+        /**
+         * The value of a number, null for the symbols.
+         */
+        final Fraction value;
+
+        Token(char symbol, Fraction value) {
+            this.symbol = symbol;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Multiplication sign added by the tokenizer.
+     */
+    private static final Token IMPLICIT_MUL = new Token('*', null);
+
+    /**
+     * Tokens of the expression.
+     */
+    private final List<Token> tokens;
+    /**
+     * Index of the next token to parse.
+     */
+    private int next;
+    /**
+     * Brackets opened and not yet closed, the last one on top.
+     */
+    private final Deque<Character> brackets = new ArrayDeque<>();
+
+    private ExpressionParser(List<Token> tokens) {
+        this.tokens = tokens;
+    }
+
+    /**
+     * Compiles an expression.
+     *
+     * @param sequence Any expression written by the user.
+     * @return The root of the tree of the expression, null if the expression isn't valid.
+     */
+    static ExpressionNode parse(String sequence) {
+        if (sequence == null || sequence.isEmpty())
+            return null;
+        List<Token> tokens = tokenize(sequence);
+        if (tokens == null || !areScalarsFactors(tokens))
+            return null;
+        ExpressionParser parser = new ExpressionParser(tokens);
+        try {
+            ExpressionNode root = parser.parseExpression();
+            if (parser.next != tokens.size()) // Something after the end, like a closed bracket never opened
+                return null;
+            return root;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Splits the expression into tokens and adds the missing multiplication signs.
+     *
+     * @return The tokens, null if the expression has a character not valid.
+     */
+    private static List<Token> tokenize(String sequence) {
+        List<Token> tokens = new ArrayList<>(sequence.length() * 2);
+        int i = 0;
+        while (i < sequence.length()) {
+            char c = sequence.charAt(i);
+            Token token;
+            if (c >= '0' && c <= '9') { // Builds the entire number
+                int j = i + 1;
+                while (j < sequence.length() && sequence.charAt(j) >= '0' && sequence.charAt(j) <= '9')
+                    j++;
+                BigInteger n = new BigInteger(sequence.substring(i, j));
+                token = new Token(NUMBER, Fraction.toFraction(new BigFraction(n, BigInteger.ONE)));
+                i = j;
+            } else if (SYMBOLS.indexOf(c) >= 0) {
+                token = new Token(c, null);
+                i++;
+            } else {
+                return null;
+            }
+            if (!tokens.isEmpty() && isImplicitMul(tokens.get(tokens.size() - 1).symbol, token.symbol))
+                tokens.add(IMPLICIT_MUL);
+            tokens.add(token);
+        }
+        return tokens;
+    }
+
+    /**
+     * @return true if a multiplication sign is missing between the two symbols: after an operand or a closed
+     * bracket and before a number or an open bracket, or after a number and before a letter.
+     */
+    private static boolean isImplicitMul(char previous, char actual) {
+        boolean operandEnd = previous == NUMBER || previous == 'A' || previous == 'B' || isClosed(previous);
+        return (operandEnd && (actual == NUMBER || isOpen(actual)))
+                || (previous == NUMBER && (actual == 'A' || actual == 'B'));
+    }
+
+    /**
+     * Checks that every scalar is multiplied by something: looking through the brackets, the symbol before or the
+     * one after the scalar must be a multiplication sign.
+     */
+    private static boolean areScalarsFactors(List<Token> tokens) {
+        for (int k = 0; k < tokens.size(); k++) {
+            if (tokens.get(k).symbol != NUMBER)
+                continue;
+            int p = k - 1;
+            while (p >= 0 && isBracket(tokens.get(p).symbol))
+                p--;
+            int n = k + 1;
+            while (n < tokens.size() && isBracket(tokens.get(n).symbol))
+                n++;
+            boolean mulBefore = p >= 0 && tokens.get(p).symbol == '*';
+            boolean mulAfter = n < tokens.size() && tokens.get(n).symbol == '*';
+            if (!mulBefore && !mulAfter)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Parses an expression at the top level or inside a bracket: an operand, with an optional unary sign, followed by
+     * binary operations.
+     */
+    private ExpressionNode parseExpression() {
+        return this.parseBinary(this.parseOperand(true), 1);
+    }
+
+    /**
+     * Precedence climbing: adds to the left operand all the following operations with at least the given precedence.
+     * A right operand is first combined with the following operations which bind more than the actual one.
+     */
+    private ExpressionNode parseBinary(ExpressionNode left, int minPrecedence) {
+        while (this.next < this.tokens.size() && precedence(this.peek()) >= minPrecedence) {
+            char operator = this.take().symbol;
+            ExpressionNode right = this.parseOperand(false);
+            while (this.next < this.tokens.size() && precedence(this.peek()) > precedence(operator))
+                right = this.parseBinary(right, precedence(operator) + 1);
+            Kind kind = operator == '+' ? Kind.ADD : operator == '-' ? Kind.SUB : Kind.MUL;
+            left = ExpressionNode.binary(kind, left, right);
+        }
+        return left;
+    }
+
+    /**
+     * Parses a number, a letter or an expression in brackets.
+     *
+     * @param first true if the operand is the first of an expression, so it can have a unary sign.
+     */
+    private ExpressionNode parseOperand(boolean first) {
+        Token token = this.take();
+        switch (token.symbol) {
+            case '+':
+            case '-':
+                if (!first)
+                    throw new IllegalArgumentException("Unexpected sign");
+                ExpressionNode operand = this.parseOperand(false);
+                return token.symbol == '-' ? ExpressionNode.negation(operand) : operand;
+            case NUMBER:
+                return ExpressionNode.scalar(token.value);
+            case 'A':
+            case 'B':
+                return ExpressionNode.variable(token.symbol);
+            case '(':
+            case '[':
+            case '{':
+                this.open(token.symbol);
+                ExpressionNode inner = this.parseExpression();
+                this.close(token.symbol);
+                return inner;
+            default:
+                throw new IllegalArgumentException("Unexpected symbol " + token.symbol);
+        }
+    }
+
+    /**
+     * Opens a bracket if it can be nested in the actual one.
+     */
+    private void open(char bracket) {
+        Character actual = this.brackets.peek();
+        boolean valid;
+        if (bracket == '{') // Only at the top level
+            valid = actual == null;
+        else if (bracket == '[') // At the top level or inside {}
+            valid = actual == null || actual == '{';
+        else
+            valid = true;
+        if (!valid)
+            throw new IllegalArgumentException("Bracket " + bracket + " can't be nested in " + actual);
+        this.brackets.push(bracket);
+    }
+
+    /**
+     * Closes the actual bracket, the next token must be the correspondent closed bracket.
+     */
+    private void close(char bracket) {
+        char expected = bracket == '(' ? ')' : bracket == '[' ? ']' : '}';
+        if (this.next == this.tokens.size() || this.take().symbol != expected)
+            throw new IllegalArgumentException("Missing " + expected);
+        this.brackets.pop();
+    }
+
+    /**
+     * @return The next token, without consuming it.
+     */
+    private Token peek() {
+        return this.tokens.get(this.next);
+    }
+
+    /**
+     * @return The next token, consuming it.
+     */
+    private Token take() {
+        if (this.next == this.tokens.size())
+            throw new IllegalArgumentException("Unexpected end of the expression");
+        return this.tokens.get(this.next++);
+    }
+
+    /**
+     * @return Precedence of a binary operator, -1 if the token isn't an operator.
+     */
+    private static int precedence(Token token) {
+        return precedence(token.symbol);
+    }
+
+    private static int precedence(char symbol) {
+        switch (symbol) {
+            case '+':
+            case '-':
+                return 1;
+            case '*':
+                return 2;
+            default:
+                return -1;
+        }
+    }
+
+    private static boolean isOpen(char c) {
+        return c == '(' || c == '[' || c == '{';
+    }
+
+    private static boolean isClosed(char c) {
+        return c == ')' || c == ']' || c == '}';
+    }
+
+    private static boolean isBracket(char c) {
+        return isOpen(c) || isClosed(c);
+    }
+}
@@ -0,0 +1,448 @@
+package matrixCalculator.operations;
+
+import matrixCalculator.numberDataTypes.Fraction;
+import matrixCalculator.operations.ExpressionNode.Kind;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Plan of the evaluation of an expression with given matrices, computed from the dimensions only.
+ * The tree is first simplified by {@link ExpressionSimplifier}, then hash-consed into a graph where equal
+ * subexpressions are the same node, the operands of a sum in a canonical order (A+B and B+A are the same node), so
+ * every distinct subexpression is computed once and its result is kept only until its last use.
+ * Products and negations are associative, so every maximal run of them is a chain of factors: the scalar factors and
+ * the signs are hoisted into a single coefficient, the matrix factors are multiplied in the order chosen by
+ * {@link ChainOrder} and the coefficient multiplies the smallest matrix among the factors and the result. A product
+ * used more than once is a factor of the chains which use it, computed by its own chain.
+ * For example 2A*3B*C is evaluated as 6*(A*(B*C)) when B*C is the cheapest product.
+ * A chain with the scalar 0 as factor is the null matrix: its factors aren't computed, and neither are the nodes
+ * used only by them.
+ */
+
+class ExpressionPlan {
+
+    /**
+     * A chain of factors, the root of a run of products and negations.
+     */
+    static class Chain {
+
+        /**
+         * Factors of the chain, from left to right.
+         */
+        final List<ExpressionNode> factors;
+        /**
+         * true if the chain has an odd number of negations.
+         */
+        final boolean negative;
+        /**
+         * true if a factor is the scalar 0, so the other factors aren't computed.
+         */
+        final boolean zero;
+        /**
+         * Order of the products of the matrix factors, null if the chain has no matrix.
+         */
+        final ChainOrder order;
+        /**
+         * Index, among the matrix factors, of the matrix multiplied by the coefficient, -1 for the result.
+         */
+        final int scaled;
+        /**
+         * Rows of the result, 0 if it is a scalar.
+         */
+        final int rows;
+        /**
+         * Columns of the result, 0 if it is a scalar.
+         */
+        final int columns;
+
+        private Chain(List<ExpressionNode> factors, boolean negative, boolean zero, ChainOrder order, int scaled,
+                      int rows, int columns) {
+            this.factors = factors;
+            this.negative = negative;
+            this.zero = zero;
+            this.order = order;
+            this.scaled = scaled;
+            this.rows = rows;
+            this.columns = columns;
+        }
+    }
+
+    /**
+     * Distinct nodes of the expression in post-order, every node after its operands.
+     */
+    private final List<ExpressionNode> nodes = new ArrayList<>();
+    /**
+     * Root of the simplified and hash-consed expression.
+     */
+    private final ExpressionNode root;
+    /**
+     * true if the simplification has changed the expression.
+     */
+    private final boolean simplified;
+    /**
+     * Number of uses of every node as operand of another node.
+     */
+    private final Map<ExpressionNode, Integer> uses = new IdentityHashMap<>();
+    /**
+     * Dimensions {rows, columns} of the nodes whose value is a matrix, the others are scalars.
+     */
+    private final Map<ExpressionNode, int[]> shapes = new IdentityHashMap<>();
+    /**
+     * Chains by their root.
+     */
+    private final Map<ExpressionNode, Chain> chains = new IdentityHashMap<>();
+    /**
+     * Products and negations inside a chain, computed by the root of the chain.
+     */
+    private final Set<ExpressionNode> inner = Collections.newSetFromMap(new IdentityHashMap<>());
+    /**
+     * Nodes used only by chains with the scalar 0 as factor, never computed.
+     */
+    private final Set<ExpressionNode> dead = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Plans the evaluation of an expression.
+     *
+     * @param root Root of the tree of the expression.
+     * @param a    Fraction matrix represented by the letter "A" in the expression.
+     * @param b    Fraction matrix represented by the letter "B" in the expression.
+     * @throws IllegalArgumentException If the dimensions of the matrices aren't valid for the operations.
+     */
+    ExpressionPlan(ExpressionNode root, Fraction[][] a, Fraction[][] b) {
+        ExpressionNode simplest = ExpressionSimplifier.simplify(root);
+        this.simplified = !simplest.equals(root);
+        this.root = this.hashCons(simplest);
+        Set<ExpressionNode> chainOperands = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (ExpressionNode node : this.nodes) {
+            this.addUse(node.getLeft());
+            this.addUse(node.getRight());
+            if (isChainNode(node)) {
+                if (isChainNode(node.getLeft()))
+                    chainOperands.add(node.getLeft());
+                if (node.isBinary() && isChainNode(node.getRight()))
+                    chainOperands.add(node.getRight());
+            }
+        }
+        for (ExpressionNode node : chainOperands) {
+            if (this.getUses(node) == 1) // A shared product is computed once by its own chain
+                this.inner.add(node);
+        }
+        for (ExpressionNode node : this.nodes) {
+            switch (node.getKind()) {
+                case SCALAR:
+                    break;
+                case VARIABLE:
+                    Fraction[][] matrix = node.getName() == 'A' ? a : b;
+                    this.shapes.put(node, new int[]{matrix.length, matrix[0].length});
+                    break;
+                case ADD:
+                case SUB:
+                    int[] shape = this.sumShape(this.shapes.get(node.getLeft()), this.shapes.get(node.getRight()));
+                    if (shape != null)
+                        this.shapes.put(node, shape);
+                    break;
+                default:
+                    if (!this.inner.contains(node))
+                        this.addChain(node);
+            }
+        }
+        this.removeDeadNodes();
+    }
+
+    /**
+     * Removes the uses of the factors of the chains with the scalar 0, then marks as dead the nodes without uses,
+     * from the root down, removing the uses of their operands too.
+     */
+    private void removeDeadNodes() {
+        for (Chain chain : this.chains.values()) {
+            if (chain.zero) {
+                for (ExpressionNode factor : chain.factors) {
+                    this.uses.merge(factor, -1, Integer::sum);
+                }
+            }
+        }
+        for (int i = this.nodes.size() - 1; i >= 0; i--) { // Every node before its operands
+            ExpressionNode node = this.nodes.get(i);
+            if (node == this.root || this.inner.contains(node) || this.getUses(node) > 0)
+                continue;
+            this.dead.add(node);
+            Chain chain = this.chains.get(node);
+            if (chain != null) {
+                if (!chain.zero) { // Otherwise already removed
+                    for (ExpressionNode factor : chain.factors) {
+                        this.uses.merge(factor, -1, Integer::sum);
+                    }
+                }
+            } else if (node.isBinary()) {
+                this.uses.merge(node.getLeft(), -1, Integer::sum);
+                this.uses.merge(node.getRight(), -1, Integer::sum);
+            }
+        }
+    }
+
+    /**
+     * Builds the graph of the expression bottom-up, replacing every node with the first equal node found, and
+     * collects its distinct nodes in post-order.
+     *
+     * @return The root of the graph.
+     */
+    private ExpressionNode hashCons(ExpressionNode root) {
+        Map<ExpressionNode, ExpressionNode> table = new HashMap<>(); // Distinct nodes, operands already shared
+        Map<ExpressionNode, ExpressionNode> shared = new IdentityHashMap<>(); // Node of the tree -> node of the graph
+        for (ExpressionNode node : root.postOrder()) {
+            ExpressionNode left = node.getLeft() == null ? null : shared.get(node.getLeft());
+            ExpressionNode right = node.getRight() == null ? null : shared.get(node.getRight());
+            if (node.getKind() == Kind.ADD && left.hashCode() > right.hashCode()) { // Canonical order of a sum
+                ExpressionNode t = left;
+                left = right;
+                right = t;
+            }
+            ExpressionNode candidate;
+            if (left == node.getLeft() && right == node.getRight())
+                candidate = node;
+            else if (node.isBinary())
+                candidate = ExpressionNode.binary(node.getKind(), left, right);
+            else
+                candidate = ExpressionNode.negation(left);
+            // Operands are already shared, so equal nodes are found in O(1)
+            ExpressionNode distinct = table.putIfAbsent(candidate, candidate);
+            if (distinct == null) {
+                distinct = candidate;
+                this.nodes.add(candidate);
+            }
+            shared.put(node, distinct);
+        }
+        return shared.get(root);
+    }
+
+    private void addUse(ExpressionNode operand) {
+        if (operand != null)
+            this.uses.merge(operand, 1, Integer::sum);
+    }
+
+    /**
+     * @return true if the node is a product or a negation.
+     */
+    private static boolean isChainNode(ExpressionNode node) {
+        return node.getKind() == Kind.MUL || node.getKind() == Kind.NEGATION;
+    }
+
+    /**
+     * @return Dimensions of a sum, null if it is a scalar. A scalar s is added as s*I, so to a square matrix.
+     */
+    private int[] sumShape(int[] left, int[] right) {
+        if (left == null && right == null)
+            return null;
+        int[] shape = left != null ? left : right;
+        if (left != null && right != null && (left[0] != right[0] || left[1] != right[1]))
+            throw new IllegalArgumentException("The matrices of a sum must have the same dimensions");
+        if ((left == null || right == null) && shape[0] != shape[1])
+            throw new IllegalArgumentException("A scalar can be added only to a square matrix");
+        return shape;
+    }
+
+    /**
+     * Collects the factors of the chain with the given root, chooses the order of its products and where to apply the
+     * coefficient.
+     */
+    private void addChain(ExpressionNode root) {
+        List<ExpressionNode> factors = new ArrayList<>();
+        boolean negative = false;
+        Deque<ExpressionNode> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) { // Left to right through the products and the negations
+            ExpressionNode node = stack.pop();
+            if (node != root && !this.inner.contains(node)) {
+                factors.add(node);
+            } else if (node.getKind() == Kind.NEGATION) {
+                negative = !negative;
+                stack.push(node.getLeft());
+            } else if (node.getKind() == Kind.MUL) {
+                stack.push(node.getRight());
+                stack.push(node.getLeft());
+            } else {
+                factors.add(node);
+            }
+        }
+        List<int[]> matrices = new ArrayList<>();
+        boolean zero = false;
+        for (ExpressionNode factor : factors) {
+            int[] shape = this.shapes.get(factor);
+            if (shape != null)
+                matrices.add(shape);
+            else if (factor.getKind() == Kind.SCALAR && factor.getValue().isZero())
+                zero = true;
+        }
+        if (matrices.isEmpty()) {
+            this.chains.put(root, new Chain(factors, negative, zero, null, -1, 0, 0));
+            return;
+        }
+        int[] dimensions = new int[matrices.size() + 1];
+        dimensions[0] = matrices.get(0)[0];
+        for (int i = 0; i < matrices.size(); i++) {
+            if (matrices.get(i)[0] != dimensions[i])
+                throw new IllegalArgumentException("The columns of a factor must be the rows of the next one");
+            dimensions[i + 1] = matrices.get(i)[1];
+        }
+        int rows = dimensions[0];
+        int columns = dimensions[matrices.size()];
+        int scaled = -1;
+        long scaledSize = (long) rows * columns;
+        for (int i = 0; i < matrices.size(); i++) {
+            long size = (long) matrices.get(i)[0] * matrices.get(i)[1];
+            if (size < scaledSize) {
+                scaled = i;
+                scaledSize = size;
+            }
+        }
+        this.chains.put(root, new Chain(factors, negative, zero, new ChainOrder(dimensions), scaled, rows,
+                columns));
+        this.shapes.put(root, new int[]{rows, columns});
+    }
+
+    /**
+     * @return The distinct nodes of the expression in post-order.
+     */
+    List<ExpressionNode> getNodes() {
+        return this.nodes;
+    }
+
+    /**
+     * @return The root of the expression, the last of the nodes.
+     */
+    ExpressionNode getRoot() {
+        return this.root;
+    }
+
+    /**
+     * @return Number of uses of the node as operand of the other distinct nodes.
+     */
+    int getUses(ExpressionNode node) {
+        return this.uses.getOrDefault(node, 0);
+    }
+
+    /**
+     * @return true if the node is a product or a negation computed by the root of its chain.
+     */
+    boolean isInner(ExpressionNode node) {
+        return this.inner.contains(node);
+    }
+
+    /**
+     * @return true if the node is used only by chains with the scalar 0 as factor, so it isn't computed.
+     */
+    boolean isDead(ExpressionNode node) {
+        return this.dead.contains(node);
+    }
+
+    /**
+     * @return The chain with the given root, null if the node isn't the root of a chain.
+     */
+    Chain getChain(ExpressionNode node) {
+        return this.chains.get(node);
+    }
+
+    /**
+     * Describes the plan: a line for every chain with products, with the chosen order, where the coefficient is
+     * applied and the multiplications of elements needed, compared to the left to right order, and a line for every
+     * operation used more than once. The simplified expression comes first, if the simplification has changed it.
+     *
+     * @return The plan, one line per chain or shared operation in evaluation order.
+     */
+    String explain() {
+        StringBuilder sb = new StringBuilder();
+        if (this.simplified)
+            sb.append("Simplified: ").append(this.root);
+        for (ExpressionNode node : this.nodes) {
+            if (this.dead.contains(node))
+                continue;
+            int uses = this.getUses(node);
+            if (uses > 1 && node.getLeft() != null) { // Leaves cost nothing
+                if (sb.length() > 0)
+                    sb.append('\n');
+                sb.append(node).append(": computed once, used ").append(uses).append(" times");
+            }
+            Chain chain = this.chains.get(node);
+            if (chain == null || chain.factors.size() < 2 && !chain.negative)
+                continue;
+            List<String> names = new ArrayList<>();
+            List<String> scalars = new ArrayList<>();
+            Fraction constant = chain.negative ? Fraction.ONE.negative() : Fraction.ONE;
+            for (ExpressionNode factor : chain.factors) {
+                String name = factor.isBinary() ? "(" + factor + ")" : factor.toString();
+                if (this.shapes.containsKey(factor))
+                    names.add(name);
+                else if (factor.getKind() == Kind.SCALAR)
+                    constant = Fraction.multiply(constant, factor.getValue());
+                else
+                    scalars.add(name);
+            }
+            String coefficient = coefficientToString(constant, scalars);
+            if (sb.length() > 0)
+                sb.append('\n');
+            sb.append(node).append(": ");
+            if (chain.order == null) {
+                sb.append(coefficient.isEmpty() ? "1" : coefficient).append(", scalar");
+                continue;
+            }
+            if (constant.isZero()) {
+                sb.append("null matrix, no multiplications");
+                continue;
+            }
+            long scaling = 0;
+            if (!coefficient.isEmpty()) {
+                if (chain.scaled >= 0) {
+                    names.set(chain.scaled, "(" + coefficient + "*" + names.get(chain.scaled) + ")");
+                    scaling = this.scaledSize(chain);
+                } else {
+                    scaling = (long) chain.rows * chain.columns;
+                }
+            }
+            String product = chain.order.toString(names);
+            if (!coefficient.isEmpty() && chain.scaled < 0)
+                product = coefficient + "*" + (names.size() > 1 ? "(" + product + ")" : product);
+            sb.append(product).append(", ").append(chain.order.getCost() + scaling).append(" multiplications");
+            if (chain.order.getCost() < chain.order.getLeftToRightCost())
+                sb.append(" (left to right: ").append(chain.order.getLeftToRightCost() + scaling).append(')');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return Elements of the matrix factor multiplied by the coefficient.
+     */
+    private long scaledSize(Chain chain) {
+        int k = 0;
+        for (ExpressionNode factor : chain.factors) {
+            int[] shape = this.shapes.get(factor);
+            if (shape != null && k++ == chain.scaled)
+                return (long) shape[0] * shape[1];
+        }
+        return 0;
+    }
+
+    /**
+     * @return The coefficient of a chain, empty if it is 1.
+     */
+    private static String coefficientToString(Fraction constant, List<String> scalars) {
+        StringBuilder sb = new StringBuilder();
+        if (scalars.isEmpty() || (!constant.equals(Fraction.ONE) && !constant.equals(Fraction.ONE.negative())))
+            sb.append(constant.equals(Fraction.ONE) ? "" : constant.toString());
+        else if (constant.isNegative())
+            sb.append('-');
+        for (String scalar : scalars) {
+            if (sb.length() > 0 && sb.charAt(sb.length() - 1) != '-')
+                sb.append('*');
+            sb.append(scalar);
+        }
+        return sb.toString();
+    }
+}
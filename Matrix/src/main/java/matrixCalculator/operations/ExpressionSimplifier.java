@@ -0,0 +1,151 @@
+package matrixCalculator.operations;
+
+import matrixCalculator.numberDataTypes.Fraction;
+import matrixCalculator.operations.ExpressionNode.Kind;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Rewrites an expression into a simpler one with exactly the same value, bottom-up in one pass.
+ * Rules:
+ * <ul>
+ * <li>operations between scalars are folded into a scalar: 2*3 is 6;</li>
+ * <li>every run of products and negations becomes a coefficient by the product of its matrices, in the same order:
+ * (2A)(3B) is 6*(A*B), 1B is B and -(-A) is A;</li>
+ * <li>X-X is 0*X for identical subexpressions X, a null matrix with the dimensions of X computed without products,
+ * and the operands of a sum are in a canonical order, so also (A+B)-(B+A) is 0*(A+B);</li>
+ * <li>X+(-Y) is X-Y, X-(-Y) is X+Y and (-X)+Y is Y-X, without computing the negation.</li>
+ * </ul>
+ * A product by 0 isn't replaced by the scalar 0, which would be 0*I: it keeps its matrices, which give the dimensions
+ * of the null matrix. For the same reason 0 and the products by 0 aren't removed from sums: X+0 and X+0*Y are valid
+ * only if X is square or has the dimensions of Y, which is checked by {@link ExpressionPlan}.
+ */
+
+class ExpressionSimplifier {
+
+    /**
+     * Simplifies an expression.
+     *
+     * @param root Root of the tree of the expression.
+     * @return Root of the simplified tree, the same root if nothing can be simplified.
+     */
+    static ExpressionNode simplify(ExpressionNode root) {
+        List<ExpressionNode> nodes = root.postOrder();
+        Set<ExpressionNode> inner = Collections.newSetFromMap(new IdentityHashMap<>()); // Products inside a run
+        for (ExpressionNode node : nodes) {
+            if (isChainNode(node)) {
+                if (isChainNode(node.getLeft()))
+                    inner.add(node.getLeft());
+                if (node.isBinary() && isChainNode(node.getRight()))
+                    inner.add(node.getRight());
+            }
+        }
+        Map<ExpressionNode, ExpressionNode> simplified = new IdentityHashMap<>();
+        for (ExpressionNode node : nodes) {
+            ExpressionNode left = node.getLeft() == null ? null : simplified.get(node.getLeft());
+            ExpressionNode right = node.getRight() == null ? null : simplified.get(node.getRight());
+            ExpressionNode result;
+            switch (node.getKind()) {
+                case SCALAR:
+                case VARIABLE:
+                    result = node;
+                    break;
+                case ADD:
+                    result = add(left, right);
+                    break;
+                case SUB:
+                    result = sub(left, right);
+                    break;
+                default: // The run is simplified once, from its root
+                    if (left == node.getLeft() && right == node.getRight())
+                        result = node;
+                    else if (node.isBinary())
+                        result = ExpressionNode.binary(Kind.MUL, left, right);
+                    else
+                        result = ExpressionNode.negation(left);
+                    if (!inner.contains(node))
+                        result = chain(result);
+            }
+            simplified.put(node, result);
+        }
+        return simplified.get(root);
+    }
+
+    /**
+     * @return true if the node is a product or a negation.
+     */
+    private static boolean isChainNode(ExpressionNode node) {
+        return node.getKind() == Kind.MUL || node.getKind() == Kind.NEGATION;
+    }
+
+    /**
+     * Simplifies a run of products and negations: the scalars and the signs into a coefficient, the other factors kept
+     * in the same order.
+     */
+    private static ExpressionNode chain(ExpressionNode root) {
+        Fraction coefficient = Fraction.ONE;
+        List<ExpressionNode> matrices = new ArrayList<>();
+        Deque<ExpressionNode> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) { // Left to right through the products and the negations
+            ExpressionNode node = stack.pop();
+            if (node.getKind() == Kind.NEGATION) {
+                coefficient = coefficient.negative();
+                stack.push(node.getLeft());
+            } else if (node.getKind() == Kind.MUL) {
+                stack.push(node.getRight());
+                stack.push(node.getLeft());
+            } else if (node.getKind() == Kind.SCALAR) {
+                coefficient = Fraction.multiply(coefficient, node.getValue());
+            } else {
+                matrices.add(node);
+            }
+        }
+        if (matrices.isEmpty())
+            return ExpressionNode.scalar(coefficient);
+        ExpressionNode product = matrices.get(0);
+        for (int i = 1; i < matrices.size(); i++) {
+            product = ExpressionNode.binary(Kind.MUL, product, matrices.get(i));
+        }
+        if (coefficient.equals(Fraction.ONE))
+            return product;
+        if (coefficient.equals(Fraction.ONE.negative()))
+            return ExpressionNode.negation(product);
+        return ExpressionNode.binary(Kind.MUL, ExpressionNode.scalar(coefficient), product);
+    }
+
+    /**
+     * @return The simplified sum of two simplified operands.
+     */
+    private static ExpressionNode add(ExpressionNode left, ExpressionNode right) {
+        if (left.getKind() == Kind.SCALAR && right.getKind() == Kind.SCALAR)
+            return ExpressionNode.scalar(Fraction.add(left.getValue(), right.getValue()));
+        if (right.getKind() == Kind.NEGATION)
+            return sub(left, right.getLeft());
+        if (left.getKind() == Kind.NEGATION)
+            return sub(right, left.getLeft());
+        if (left.hashCode() > right.hashCode()) // Canonical order, A+B and B+A are the same sum
+            return ExpressionNode.binary(Kind.ADD, right, left);
+        return ExpressionNode.binary(Kind.ADD, left, right);
+    }
+
+    /**
+     * @return The simplified difference of two simplified operands.
+     */
+    private static ExpressionNode sub(ExpressionNode left, ExpressionNode right) {
+        if (left.getKind() == Kind.SCALAR && right.getKind() == Kind.SCALAR)
+            return ExpressionNode.scalar(Fraction.sub(left.getValue(), right.getValue()));
+        if (left.equals(right)) // X-X is the null matrix with the dimensions of X
+            return chain(ExpressionNode.binary(Kind.MUL, ExpressionNode.scalar(Fraction.ZERO), left));
+        if (right.getKind() == Kind.NEGATION)
+            return add(left, right.getLeft());
+        return ExpressionNode.binary(Kind.SUB, left, right);
+    }
+}
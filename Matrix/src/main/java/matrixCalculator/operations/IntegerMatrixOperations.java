@@ -0,0 +1,252 @@
+package matrixCalculator.operations;
+
+import matrixCalculator.numberDataTypes.Fraction;
+import matrixCalculator.numberDataTypes.FractionMatrix;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Operations on integer matrices memorized as flat row-major long arrays, without fractions and reductions.
+ * Used by {@link BinaryOperations} and {@link Determinant} when every element of the inputs is an integer.
+ * Products are computed with 128 bits (low word by multiplication, high word by Math.multiplyHigh()), so a sum of
+ * products overflows only if its final value doesn't fit in a long. When a value of the result doesn't fit in a long
+ * the methods return null and the caller goes on with fractions.
+ */
+
+class IntegerMatrixOperations {
+
+    /**
+     * Mask of the 64 bits of a low word, to read it as unsigned.
+     */
+    private static final BigInteger LOW_WORD = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+
+    /**
+     * @param matrix Any rectangular Fraction matrix without null elements.
+     * @return true if every element is an integer which fits in a long.
+     */
+    static boolean isIntegerMatrix(Fraction[][] matrix) {
+        for (Fraction[] row : matrix) {
+            for (Fraction f : row) {
+                if (f.isBig() || f.getDenominator() != 1)
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param matrix Fraction matrix whose elements are integers which fit in a long.
+     * @return The numerators in row-major order.
+     */
+    static long[] toLongs(Fraction[][] matrix) {
+        int c = matrix[0].length;
+        long[] values = new long[matrix.length * c];
+        for (int i = 0; i < matrix.length; i++) {
+            for (int j = 0; j < c; j++) {
+                values[i * c + j] = matrix[i][j].getNumerator();
+            }
+        }
+        return values;
+    }
+
+    /**
+     * @return The Fraction matrix with the given integers in row-major order.
+     */
+    static Fraction[][] toFractions(long[] values, int rows, int columns) {
+        Fraction[][] matrix = new Fraction[rows][columns];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                matrix[i][j] = Fraction.valueOf(values[i * columns + j]);
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * @return The FractionMatrix with the given integers in row-major order, Long.MIN_VALUE with arbitrary precision.
+     */
+    static FractionMatrix toFractionMatrix(long[] values, int rows, int columns) {
+        FractionMatrix matrix = new FractionMatrix(rows, columns); // Denominators are already 1
+        System.arraycopy(values, 0, matrix.getNumerators(), 0, values.length);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == Long.MIN_VALUE) // Its opposite doesn't fit in a long, so it's never stored as long
+                matrix.set(i, Fraction.valueOf(Long.MIN_VALUE));
+        }
+        return matrix;
+    }
+
+    /**
+     * Multiplies two integer matrices, with the loops in the order i-k-j so both matrices are read along their rows.
+     * Every element of a row of the result has a 128 bits accumulator: the low words are kept in the result itself.
+     *
+     * @param matrix1 First matrix, r1 x rc elements.
+     * @param matrix2 Second matrix, rc x c2 elements.
+     * @param r1      Number of rows of the first matrix.
+     * @param rc      Number of columns of the first matrix and of rows of the second one.
+     * @param c2      Number of columns of the second matrix.
+     * @return The product, r1 x c2 elements in row-major order, null if an element doesn't fit in a long.
+     */
+    static long[] multiply(long[] matrix1, long[] matrix2, int r1, int rc, int c2) {
+        long[] matrix3 = new long[Math.multiplyExact(r1, c2)];
+        long[] high = new long[c2];
+        for (int i = 0; i < r1; i++) {
+            int row3 = i * c2;
+            Arrays.fill(high, 0);
+            for (int k = 0; k < rc; k++) {
+                long x = matrix1[i * rc + k];
+                if (x == 0) // The whole row k of the second matrix gives no contribution
+                    continue;
+                int row2 = k * c2;
+                for (int j = 0; j < c2; j++) {
+                    long y = matrix2[row2 + j];
+                    long low = x * y;
+                    long h = Math.multiplyHigh(x, y);
+                    long sum = matrix3[row3 + j] + low;
+                    if (Long.compareUnsigned(sum, low) < 0) // Carry of the low words
+                        h++;
+                    matrix3[row3 + j] = sum;
+                    long t = high[j] + h;
+                    if (((high[j] ^ t) & (h ^ t)) < 0) // Even 128 bits overflow
+                        return null;
+                    high[j] = t;
+                }
+            }
+            for (int j = 0; j < c2; j++) {
+                if (high[j] != matrix3[row3 + j] >> 63) // The high word isn't just the sign of the low one
+                    return null;
+            }
+        }
+        return matrix3;
+    }
+
+    /**
+     * Adds two integer matrices of the same dimensions.
+     *
+     * @return The sum, null if an element doesn't fit in a long.
+     */
+    static long[] add(long[] matrix1, long[] matrix2) {
+        long[] matrix3 = new long[matrix1.length];
+        for (int i = 0; i < matrix3.length; i++) {
+            long x = matrix1[i];
+            long y = matrix2[i];
+            long z = x + y;
+            if (((x ^ z) & (y ^ z)) < 0) // Both addends have a sign different from the sum
+                return null;
+            matrix3[i] = z;
+        }
+        return matrix3;
+    }
+
+    /**
+     * Subtracts two integer matrices of the same dimensions.
+     *
+     * @return The difference, null if an element doesn't fit in a long.
+     */
+    static long[] sub(long[] matrix1, long[] matrix2) {
+        long[] matrix3 = new long[matrix1.length];
+        for (int i = 0; i < matrix3.length; i++) {
+            long x = matrix1[i];
+            long y = matrix2[i];
+            long z = x - y;
+            if (((x ^ y) & (x ^ z)) < 0) // Operands of different sign and the difference has the sign of y
+                return null;
+            matrix3[i] = z;
+        }
+        return matrix3;
+    }
+
+    /**
+     * Raises a square integer matrix to a positive power by squaring.
+     *
+     * @param matrix Square matrix, n x n elements.
+     * @param n      Order of the matrix.
+     * @param pow    Power, greater than 0.
+     * @return The matrix raised to the power, null if an element of a product doesn't fit in a long.
+     */
+    static long[] pow(long[] matrix, int n, long pow) {
+        long[] result = null;
+        long[] square = matrix;
+        while (true) {
+            if ((pow & 1) == 1) {
+                result = result == null ? square : multiply(result, square, n, n, n);
+                if (result == null)
+                    return null;
+            }
+            pow >>>= 1;
+            if (pow == 0)
+                return result;
+            square = multiply(square, square, n, n, n);
+            if (square == null)
+                return null;
+        }
+    }
+
+    /**
+     * Computes the determinant of a square integer matrix with the Bareiss fraction-free elimination, like
+     * {@link Determinant#computeDeterminant(Fraction[][])}. Every 2x2 minor is computed with 128 bits and divided
+     * exactly by the previous pivot, all the entries are minors of the input so they are bounded by Hadamard's bound.
+     *
+     * @param matrix Square matrix, n x n elements.
+     * @param n      Order of the matrix.
+     * @return The determinant, null if an entry of the elimination doesn't fit in a long.
+     */
+    static Fraction computeDeterminant(long[] matrix, int n) {
+        long[] m = Arrays.copyOf(matrix, matrix.length); // The elimination works in place
+        long prevPivot = 1;
+        boolean negative = false; // Every row swap changes the sign of the determinant
+        for (int k = 0; k < n - 1; k++) {
+            int rowK = k * n;
+            if (m[rowK + k] == 0) { // Looks for the first row under the pivot with a not null element
+                int p = k + 1;
+                while (p < n && m[p * n + k] == 0)
+                    p++;
+                if (p == n) // Null column, the matrix is singular
+                    return Fraction.ZERO;
+                for (int j = k; j < n; j++) {
+                    long t = m[rowK + j];
+                    m[rowK + j] = m[p * n + j];
+                    m[p * n + j] = t;
+                }
+                negative = !negative;
+            }
+            long pivot = m[rowK + k];
+            for (int i = k + 1; i < n; i++) {
+                int rowI = i * n;
+                long x = m[rowI + k];
+                for (int j = k + 1; j < n; j++) {
+                    long a = m[rowI + j];
+                    long b = m[rowK + j];
+                    // (a * pivot - x * b) with 128 bits
+                    long low1 = a * pivot;
+                    long low2 = x * b;
+                    long low = low1 - low2;
+                    long borrow = Long.compareUnsigned(low1, low2) < 0 ? 1 : 0;
+                    long high1 = Math.multiplyHigh(a, pivot);
+                    long high2 = Math.multiplyHigh(x, b) + borrow;
+                    long high = high1 - high2;
+                    if (((high1 ^ high2) & (high1 ^ high)) < 0) // Even 128 bits overflow
+                        return null;
+                    if (high == low >> 63 && (low != Long.MIN_VALUE || prevPivot != -1)) { // Fits in a long
+                        m[rowI + j] = low / prevPivot;
+                    } else {
+                        BigInteger minor = BigInteger.valueOf(high).shiftLeft(64)
+                                .or(BigInteger.valueOf(low).and(LOW_WORD));
+                        BigInteger q = minor.divide(BigInteger.valueOf(prevPivot));
+                        if (q.bitLength() > 63)
+                            return null;
+                        m[rowI + j] = q.longValue();
+                    }
+                }
+            }
+            prevPivot = pivot;
+        }
+        long det = m[n * n - 1];
+        if (negative) {
+            if (det == Long.MIN_VALUE)
+                return null;
+            det = -det;
+        }
+        return Fraction.valueOf(det);
+    }
+}
@@ -0,0 +1,363 @@
+package matrixCalculator.operations;
+
+import matrixCalculator.numberDataTypes.Fraction;
+import matrixCalculator.numberDataTypes.FractionAccumulator;
+import matrixCalculator.numberDataTypes.FractionMatrix;
+import matrixCalculator.numberDataTypes.MatrixFingerprint;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LU decomposition PA = LU of any matrix, computed once by the Bareiss fraction-free elimination: P is a permutation
+ * of the rows, L is lower triangular with 1 on the diagonal and U is the Row Echelon Form.
+ * The determinant, the rank, the inverse and the solutions of linear systems are derived from the decomposition
+ * without eliminating the matrix again: the determinant and the rank in O(n), a solution in O(n^2).
+ * The decompositions of the last matrices are cached by the {@link MatrixFingerprint} of their content, so the
+ * following operations on the same matrix use the decomposition already computed, finding it in O(n^2). Different
+ * matrices can have the same fingerprint, so a copy of the decomposed matrix is kept and compared on every hit.
+ */
+
+public class LUDecomposition {
+
+    /**
+     * Number of decompositions kept in the cache.
+     */
+    private static final int CACHE_SIZE = 8;
+    /**
+     * Last decompositions by the fingerprint of the decomposed matrix, the least recently used is removed first.
+     */
+    private static final Map<MatrixFingerprint, CacheEntry> CACHE =
+            new LinkedHashMap<MatrixFingerprint, CacheEntry>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<MatrixFingerprint, CacheEntry> eldest) {
+                    return this.size() > CACHE_SIZE;
+                }
+            };
+
+    /**
+     * A cached decomposition with a copy of the decomposed matrix.
+     */
+    private static final class CacheEntry {
+
+        final FractionMatrix matrix;
+        final LUDecomposition decomposition;
+
+        CacheEntry(FractionMatrix matrix, LUDecomposition decomposition) {
+            this.matrix = matrix;
+            this.decomposition = decomposition;
+        }
+    }
+
+    /**
+     * U on and over the pivots, the multipliers of L under the pivots where U is 0.
+     */
+    private final FractionMatrix lu;
+    /**
+     * The row i of PA is the row permutation[i] of A.
+     */
+    private final int[] permutation;
+    /**
+     * The element i is the column of the pivot of the row i, meaningful only for the first rank rows.
+     */
+    private final int[] pivotColumns;
+    /**
+     * Number of pivots.
+     */
+    private final int rank;
+    /**
+     * true if an odd number of rows has been switched, so the determinant of P is -1.
+     */
+    private final boolean negative;
+    /**
+     * Determinant of the decomposed matrix, the last pivot of the Bareiss elimination. Null if the matrix isn't square.
+     */
+    private final Fraction determinant;
+
+    /**
+     * Decomposes the matrix with the Bareiss elimination: for every column the first not null element from the actual
+     * row is the pivot, and every element e under the pivot row and at the right of the column becomes
+     * (pivot*e - left*top) / previous pivot. The division is exact, so the elements of an integer matrix stay integer.
+     * The elements under the pivot divided by the pivot are kept as multipliers of L, at the end every pivot row is
+     * divided by the previous pivot, which gives U. A column without pivot is skipped.
+     *
+     * @param matrix Any matrix, it is modified in place.
+     */
+    private LUDecomposition(FractionMatrix matrix) {
+        int rows = matrix.getRows();
+        int columns = matrix.getColumns();
+        this.lu = matrix;
+        this.permutation = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            this.permutation[i] = i;
+        }
+        this.pivotColumns = new int[Math.min(rows, columns)];
+        Fraction[] previousPivots = new Fraction[this.pivotColumns.length]; // Divisor of every pivot row
+        Fraction previous = Fraction.ONE;
+        FractionAccumulator acc = new FractionAccumulator();
+        boolean negative = false;
+        int row = 0;
+        for (int column = 0; column < columns && row < rows; column++) {
+            int p = row;
+            while (p < rows && matrix.isZero(matrix.rowOffset(p) + column))
+                p++;
+            if (p == rows) // Null column under the actual row
+                continue;
+            if (p != row) {
+                matrix.swapRows(row, p);
+                int t = this.permutation[row];
+                this.permutation[row] = this.permutation[p];
+                this.permutation[p] = t;
+                negative = !negative;
+            }
+            int rowR = matrix.rowOffset(row);
+            Fraction pivot = matrix.get(rowR + column);
+            boolean scale = !pivot.equals(previous);
+            for (int i = row + 1; i < rows; i++) {
+                int rowI = matrix.rowOffset(i);
+                boolean zero = matrix.isZero(rowI + column);
+                if (zero && !scale)
+                    continue;
+                Fraction left = matrix.get(rowI + column);
+                if (!zero) {
+                    acc.set(left);
+                    acc.divide(pivot);
+                    acc.store(matrix, rowI + column); // Multiplier of L
+                }
+                for (int j = column + 1; j < columns; j++) {
+                    boolean zeroTop = zero || matrix.isZero(rowR + j);
+                    if (zeroTop && (!scale || matrix.isZero(rowI + j)))
+                        continue;
+                    acc.set(matrix, rowI + j);
+                    acc.multiply(pivot);
+                    if (!zeroTop)
+                        acc.subProduct(matrix, rowR + j, left);
+                    acc.divide(previous);
+                    acc.store(matrix, rowI + j);
+                }
+            }
+            this.pivotColumns[row] = column;
+            previousPivots[row] = previous;
+            previous = pivot;
+            row++;
+        }
+        for (int r = 1; r < row; r++) { // Row r of U is the Bareiss row divided by the previous pivot
+            if (previousPivots[r].equals(Fraction.ONE))
+                continue;
+            int rowR = matrix.rowOffset(r);
+            for (int j = this.pivotColumns[r]; j < columns; j++) {
+                if (!matrix.isZero(rowR + j)) {
+                    acc.set(matrix, rowR + j);
+                    acc.divide(previousPivots[r]);
+                    acc.store(matrix, rowR + j);
+                }
+            }
+        }
+        this.rank = row;
+        this.negative = negative;
+        if (rows != columns)
+            this.determinant = null;
+        else if (row < rows)
+            this.determinant = Fraction.ZERO;
+        else
+            this.determinant = negative ? previous.negative() : previous;
+    }
+
+    /**
+     * Provides the decomposition of the matrix, from the cache if it has already been computed.
+     *
+     * @param matrix Any matrix, it isn't modified.
+     * @return The decomposition of the matrix.
+     */
+    public static LUDecomposition of(FractionMatrix matrix) {
+        MatrixFingerprint fingerprint = MatrixFingerprint.of(matrix);
+        LUDecomposition decomposition = cached(fingerprint, matrix);
+        if (decomposition == null) {
+            FractionMatrix key = matrix.copy(); // The caller can modify its matrix
+            decomposition = new LUDecomposition(matrix.copy());
+            synchronized (CACHE) {
+                CACHE.put(fingerprint, new CacheEntry(key, decomposition));
+            }
+        }
+        return decomposition;
+    }
+
+    /**
+     * @see #of(FractionMatrix)
+     */
+    public static LUDecomposition of(Fraction[][] matrix) {
+        return of(FractionMatrix.of(matrix));
+    }
+
+    /**
+     * @param matrix Any matrix.
+     * @return The decomposition of the matrix if it is in the cache, otherwise null.
+     */
+    public static LUDecomposition cached(FractionMatrix matrix) {
+        return cached(MatrixFingerprint.of(matrix), matrix);
+    }
+
+    /**
+     * @return The decomposition of the matrix if it is in the cache, null also if another matrix has the same
+     * fingerprint.
+     */
+    private static LUDecomposition cached(MatrixFingerprint fingerprint, FractionMatrix matrix) {
+        CacheEntry entry;
+        synchronized (CACHE) {
+            entry = CACHE.get(fingerprint);
+        }
+        return entry != null && entry.matrix.equals(matrix) ? entry.decomposition : null;
+    }
+
+    /**
+     * Removes all the decompositions from the cache.
+     */
+    public static void clearCache() {
+        synchronized (CACHE) {
+            CACHE.clear();
+        }
+    }
+
+    /**
+     * @return Number of rows of the decomposed matrix.
+     */
+    public int getRows() {
+        return this.lu.getRows();
+    }
+
+    /**
+     * @return Number of columns of the decomposed matrix.
+     */
+    public int getColumns() {
+        return this.lu.getColumns();
+    }
+
+    /**
+     * @return The rank of the decomposed matrix, the number of pivots.
+     */
+    public int getRank() {
+        return this.rank;
+    }
+
+    /**
+     * @return 1 or -1, the determinant of the permutation matrix P.
+     */
+    public int getSign() {
+        return this.negative ? -1 : 1;
+    }
+
+    /**
+     * @return true if the decomposed matrix is square and its rank is lower than its order.
+     */
+    public boolean isSingular() {
+        return this.lu.isSquare() && this.rank < this.lu.getRows();
+    }
+
+    /**
+     * @return The permutation of the rows: the row i of PA is the row getPermutation()[i] of A.
+     */
+    public int[] getPermutation() {
+        return this.permutation.clone();
+    }
+
+    /**
+     * @return The permutation matrix P, rows x rows.
+     */
+    public FractionMatrix getP() {
+        int n = this.getRows();
+        FractionMatrix p = new FractionMatrix(n, n);
+        for (int i = 0; i < n; i++) {
+            p.set(i, this.permutation[i], Fraction.ONE);
+        }
+        return p;
+    }
+
+    /**
+     * @return The lower triangular matrix L with 1 on the diagonal, rows x rows.
+     */
+    public FractionMatrix getL() {
+        int n = this.getRows();
+        FractionMatrix l = new FractionMatrix(n, n);
+        for (int i = 0; i < n; i++) {
+            for (int r = 0; r < Math.min(i, this.rank); r++) {
+                l.set(i, r, this.lu.get(i, this.pivotColumns[r]));
+            }
+            l.set(i, i, Fraction.ONE);
+        }
+        return l;
+    }
+
+    /**
+     * @return The matrix U in Row Echelon Form, with the same dimensions of the decomposed matrix.
+     */
+    public FractionMatrix getU() {
+        FractionMatrix u = new FractionMatrix(this.getRows(), this.getColumns());
+        for (int i = 0; i < this.rank; i++) {
+            for (int j = this.pivotColumns[i]; j < this.getColumns(); j++) {
+                u.set(i, j, this.lu.get(i, j));
+            }
+        }
+        return u;
+    }
+
+    /**
+     * @return The determinant of the decomposed matrix, the last pivot of the elimination with the sign of the
+     * permutation. Null if the matrix isn't square.
+     */
+    public Fraction getDeterminant() {
+        return this.determinant;
+    }
+
+    /**
+     * Solves the system Ax = b, where A is the decomposed matrix, by forward substitution with L and back substitution
+     * with U: O(n^2) for every column of b.
+     *
+     * @param b Matrix of the constant terms, with the same rows of A.
+     * @return The solution x, with the same dimensions of b. Null if A isn't square or is singular, or if b hasn't the
+     * same rows of A.
+     */
+    public FractionMatrix solve(FractionMatrix b) {
+        int n = this.getRows();
+        if (!this.lu.isSquare() || this.isSingular() || b.getRows() != n)
+            return null;
+        int m = b.getColumns();
+        FractionMatrix x = new FractionMatrix(n, m);
+        FractionAccumulator acc = new FractionAccumulator();
+        for (int j = 0; j < m; j++) {
+            for (int i = 0; i < n; i++) { // Ly = Pb
+                int rowI = this.lu.rowOffset(i);
+                acc.set(b, b.rowOffset(this.permutation[i]) + j);
+                for (int k = 0; k < i; k++) {
+                    acc.subProduct(this.lu, rowI + k, x, x.rowOffset(k) + j);
+                }
+                acc.store(x, x.rowOffset(i) + j);
+            }
+            for (int i = n - 1; i >= 0; i--) { // Ux = y
+                int rowI = this.lu.rowOffset(i);
+                acc.set(x, x.rowOffset(i) + j);
+                for (int k = i + 1; k < n; k++) {
+                    acc.subProduct(this.lu, rowI + k, x, x.rowOffset(k) + j);
+                }
+                acc.divide(this.lu.get(rowI + i));
+                acc.store(x, x.rowOffset(i) + j);
+            }
+        }
+        return x;
+    }
+
+    /**
+     * Computes the inverse solving AX = I.
+     *
+     * @return The inverse of the decomposed matrix, null if it isn't square or is singular.
+     */
+    public FractionMatrix getInverse() {
+        if (!this.lu.isSquare() || this.isSingular())
+            return null;
+        int n = this.getRows();
+        FractionMatrix identity = new FractionMatrix(n, n);
+        for (int i = 0; i < n; i++) {
+            identity.set(i, i, Fraction.ONE);
+        }
+        return this.solve(identity);
+    }
+}
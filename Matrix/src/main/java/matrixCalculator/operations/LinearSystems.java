@@ -0,0 +1,281 @@
+package matrixCalculator.operations;
+
+import matrixCalculator.numberDataTypes.BigFraction;
+import matrixCalculator.numberDataTypes.Fraction;
+import matrixCalculator.numberDataTypes.FractionMatrix;
+import matrixCalculator.operations.ModularMatrixOperations.Modulus;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Exact solution of linear systems Ax = b with a square matrix of coefficients, also with more columns of constant
+ * terms (every column is a system with the same coefficients).
+ * Every equation is first multiplied by the least common multiple of its denominators, so the system has integer
+ * coefficients and the same solutions.
+ * Small systems are solved with the fraction-free Gauss-Jordan elimination. Greater systems are solved with the
+ * p-adic lifting of Dixon: A is inverted only once modulo a prime p, then every step computes the next p-adic digit
+ * of the solution and divides the residual by p, so the values never grow. Once p^k exceeds the Cramer bound of the
+ * solution, every element is recovered from its residue modulo p^k by rational reconstruction.
+ * If the coefficients have already been decomposed by {@link LUDecomposition} the system is solved by substitution.
+ */
+
+public class LinearSystems {
+
+    /**
+     * Order from which the p-adic lifting is used instead of the elimination.
+     */
+    public static final int DIXON_THRESHOLD = 8;
+
+    /**
+     * Solves the system Ax = b.
+     *
+     * @param a Square Fraction matrix of the coefficients.
+     * @param b Fraction matrix of the constant terms, with the same rows of a.
+     * @return The solution x, with the same dimensions of b. Null if the system isn't valid or a is singular, so the
+     * solution isn't unique or doesn't exist.
+     */
+    public static Fraction[][] solve(Fraction[][] a, Fraction[][] b) {
+        if (!isSystemValid(a, b))
+            return null;
+        LUDecomposition lu = LUDecomposition.cached(FractionMatrix.of(a));
+        if (lu != null) { // The coefficients have already been decomposed, only the substitutions are needed
+            FractionMatrix x = lu.solve(FractionMatrix.of(b));
+            return x == null ? null : x.toArray();
+        }
+        int n = a.length;
+        int m = b[0].length;
+        BigInteger[][] system = toIntegerRows(a, b);
+        if (n < DIXON_THRESHOLD)
+            return solveByElimination(system, n, m);
+        return solveByLifting(system, n, m);
+    }
+
+    /**
+     * Checks if a system has at least one solution: by the Rouche-Capelli theorem, if the rank of the coefficients is
+     * the rank of the augmented matrix [A|b].
+     *
+     * @param a Square Fraction matrix of the coefficients.
+     * @param b Fraction matrix of the constant terms, with the same rows of a.
+     * @return true if every column of constant terms gives a system with solutions, false also if the system isn't
+     * valid.
+     */
+    public static boolean isConsistent(Fraction[][] a, Fraction[][] b) {
+        if (!isSystemValid(a, b))
+            return false;
+        Fraction[][] augmented = new Fraction[a.length][];
+        for (int i = 0; i < a.length; i++) {
+            augmented[i] = Arrays.copyOf(a[i], a[i].length + b[i].length);
+            System.arraycopy(b[i], 0, augmented[i], a[i].length, b[i].length);
+        }
+        return UnaryOperations.computeRank(a) == UnaryOperations.computeRank(augmented);
+    }
+
+    /**
+     * Checks if the system with the given coefficients and constant terms can be solved.
+     */
+    public static boolean isSystemValid(Fraction[][] a, Fraction[][] b) {
+        if (a == null || b == null)
+            return false;
+        return a.length == a[0].length && a.length == b.length;
+    }
+
+    /**
+     * Multiplies every equation by the least common multiple of its denominators.
+     *
+     * @return The augmented matrix [A|b] with integer elements.
+     */
+    private static BigInteger[][] toIntegerRows(Fraction[][] a, Fraction[][] b) {
+        int n = a.length;
+        int m = b[0].length;
+        BigInteger[][] system = new BigInteger[n][n + m];
+        for (int i = 0; i < n; i++) {
+            BigInteger lcm = BigInteger.ONE;
+            for (int j = 0; j < n + m; j++) {
+                BigInteger d = (j < n ? a[i][j] : b[i][j - n]).getBigDenominator();
+                lcm = lcm.divide(lcm.gcd(d)).multiply(d);
+            }
+            for (int j = 0; j < n + m; j++) {
+                Fraction f = j < n ? a[i][j] : b[i][j - n];
+                system[i][j] = f.getBigNumerator().multiply(lcm.divide(f.getBigDenominator()));
+            }
+        }
+        return system;
+    }
+
+    /**
+     * Fraction-free Gauss-Jordan elimination: every step replaces all the rows but the pivot one with 2x2 minors
+     * divided by the previous pivot, the division is always exact. At the end every element of the diagonal is the
+     * determinant d (up to the sign) and the constant terms are d * x.
+     */
+    private static Fraction[][] solveByElimination(BigInteger[][] system, int n, int m) {
+        BigInteger prevPivot = BigInteger.ONE;
+        for (int k = 0; k < n; k++) {
+            int p = k;
+            while (p < n && system[p][k].signum() == 0)
+                p++;
+            if (p == n) // Null column, the matrix is singular
+                return null;
+            BigInteger[] tmp = system[k];
+            system[k] = system[p];
+            system[p] = tmp;
+            BigInteger pivot = system[k][k];
+            for (int i = 0; i < n; i++) {
+                if (i == k)
+                    continue;
+                for (int j = 0; j < n + m; j++) {
+                    if (j == k)
+                        continue;
+                    system[i][j] = system[i][j].multiply(pivot).subtract(system[i][k].multiply(system[k][j]))
+                            .divide(prevPivot);
+                }
+                system[i][k] = BigInteger.ZERO;
+            }
+            prevPivot = pivot;
+        }
+        Fraction[][] x = new Fraction[n][m];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < m; j++) {
+                x[i][j] = Fraction.toFraction(new BigFraction(system[i][n + j], system[i][i]));
+            }
+        }
+        return x;
+    }
+
+    /**
+     * p-adic lifting of Dixon.
+     */
+    private static Fraction[][] solveByLifting(BigInteger[][] system, int n, int m) {
+        Modulus modulus = ModularMatrixOperations.moduli(1).get(0);
+        long[] inverse = inverseModulo(system, n, modulus);
+        if (inverse == null) // Singular modulo p, rarely if A isn't singular: the elimination decides
+            return solveByElimination(system, n, m);
+        BigInteger p = BigInteger.valueOf(modulus.p);
+        // By Cramer's rule every element is a ratio of determinants, both bounded by the Hadamard bound of [A|b]
+        double bits = 0;
+        for (BigInteger[] row : system) { // The norm of a row is at most sqrt(n + m) times its greatest element
+            int maxBits = 0;
+            for (BigInteger x : row) {
+                maxBits = Math.max(maxBits, x.bitLength());
+            }
+            bits += maxBits + 0.5 * Math.log(n + m) / Math.log(2);
+        }
+        int steps = (int) Math.ceil((2 * bits + 2) / (p.bitLength() - 1)); // p^steps > 2 * numerator * denominator
+
+        BigInteger[][] residual = new BigInteger[n][m];
+        BigInteger[][] solution = new BigInteger[n][m]; // Sum of the digits, modulo p^steps
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < m; j++) {
+                residual[i][j] = system[i][n + j];
+                solution[i][j] = BigInteger.ZERO;
+            }
+        }
+        long[] r = new long[n];
+        long[] digit = new long[n];
+        BigInteger power = BigInteger.ONE; // p^step
+        for (int step = 0; step < steps; step++) {
+            for (int j = 0; j < m; j++) {
+                for (int i = 0; i < n; i++) {
+                    r[i] = modulus.toMontgomery(residual[i][j].mod(p).longValue());
+                }
+                for (int i = 0; i < n; i++) { // digit = A^-1 * residual mod p
+                    long sum = 0;
+                    for (int k = 0; k < n; k++) {
+                        sum = modulus.add(sum, modulus.multiply(inverse[i * n + k], r[k]));
+                    }
+                    digit[i] = modulus.fromMontgomery(sum);
+                    solution[i][j] = solution[i][j].add(power.multiply(BigInteger.valueOf(digit[i])));
+                }
+                for (int i = 0; i < n; i++) { // residual = (residual - A * digit) / p, the division is exact
+                    BigInteger sum = residual[i][j];
+                    for (int k = 0; k < n; k++) {
+                        if (digit[k] != 0)
+                            sum = sum.subtract(system[i][k].multiply(BigInteger.valueOf(digit[k])));
+                    }
+                    residual[i][j] = sum.divide(p);
+                }
+            }
+            power = power.multiply(p);
+        }
+        Fraction[][] x = new Fraction[n][m];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < m; j++) {
+                x[i][j] = reconstruct(solution[i][j], power);
+                if (x[i][j] == null) // Never with a correct bound, the elimination is always exact
+                    return solveByElimination(system, n, m);
+            }
+        }
+        return x;
+    }
+
+    /**
+     * Inverts the matrix of the coefficients modulo a prime with the Gauss-Jordan elimination.
+     *
+     * @return The inverse in row-major order with values in Montgomery form, null if the matrix is singular modulo p.
+     */
+    private static long[] inverseModulo(BigInteger[][] system, int n, Modulus modulus) {
+        BigInteger prime = BigInteger.valueOf(modulus.p);
+        int c = 2 * n; // Columns of the augmented matrix
+        long[] a = new long[n * c];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                a[i * c + j] = modulus.toMontgomery(system[i][j].mod(prime).longValue());
+            }
+            a[i * c + n + i] = modulus.one;
+        }
+        for (int k = 0; k < n; k++) {
+            int p = k;
+            while (p < n && a[p * c + k] == 0)
+                p++;
+            if (p == n) // No pivot in the column
+                return null;
+            for (int j = 0; p != k && j < c; j++) {
+                long t = a[k * c + j];
+                a[k * c + j] = a[p * c + j];
+                a[p * c + j] = t;
+            }
+            long inv = modulus.inverse(a[k * c + k]);
+            for (int j = k; j < c; j++) {
+                a[k * c + j] = modulus.multiply(a[k * c + j], inv);
+            }
+            for (int i = 0; i < n; i++) {
+                long x = a[i * c + k];
+                if (i == k || x == 0)
+                    continue;
+                for (int j = k; j < c; j++) {
+                    a[i * c + j] = modulus.sub(a[i * c + j], modulus.multiply(x, a[k * c + j]));
+                }
+            }
+        }
+        long[] inverse = new long[n * n];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(a, i * c + n, inverse, i * n, n);
+        }
+        return inverse;
+    }
+
+    /**
+     * Rational reconstruction: finds the fraction a/b congruent to u modulo m with |a| and b not greater than
+     * sqrt(m / 2), with the extended Euclidean algorithm stopped halfway.
+     *
+     * @return The fraction, null if it doesn't exist.
+     */
+    private static Fraction reconstruct(BigInteger u, BigInteger m) {
+        BigInteger bound = m.shiftRight(1).sqrt();
+        BigInteger r0 = m;
+        BigInteger r1 = u.mod(m);
+        BigInteger s0 = BigInteger.ZERO;
+        BigInteger s1 = BigInteger.ONE;
+        while (r1.compareTo(bound) > 0) {
+            BigInteger[] qr = r0.divideAndRemainder(r1);
+            r0 = r1;
+            r1 = qr[1];
+            BigInteger s = s0.subtract(qr[0].multiply(s1));
+            s0 = s1;
+            s1 = s;
+        }
+        if (s1.abs().compareTo(bound) > 0 || !r1.gcd(s1).equals(BigInteger.ONE))
+            return null;
+        return Fraction.toFraction(new BigFraction(r1, s1));
+    }
+}
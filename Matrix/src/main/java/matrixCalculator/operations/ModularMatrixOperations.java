@@ -0,0 +1,306 @@
+package matrixCalculator.operations;
+
+import matrixCalculator.numberDataTypes.BigFraction;
+import matrixCalculator.numberDataTypes.Fraction;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Multi-modular determinant and rank of integer matrices memorized as flat row-major long arrays.
+ * The matrix is eliminated modulo several primes of 62 bits, where the values never grow, and the exact result is
+ * reconstructed with the Chinese Remainder Theorem: enough primes are used so that their product exceeds twice the
+ * Hadamard bound of the result. The primes are computed in parallel by the common ForkJoinPool.
+ * Modular products use the Montgomery reduction, so no division is needed in the inner loops.
+ * The primes and their arithmetic are shared with {@link LinearSystems}.
+ */
+
+class ModularMatrixOperations {
+
+    /**
+     * Every prime is greater than 2^PRIME_BITS, so every prime adds at least PRIME_BITS bits to the modulus.
+     */
+    private static final int PRIME_BITS = 61;
+    /**
+     * Order from which the primes are computed in parallel.
+     */
+    private static final int PARALLEL_THRESHOLD = 16;
+    /**
+     * Primes found so far, in decreasing order from 2^62.
+     */
+    private static final List<Modulus> MODULI = new ArrayList<>();
+
+    /**
+     * Arithmetic modulo an odd prime lower than 2^62, with values in Montgomery form x * 2^64 mod p.
+     */
+    static final class Modulus {
+
+        /**
+         * The prime.
+         */
+        final long p;
+        /**
+         * -p^-1 mod 2^64.
+         */
+        private final long pNeg;
+        /**
+         * 2^128 mod p, to convert values in Montgomery form.
+         */
+        private final long r2;
+        /**
+         * 1 in Montgomery form.
+         */
+        final long one;
+
+        Modulus(long p) {
+            this.p = p;
+            long inv = p; // Correct modulo 2^3 for every odd p, every Newton step doubles the correct bits
+            for (int i = 0; i < 5; i++) {
+                inv *= 2 - p * inv;
+            }
+            this.pNeg = -inv;
+            this.r2 = BigInteger.ONE.shiftLeft(128).mod(BigInteger.valueOf(p)).longValue();
+            this.one = this.toMontgomery(1);
+        }
+
+        /**
+         * @return (high * 2^64 + low) * 2^-64 mod p, for a value lower than p * 2^64.
+         */
+        long reduce(long high, long low) {
+            long m = low * this.pNeg; // low + m * p is a multiple of 2^64
+            long mpHigh = Math.multiplyHigh(m, this.p) + ((m >> 63) & this.p); // Unsigned high word of m * p
+            long t = high + mpHigh + (low != 0 ? 1 : 0); // Lower than 2p
+            return t >= this.p ? t - this.p : t;
+        }
+
+        long multiply(long x, long y) {
+            return this.reduce(Math.multiplyHigh(x, y), x * y);
+        }
+
+        long add(long x, long y) {
+            long s = x + y;
+            return s >= this.p ? s - this.p : s;
+        }
+
+        long sub(long x, long y) {
+            long d = x - y;
+            return d < 0 ? d + this.p : d;
+        }
+
+        long toMontgomery(long x) {
+            return this.multiply(Math.floorMod(x, this.p), this.r2);
+        }
+
+        long fromMontgomery(long x) {
+            return this.reduce(0, x);
+        }
+
+        /**
+         * @return The inverse of a not null value in Montgomery form, x^(p-2) by Fermat's little theorem.
+         */
+        long inverse(long x) {
+            long result = this.one;
+            for (long e = this.p - 2; e != 0; e >>>= 1) {
+                if ((e & 1) == 1)
+                    result = this.multiply(result, x);
+                x = this.multiply(x, x);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Provides the first count primes, finding the missing ones.
+     */
+    static synchronized List<Modulus> moduli(int count) {
+        long candidate = MODULI.isEmpty() ? (1L << 62) - 1 : MODULI.get(MODULI.size() - 1).p - 2;
+        while (MODULI.size() < count) {
+            if (BigInteger.valueOf(candidate).isProbablePrime(100))
+                MODULI.add(new Modulus(candidate));
+            candidate -= 2;
+        }
+        return new ArrayList<>(MODULI.subList(0, count));
+    }
+
+    /**
+     * Bits of the Hadamard bound of a minor: the product of the Euclidean norms of its rows, which are not greater than
+     * the norms of the whole rows of the matrix.
+     *
+     * @param order Order of the minor, the norms of the greatest rows are used.
+     * @return Upper bound of log2 of the absolute value of every minor of the given order.
+     */
+    private static double hadamardBits(long[] matrix, int rows, int columns, int order) {
+        double[] bits = new double[rows];
+        for (int i = 0; i < rows; i++) {
+            double sum = 0;
+            for (int j = 0; j < columns; j++) {
+                double x = matrix[i * columns + j];
+                sum += x * x;
+            }
+            bits[i] = sum <= 1 ? 0 : 0.5 * Math.log(sum) / Math.log(2);
+        }
+        Arrays.sort(bits);
+        double total = 0;
+        for (int i = rows - order; i < rows; i++) {
+            total += bits[i];
+        }
+        return total;
+    }
+
+    /**
+     * @return Number of primes whose product is greater than 2^bits.
+     */
+    private static int primesFor(double bits) {
+        return (int) Math.ceil((bits + 1) / PRIME_BITS); // One more bit absorbs the rounding of the logarithms
+    }
+
+    /**
+     * Computes the determinant of a square integer matrix. If the Hadamard bound fits in a long every minor does, so
+     * the Bareiss elimination with long arithmetic of {@link IntegerMatrixOperations} is used, otherwise the
+     * determinant is reconstructed from its residues modulo enough primes.
+     *
+     * @param matrix Square matrix, n x n elements.
+     * @param n      Order of the matrix.
+     * @return The determinant.
+     */
+    static Fraction computeDeterminant(long[] matrix, int n) {
+        double bits = hadamardBits(matrix, n, n, n);
+        if (bits < 62) {
+            Fraction det = IntegerMatrixOperations.computeDeterminant(matrix, n);
+            if (det != null)
+                return det;
+        }
+        List<Modulus> moduli = moduli(primesFor(bits + 1)); // One more bit for the sign
+        IntStream indexes = IntStream.range(0, moduli.size());
+        if (n >= PARALLEL_THRESHOLD)
+            indexes = indexes.parallel();
+        long[] residues = indexes.mapToLong(i -> determinantModulo(matrix, n, moduli.get(i))).toArray();
+        // Incremental reconstruction: x is the determinant modulo the product of the primes used so far
+        BigInteger x = BigInteger.valueOf(residues[0]);
+        BigInteger product = BigInteger.valueOf(moduli.get(0).p);
+        for (int i = 1; i < residues.length; i++) {
+            BigInteger p = BigInteger.valueOf(moduli.get(i).p);
+            BigInteger t = BigInteger.valueOf(residues[i]).subtract(x).multiply(product.modInverse(p)).mod(p);
+            x = x.add(product.multiply(t));
+            product = product.multiply(p);
+        }
+        if (x.shiftLeft(1).compareTo(product) > 0) // Symmetric representation, the determinant can be negative
+            x = x.subtract(product);
+        return Fraction.toFraction(new BigFraction(x, BigInteger.ONE));
+    }
+
+    /**
+     * Computes the rank of an integer matrix. The rank modulo a prime is never greater than the rank, and it is lower
+     * only if the prime divides every minor of maximum order, so the greatest rank modulo primes whose product exceeds
+     * the Hadamard bound of those minors is exact. A full rank found with the first prime is the result.
+     *
+     * @param matrix  Matrix, rows x columns elements.
+     * @param rows    Number of rows.
+     * @param columns Number of columns.
+     * @return The rank of the matrix.
+     */
+    static int computeRank(long[] matrix, int rows, int columns) {
+        int maxRank = Math.min(rows, columns);
+        int rank = rankModulo(matrix, rows, columns, moduli(1).get(0));
+        if (rank == maxRank)
+            return rank;
+        List<Modulus> moduli = moduli(primesFor(hadamardBits(matrix, rows, columns, maxRank)));
+        IntStream indexes = IntStream.range(1, moduli.size());
+        if (maxRank >= PARALLEL_THRESHOLD)
+            indexes = indexes.parallel();
+        return Math.max(rank, indexes.map(i -> rankModulo(matrix, rows, columns, moduli.get(i))).max().orElse(0));
+    }
+
+    /**
+     * @return true if the square integer matrix is singular, with the rank computed by {@link #computeRank}.
+     */
+    static boolean isSingular(long[] matrix, int n) {
+        return computeRank(matrix, n, n) < n;
+    }
+
+    /**
+     * @return Copy of the matrix with every element in Montgomery form modulo the given prime.
+     */
+    private static long[] reduce(long[] matrix, Modulus modulus) {
+        long[] m = new long[matrix.length];
+        for (int i = 0; i < m.length; i++) {
+            m[i] = modulus.toMontgomery(matrix[i]);
+        }
+        return m;
+    }
+
+    /**
+     * Computes the determinant modulo a prime with the Gaussian elimination, as the product of the pivots.
+     */
+    private static long determinantModulo(long[] matrix, int n, Modulus modulus) {
+        long[] m = reduce(matrix, modulus);
+        long det = modulus.one;
+        for (int k = 0; k < n; k++) {
+            int p = k;
+            while (p < n && m[p * n + k] == 0)
+                p++;
+            if (p == n) // Null column, singular modulo the prime
+                return 0;
+            if (p != k) {
+                swapRows(m, n, k, p);
+                det = modulus.sub(0, det);
+            }
+            det = modulus.multiply(det, m[k * n + k]);
+            eliminateBelow(m, n, n, k, k, modulus);
+        }
+        return modulus.fromMontgomery(det);
+    }
+
+    /**
+     * Computes the rank modulo a prime with the Gaussian elimination, as the number of pivots.
+     */
+    private static int rankModulo(long[] matrix, int rows, int columns, Modulus modulus) {
+        long[] m = reduce(matrix, modulus);
+        int row = 0;
+        for (int column = 0; column < columns && row < rows; column++) {
+            int p = row;
+            while (p < rows && m[p * columns + column] == 0)
+                p++;
+            if (p == rows) // Null column under the actual row
+                continue;
+            swapRows(m, columns, row, p);
+            eliminateBelow(m, rows, columns, row, column, modulus);
+            row++;
+        }
+        return row;
+    }
+
+    /**
+     * Nullifies the elements of the pivot column under the pivot, subtracting multiples of the pivot row.
+     */
+    private static void eliminateBelow(long[] m, int rows, int columns, int pivotRow, int column, Modulus modulus) {
+        int rowP = pivotRow * columns;
+        long inverse = modulus.inverse(m[rowP + column]);
+        for (int i = pivotRow + 1; i < rows; i++) {
+            int rowI = i * columns;
+            if (m[rowI + column] == 0)
+                continue;
+            long x = modulus.multiply(m[rowI + column], inverse);
+            for (int j = column + 1; j < columns; j++) {
+                m[rowI + j] = modulus.sub(m[rowI + j], modulus.multiply(x, m[rowP + j]));
+            }
+            m[rowI + column] = 0;
+        }
+    }
+
+    /**
+     * Switches two rows of a matrix.
+     */
+    private static void swapRows(long[] m, int columns, int i, int j) {
+        if (i == j)
+            return;
+        for (int k = 0; k < columns; k++) {
+            long t = m[i * columns + k];
+            m[i * columns + k] = m[j * columns + k];
+            m[j * columns + k] = t;
+        }
+    }
+}
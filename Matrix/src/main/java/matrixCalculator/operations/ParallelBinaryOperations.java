@@ -0,0 +1,234 @@
+package matrixCalculator.operations;
+
+import matrixCalculator.numberDataTypes.Fraction;
+import matrixCalculator.numberDataTypes.FractionAccumulator;
+import matrixCalculator.numberDataTypes.FractionMatrix;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Manages operations with two Fraction matrices like {@link BinaryOperations}, splitting the rows of the result in
+ * blocks computed by the threads of a ForkJoinPool.
+ * A block is split in two halves until its work is under a threshold, then it is computed sequentially.
+ * The pool created for a given parallelism is shut down by close(), the common pool and the pools of the caller are
+ * left running.
+ */
+
+public class ParallelBinaryOperations implements AutoCloseable {
+
+    /**
+     * Number of element operations (multiplications and additions) under which a block is computed sequentially.
+     */
+    public static final int SEQUENTIAL_THRESHOLD = 1 << 14;
+
+    /**
+     * Pool whose threads compute the blocks.
+     */
+    private final ForkJoinPool pool;
+    /**
+     * true if the pool has been created by this object, so it has to be shut down by close().
+     */
+    private final boolean ownsPool;
+
+    /**
+     * Uses the common pool, with as many threads as the available processors.
+     */
+    public ParallelBinaryOperations() {
+        this(ForkJoinPool.commonPool(), false);
+    }
+
+    /**
+     * Creates a pool, which is shut down by close().
+     *
+     * @param parallelism Number of threads, greater than 0.
+     */
+    public ParallelBinaryOperations(int parallelism) {
+        this(new ForkJoinPool(parallelism), true);
+    }
+
+    /**
+     * @param pool Pool of the caller, which isn't shut down by close().
+     */
+    public ParallelBinaryOperations(ForkJoinPool pool) {
+        this(pool, false);
+    }
+
+    private ParallelBinaryOperations(ForkJoinPool pool, boolean ownsPool) {
+        if (pool == null)
+            throw new IllegalArgumentException("The pool can't be null");
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+    }
+
+    /**
+     * Shuts down the pool if it has been created by this object, the operations already submitted are completed.
+     */
+    @Override
+    public void close() {
+        if (this.ownsPool)
+            this.pool.shutdown();
+    }
+
+    /**
+     * @return Number of threads of the pool.
+     */
+    public int getParallelism() {
+        return this.pool.getParallelism();
+    }
+
+    /**
+     * Computes a block of rows of a result, from the first row included to the last excluded.
+     */
+    @FunctionalInterface
+    private interface RowBlock {
+        void compute(int rowFrom, int rowTo);
+    }
+
+    /**
+     * Splits a range of rows in halves until the work of a half is under the threshold.
+     */
+    private static class RowTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final RowBlock block;
+        private final int rowFrom;
+        private final int rowTo;
+        private final long workPerRow; // Element operations needed by a single row
+
+        RowTask(RowBlock block, int rowFrom, int rowTo, long workPerRow) {
+            this.block = block;
+            this.rowFrom = rowFrom;
+            this.rowTo = rowTo;
+            this.workPerRow = workPerRow;
+        }
+
+        @Override
+        protected void compute() {
+            int rows = this.rowTo - this.rowFrom;
+            if (rows <= 1 || rows * this.workPerRow <= SEQUENTIAL_THRESHOLD) {
+                this.block.compute(this.rowFrom, this.rowTo);
+                return;
+            }
+            int middle = this.rowFrom + rows / 2;
+            invokeAll(new RowTask(this.block, this.rowFrom, middle, this.workPerRow),
+                    new RowTask(this.block, middle, this.rowTo, this.workPerRow));
+        }
+    }
+
+    /**
+     * Computes all the rows of a result with the threads of the pool.
+     */
+    private void computeRows(RowBlock block, int rows, long workPerRow) {
+        this.pool.invoke(new RowTask(block, 0, rows, workPerRow));
+    }
+
+    /**
+     * Multiply two matrices.
+     *
+     * @param matrix1 Fraction matrix. Number of columns must be the same of number of rows of the second one.
+     * @param matrix2 Fraction matrix. Number of rows must be the same of number of columns of the first one.
+     * @return Matrix results of the product of matrix1 by matrix2, null if conditions are not observed.
+     */
+    public Fraction[][] multiply(Fraction[][] matrix1, Fraction[][] matrix2) {
+
+        if (!BinaryOperations.isMultiplicationValid(matrix1, matrix2))
+            return null;
+        return this.multiply(FractionMatrix.of(matrix1), FractionMatrix.of(matrix2)).toArray();
+    }
+
+    /**
+     * Multiply two matrices memorized as flat arrays, every block of rows is computed with the cache-blocked kernel.
+     *
+     * @param matrix1 Fraction matrix. Number of columns must be the same of number of rows of the second one.
+     * @param matrix2 Fraction matrix. Number of rows must be the same of number of columns of the first one.
+     * @return Matrix results of the product of matrix1 by matrix2, null if conditions are not observed.
+     */
+    public FractionMatrix multiply(FractionMatrix matrix1, FractionMatrix matrix2) {
+
+        if (!BinaryOperations.isMultiplicationValid(matrix1, matrix2))
+            return null;
+        FractionMatrix matrix3 = new FractionMatrix(matrix1.getRows(), matrix2.getColumns());
+        this.computeRows((from, to) -> TiledMultiplication.multiplyRows(matrix1, matrix2, matrix3, from, to,
+                TiledMultiplication.DEFAULT_BLOCK_SIZE),
+                matrix1.getRows(), (long) matrix2.getRows() * matrix2.getColumns());
+        return matrix3;
+    }
+
+    /**
+     * Subtract two matrices.
+     *
+     * @param matrix1 Fraction matrix. Number of rows must be the same of number of rows of the second one.
+     * @param matrix2 Fraction matrix. Number of columns must be the same of number of columns of the first one.
+     * @return Matrix result of matrix1 minus matrix2, null if conditions are not observed.
+     */
+    public Fraction[][] sub(Fraction[][] matrix1, Fraction[][] matrix2) {
+
+        if (!BinaryOperations.isSubAddValid(matrix1, matrix2))
+            return null;
+        int c = matrix1[0].length;
+        Fraction[][] matrix3 = new Fraction[matrix1.length][c];
+        this.computeRows((from, to) -> {
+            FractionAccumulator acc = new FractionAccumulator();
+            for (int i = from; i < to; i++) {
+                for (int j = 0; j < c; j++) {
+                    acc.set(matrix1[i][j]);
+                    acc.sub(matrix2[i][j]);
+                    matrix3[i][j] = acc.toFraction();
+                }
+            }
+        }, matrix1.length, c);
+        return matrix3;
+    }
+
+    /**
+     * Add two matrices.
+     *
+     * @param matrix1 Fraction matrix. Number of rows must be the same of number of rows of the second one.
+     * @param matrix2 Fraction matrix. Number of columns must be the same of number of columns of the first one.
+     * @return Matrix result of matrix1 plus matrix2, null if conditions are not observed.
+     */
+    public Fraction[][] add(Fraction[][] matrix1, Fraction[][] matrix2) {
+
+        if (!BinaryOperations.isSubAddValid(matrix1, matrix2))
+            return null;
+        int c = matrix1[0].length;
+        Fraction[][] matrix3 = new Fraction[matrix1.length][c];
+        this.computeRows((from, to) -> {
+            FractionAccumulator acc = new FractionAccumulator();
+            for (int i = from; i < to; i++) {
+                for (int j = 0; j < c; j++) {
+                    acc.set(matrix1[i][j]);
+                    acc.add(matrix2[i][j]);
+                    matrix3[i][j] = acc.toFraction();
+                }
+            }
+        }, matrix1.length, c);
+        return matrix3;
+    }
+
+    /**
+     * Multiplies a matrix by a Fraction scalar.
+     *
+     * @param matrix Can be any Fraction matrix.
+     * @param scalar Fraction number by which multiplying the matrix.
+     * @return Matrix result of the product of matrix by the scalar.
+     */
+    public Fraction[][] multiplyByScalar(Fraction[][] matrix, Fraction scalar) {
+
+        int c = matrix[0].length;
+        Fraction[][] matrixRes = new Fraction[matrix.length][c];
+        this.computeRows((from, to) -> {
+            FractionAccumulator acc = new FractionAccumulator();
+            for (int i = from; i < to; i++) {
+                for (int j = 0; j < c; j++) {
+                    acc.set(matrix[i][j]);
+                    acc.multiply(scalar);
+                    matrixRes[i][j] = acc.toFraction();
+                }
+            }
+        }, matrix.length, c);
+        return matrixRes;
+    }
+}
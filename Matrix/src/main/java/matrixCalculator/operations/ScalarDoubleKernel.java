@@ -0,0 +1,36 @@
+package matrixCalculator.operations;
+
+/**
+ * Plain loops on the arrays, available on every JDK.
+ */
+
+class ScalarDoubleKernel implements DoubleKernel {
+
+    @Override
+    public void multiplyAdd(double[] z, int zFrom, double x, double[] y, int yFrom, int length) {
+        for (int i = 0; i < length; i++) {
+            z[zFrom + i] += x * y[yFrom + i];
+        }
+    }
+
+    @Override
+    public void add(double[] x, double[] y, double[] z) {
+        for (int i = 0; i < z.length; i++) {
+            z[i] = x[i] + y[i];
+        }
+    }
+
+    @Override
+    public void sub(double[] x, double[] y, double[] z) {
+        for (int i = 0; i < z.length; i++) {
+            z[i] = x[i] - y[i];
+        }
+    }
+
+    @Override
+    public void multiplyByScalar(double[] x, double scalar, double[] z) {
+        for (int i = 0; i < z.length; i++) {
+            z[i] = x[i] * scalar;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package matrixCalculator.operations;
+
+import matrixCalculator.numberDataTypes.FractionAccumulator;
+import matrixCalculator.numberDataTypes.FractionMatrix;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Memorizes the chain of squares A, A^2, A^4, A^8... of a square matrix, computed only when requested.
+ * Used by the exponentiation by squaring, so that following powers of the same matrix reuse the squares already computed.
+ * If the matrix is triangular, every product skips the elements known to be 0.
+ * A chain can be shared by different threads: the squares are added only while holding the lock of the chain.
+ */
+class SquareChain {
+
+    /**
+     * Copy of the matrix whose squares are memorized.
+     */
+    private final FractionMatrix base;
+    /**
+     * true if the base is upper triangular, so are all its powers.
+     */
+    private final boolean upper;
+    /**
+     * true if the base is lower triangular, so are all its powers.
+     */
+    private final boolean lower;
+    /**
+     * The element k is the base raised to 2^k.
+     */
+    private final List<FractionMatrix> squares = new ArrayList<>();
+
+    /**
+     * @param base Any square matrix, it is copied.
+     */
+    SquareChain(FractionMatrix base) {
+        this.base = base.copy();
+        this.upper = base.isUpperTriangular();
+        this.lower = base.isLowerTriangular();
+        this.squares.add(this.base);
+    }
+
+    /**
+     * @param matrix Any matrix.
+     * @return true if the chain memorizes the squares of the given matrix.
+     */
+    boolean isChainOf(FractionMatrix matrix) {
+        return this.base.equals(matrix);
+    }
+
+    /**
+     * Provides the base raised to 2^k, computing the missing squares.
+     * The returned matrix is shared and must not be modified.
+     *
+     * @param k Any non negative integer.
+     * @return The base raised to 2^k.
+     */
+    synchronized FractionMatrix getSquare(int k) {
+        while (this.squares.size() <= k) {
+            FractionMatrix last = this.squares.get(this.squares.size() - 1);
+            this.squares.add(this.multiply(last, last));
+        }
+        return this.squares.get(k);
+    }
+
+    /**
+     * Multiplies two powers of the base, if it is triangular only the not null triangle is computed.
+     *
+     * @param matrix1 A power of the base.
+     * @param matrix2 A power of the base.
+     * @return The product of the two powers.
+     */
+    FractionMatrix multiply(FractionMatrix matrix1, FractionMatrix matrix2) {
+        if (!this.upper && !this.lower)
+            return BinaryOperations.multiply(matrix1, matrix2);
+        int n = matrix1.getRows();
+        FractionMatrix result = new FractionMatrix(n, n);
+        FractionAccumulator acc = new FractionAccumulator();
+        for (int i = 0; i < n; i++) {
+            // Upper: (i, j) with j >= i depends on k in [i, j]. Lower: (i, j) with j <= i depends on k in [j, i]
+            int firstColumn = this.upper ? i : 0;
+            int lastColumn = this.lower ? i : n - 1;
+            for (int j = firstColumn; j <= lastColumn; j++) {
+                acc.reset();
+                int firstK = this.upper ? i : j;
+                int lastK = this.upper ? j : i;
+                for (int k = firstK; k <= lastK; k++) {
+                    acc.addProduct(matrix1, matrix1.rowOffset(i) + k, matrix2, matrix2.rowOffset(k) + j);
+                }
+                acc.store(result, result.rowOffset(i) + j);
+            }
+        }
+        return result;
+    }
+}
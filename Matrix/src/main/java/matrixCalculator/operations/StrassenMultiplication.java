@@ -0,0 +1,173 @@
+package matrixCalculator.operations;
+
+import matrixCalculator.numberDataTypes.FractionAccumulator;
+import matrixCalculator.numberDataTypes.FractionMatrix;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Multiplication of square matrices according to the Strassen-Winograd algorithm: every level splits the matrices in
+ * four quadrants and computes the product with 7 products of quadrants and 15 additions, instead of 8 products.
+ * Under the crossover size the quadrants are multiplied with the cache-blocked classical kernel.
+ * A matrix of odd order is padded with a row and a column of 0, which don't change the product.
+ * The 7 products of every level are computed in parallel by the common ForkJoinPool.
+ * As fractions are exact, the result is identical to the classical multiplication.
+ */
+
+public class StrassenMultiplication {
+
+    /**
+     * Order under which the classical kernel is faster than another level of recursion.
+     */
+    public static final int DEFAULT_CROSSOVER = 128;
+
+    /**
+     * Multiply two square matrices with the default crossover.
+     *
+     * @param matrix1 Square Fraction matrix of the same order of the second one.
+     * @param matrix2 Square Fraction matrix of the same order of the first one.
+     * @return Matrix results of the product of matrix1 by matrix2, null if conditions are not observed.
+     */
+    public static FractionMatrix multiply(FractionMatrix matrix1, FractionMatrix matrix2) {
+        return multiply(matrix1, matrix2, DEFAULT_CROSSOVER);
+    }
+
+    /**
+     * Multiply two square matrices.
+     *
+     * @param matrix1   Square Fraction matrix of the same order of the second one.
+     * @param matrix2   Square Fraction matrix of the same order of the first one.
+     * @param crossover Order under which the classical kernel is used, greater than 1.
+     * @return Matrix results of the product of matrix1 by matrix2, null if conditions are not observed.
+     */
+    public static FractionMatrix multiply(FractionMatrix matrix1, FractionMatrix matrix2, int crossover) {
+        if (crossover <= 1)
+            throw new IllegalArgumentException("Crossover must be greater than 1");
+        if (!BinaryOperations.isMultiplicationValid(matrix1, matrix2))
+            return null;
+        if (!matrix1.isSquare() || !matrix2.isSquare()) // Only square products are split in quadrants
+            return BinaryOperations.multiply(matrix1, matrix2);
+        return ForkJoinPool.commonPool().invoke(new ProductTask(matrix1, matrix2, crossover));
+    }
+
+    /**
+     * Computes the product of two square matrices of the same order.
+     */
+    private static class ProductTask extends RecursiveTask<FractionMatrix> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final FractionMatrix a;
+        private final FractionMatrix b;
+        private final int crossover;
+
+        ProductTask(FractionMatrix a, FractionMatrix b, int crossover) {
+            this.a = a;
+            this.b = b;
+            this.crossover = crossover;
+        }
+
+        @Override
+        protected FractionMatrix compute() {
+            int n = this.a.getRows();
+            if (n <= this.crossover)
+                return TiledMultiplication.multiply(this.a, this.b, TiledMultiplication.DEFAULT_BLOCK_SIZE);
+            int h = (n + 1) / 2; // Order of the quadrants, the last row and column are padded if n is odd
+            FractionMatrix a11 = quadrant(this.a, 0, 0, h);
+            FractionMatrix a12 = quadrant(this.a, 0, h, h);
+            FractionMatrix a21 = quadrant(this.a, h, 0, h);
+            FractionMatrix a22 = quadrant(this.a, h, h, h);
+            FractionMatrix b11 = quadrant(this.b, 0, 0, h);
+            FractionMatrix b12 = quadrant(this.b, 0, h, h);
+            FractionMatrix b21 = quadrant(this.b, h, 0, h);
+            FractionMatrix b22 = quadrant(this.b, h, h, h);
+
+            FractionMatrix s1 = add(a21, a22, false);
+            FractionMatrix s2 = add(s1, a11, true);
+            FractionMatrix s3 = add(a11, a21, true);
+            FractionMatrix s4 = add(a12, s2, true);
+            FractionMatrix t1 = add(b12, b11, true);
+            FractionMatrix t2 = add(b22, t1, true);
+            FractionMatrix t3 = add(b22, b12, true);
+            FractionMatrix t4 = add(t2, b21, true);
+
+            ProductTask[] products = {
+                    new ProductTask(a12, b21, this.crossover),
+                    new ProductTask(s4, b22, this.crossover),
+                    new ProductTask(a22, t4, this.crossover),
+                    new ProductTask(s1, t1, this.crossover),
+                    new ProductTask(s2, t2, this.crossover),
+                    new ProductTask(s3, t3, this.crossover)
+            };
+            for (ProductTask p : products) {
+                p.fork();
+            }
+            FractionMatrix p1 = new ProductTask(a11, b11, this.crossover).compute();
+            FractionMatrix p2 = products[0].join();
+            FractionMatrix p3 = products[1].join();
+            FractionMatrix p4 = products[2].join();
+            FractionMatrix p5 = products[3].join();
+            FractionMatrix p6 = products[4].join();
+            FractionMatrix p7 = products[5].join();
+
+            FractionMatrix u2 = add(p1, p6, false);
+            FractionMatrix u3 = add(u2, p7, false);
+            FractionMatrix u4 = add(u2, p5, false);
+            FractionMatrix c = new FractionMatrix(n, n);
+            setQuadrant(c, add(p1, p2, false), 0, 0);
+            setQuadrant(c, add(u4, p3, false), 0, h);
+            setQuadrant(c, add(u3, p4, true), h, 0);
+            setQuadrant(c, add(u3, p5, false), h, h);
+            return c;
+        }
+    }
+
+    /**
+     * Copies a quadrant of a square matrix, elements out of the matrix are 0.
+     */
+    private static FractionMatrix quadrant(FractionMatrix matrix, int row, int column, int h) {
+        FractionMatrix q = new FractionMatrix(h, h);
+        FractionAccumulator acc = new FractionAccumulator();
+        int n = matrix.getRows();
+        for (int i = 0; i < h && row + i < n; i++) {
+            for (int j = 0; j < h && column + j < n; j++) {
+                acc.set(matrix, matrix.rowOffset(row + i) + column + j);
+                acc.store(q, q.rowOffset(i) + j);
+            }
+        }
+        return q;
+    }
+
+    /**
+     * Copies a quadrant in a square matrix, elements out of the matrix are discarded.
+     */
+    private static void setQuadrant(FractionMatrix matrix, FractionMatrix q, int row, int column) {
+        FractionAccumulator acc = new FractionAccumulator();
+        int n = matrix.getRows();
+        int h = q.getRows();
+        for (int i = 0; i < h && row + i < n; i++) {
+            for (int j = 0; j < h && column + j < n; j++) {
+                acc.set(q, q.rowOffset(i) + j);
+                acc.store(matrix, matrix.rowOffset(row + i) + column + j);
+            }
+        }
+    }
+
+    /**
+     * Adds or subtracts two matrices of the same dimensions.
+     */
+    private static FractionMatrix add(FractionMatrix x, FractionMatrix y, boolean negative) {
+        FractionMatrix z = new FractionMatrix(x.getRows(), x.getColumns());
+        FractionAccumulator acc = new FractionAccumulator();
+        for (int i = 0; i < x.getNumerators().length; i++) {
+            acc.set(x, i);
+            if (negative)
+                acc.sub(y, i);
+            else
+                acc.add(y, i);
+            acc.store(z, i);
+        }
+        return z;
+    }
+}
@@ -0,0 +1,143 @@
+package matrixCalculator.operations;
+
+import matrixCalculator.numberDataTypes.FractionAccumulator;
+import matrixCalculator.numberDataTypes.FractionMatrix;
+
+/**
+ * Cache-blocked multiplication of matrices memorized as flat row-major arrays.
+ * The product is computed one tile of the result at a time: for every tile of the first matrix and of the second one
+ * the loops follow the order i-k-j, so the second matrix is read along its rows and the tiles stay in cache while
+ * they are reused.
+ */
+
+public class TiledMultiplication {
+
+    /**
+     * Side of the tiles if not specified, 64x64 elements of both matrices fit in the L2 cache.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 64;
+
+    /**
+     * Multiplies two fraction matrices with exact arithmetic.
+     * Every element of the result tile has its own accumulator, kept for all the tiles of the inner dimension and
+     * reduced only when the tile is stored.
+     *
+     * @param matrix1   Fraction matrix. Number of columns must be the same of number of rows of the second one.
+     * @param matrix2   Fraction matrix. Number of rows must be the same of number of columns of the first one.
+     * @param blockSize Side of the tiles, greater than 0.
+     * @return Matrix results of the product of matrix1 by matrix2.
+     */
+    public static FractionMatrix multiply(FractionMatrix matrix1, FractionMatrix matrix2, int blockSize) {
+        if (blockSize <= 0)
+            throw new IllegalArgumentException("Block size must be positive");
+        FractionMatrix matrix3 = new FractionMatrix(matrix1.getRows(), matrix2.getColumns());
+        multiplyRows(matrix1, matrix2, matrix3, 0, matrix1.getRows(), blockSize);
+        return matrix3;
+    }
+
+    /**
+     * Computes a block of rows of the product of two fraction matrices.
+     * Blocks of disjoint rows can be computed at the same time by different threads.
+     *
+     * @param matrix1   Fraction matrix. Number of columns must be the same of number of rows of the second one.
+     * @param matrix2   Fraction matrix. Number of rows must be the same of number of columns of the first one.
+     * @param matrix3   Matrix where the product is memorized, rows of matrix1 x columns of matrix2.
+     * @param rowFrom   First row of the block, included.
+     * @param rowTo     Last row of the block, excluded.
+     * @param blockSize Side of the tiles, greater than 0.
+     */
+    static void multiplyRows(FractionMatrix matrix1, FractionMatrix matrix2, FractionMatrix matrix3,
+                             int rowFrom, int rowTo, int blockSize) {
+        int rc = matrix2.getRows(); // Number columns first matrix and row second one
+        int c2 = matrix2.getColumns(); // Number columns second matrix
+        // Rows of the tile are blockSize apart, a short block of rows needs less of them
+        FractionAccumulator[] tile = new FractionAccumulator[Math.min(blockSize, rowTo - rowFrom) * blockSize];
+        for (int t = 0; t < tile.length; t++) {
+            tile[t] = new FractionAccumulator();
+        }
+        for (int ii = rowFrom; ii < rowTo; ii += blockSize) {
+            int iEnd = Math.min(ii + blockSize, rowTo);
+            for (int jj = 0; jj < c2; jj += blockSize) {
+                int jEnd = Math.min(jj + blockSize, c2);
+                for (int t = 0; t < tile.length; t++) {
+                    tile[t].reset();
+                }
+                for (int kk = 0; kk < rc; kk += blockSize) {
+                    int kEnd = Math.min(kk + blockSize, rc);
+                    for (int i = ii; i < iEnd; i++) {
+                        int row1 = matrix1.rowOffset(i);
+                        int tileRow = (i - ii) * blockSize - jj;
+                        for (int k = kk; k < kEnd; k++) {
+                            if (matrix1.isZero(row1 + k)) // The whole row k of the tile gives no contribution
+                                continue;
+                            int row2 = matrix2.rowOffset(k);
+                            for (int j = jj; j < jEnd; j++) {
+                                tile[tileRow + j].addProduct(matrix1, row1 + k, matrix2, row2 + j);
+                            }
+                        }
+                    }
+                }
+                for (int i = ii; i < iEnd; i++) {
+                    int tileRow = (i - ii) * blockSize - jj;
+                    for (int j = jj; j < jEnd; j++) {
+                        tile[tileRow + j].store(matrix3, matrix3.rowOffset(i) + j);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Multiplies two double matrices memorized as flat row-major arrays.
+     * A row of a tile of the second matrix is added to the result with a single call of {@link DoubleKernel}.
+     *
+     * @param matrix1   First matrix, r1 x rc elements.
+     * @param matrix2   Second matrix, rc x c2 elements.
+     * @param r1        Number of rows of the first matrix.
+     * @param rc        Number of columns of the first matrix and of rows of the second one.
+     * @param c2        Number of columns of the second matrix.
+     * @param blockSize Side of the tiles, greater than 0.
+     * @return The product, r1 x c2 elements in row-major order.
+     */
+    public static double[] multiply(double[] matrix1, double[] matrix2, int r1, int rc, int c2, int blockSize) {
+        return multiply(matrix1, matrix2, r1, rc, c2, blockSize, DoubleKernel.INSTANCE);
+    }
+
+    /**
+     * Multiplies two double matrices memorized as flat row-major arrays, with the given implementation of the inner
+     * loop.
+     *
+     * @param matrix1   First matrix, r1 x rc elements.
+     * @param matrix2   Second matrix, rc x c2 elements.
+     * @param r1        Number of rows of the first matrix.
+     * @param rc        Number of columns of the first matrix and of rows of the second one.
+     * @param c2        Number of columns of the second matrix.
+     * @param blockSize Side of the tiles, greater than 0.
+     * @param kernel    Implementation of the inner loop.
+     * @return The product, r1 x c2 elements in row-major order.
+     */
+    static double[] multiply(double[] matrix1, double[] matrix2, int r1, int rc, int c2, int blockSize,
+                             DoubleKernel kernel) {
+        if (blockSize <= 0)
+            throw new IllegalArgumentException("Block size must be positive");
+        double[] matrix3 = new double[Math.multiplyExact(r1, c2)];
+        for (int ii = 0; ii < r1; ii += blockSize) {
+            int iEnd = Math.min(ii + blockSize, r1);
+            for (int kk = 0; kk < rc; kk += blockSize) {
+                int kEnd = Math.min(kk + blockSize, rc);
+                for (int jj = 0; jj < c2; jj += blockSize) {
+                    int jEnd = Math.min(jj + blockSize, c2);
+                    for (int i = ii; i < iEnd; i++) {
+                        int row1 = i * rc;
+                        int row3 = i * c2;
+                        for (int k = kk; k < kEnd; k++) {
+                            kernel.multiplyAdd(matrix3, row3 + jj, matrix1[row1 + k], matrix2, k * c2 + jj,
+                                    jEnd - jj);
+                        }
+                    }
+                }
+            }
+        }
+        return matrix3;
+    }
+}
@@ -1,8 +1,8 @@
 package matrixCalculator.operations;
 
 import matrixCalculator.numberDataTypes.Fraction;
-
-import java.util.Arrays;
+import matrixCalculator.numberDataTypes.FractionMatrix;
+import matrixCalculator.operations.EliminationKernel.PivotStrategy;
 
 /**
  * <p>Manages operations e transformations on one matrix.</p>
@@ -22,9 +22,9 @@ public class UnaryOperations {
         for (int i = 0; i < order; i++) {
             for (int j = 0; j < order; j++) {
                 if (i == j)
-                    identity[i][j] = new Fraction(1, 1);
+                    identity[i][j] = Fraction.ONE;
                 else
-                    identity[i][j] = new Fraction(0, 1);
+                    identity[i][j] = Fraction.ZERO;
             }
         }
         return identity;
@@ -53,25 +53,29 @@ public class UnaryOperations {
      * @return The inverse of the matrix as parameter if the determinant is different from 0, otherwise null.
      */
     public static Fraction[][] getInverseMatrix(Fraction[][] matrix) {
-        Fraction determinant = Determinant.computeDeterminant(matrix);
-        if (determinant.equals(new Fraction(0, 1)))
+        FractionMatrix inverse = getInverseMatrix(FractionMatrix.of(matrix));
+        return inverse == null ? null : inverse.toArray();
+    }
+
+    /**
+     * Provides the inverse of the input matrix solving AX = I with its {@link LUDecomposition}, which is kept for
+     * following operations on the same matrix. Singular integer matrices not yet decomposed are detected modulo
+     * primes, without the elimination with fractions.
+     *
+     * @param matrix A square matrix.
+     * @return The inverse of the matrix as parameter if the determinant is different from 0, otherwise null.
+     */
+    public static FractionMatrix getInverseMatrix(FractionMatrix matrix) {
+        if (matrix == null || !matrix.isSquare())
             return null;
-        Fraction[][] cof = new Fraction[matrix.length][matrix.length];
-        for (int i = 0; i < matrix.length; i++) {
-            for (int j = 0; j < matrix.length; j++) {
-                int k;
-                if ((i + j) % 2 == 0)
-                    k = 1;
-                else
-                    k = -1;
-                Fraction[][] subMatrix = computeComplementaryMinor(matrix, i, j);
-                cof[i][j] = Fraction.multiply(Fraction.toFraction(k),
-                        Determinant.computeDeterminant(subMatrix));
-            }
+        LUDecomposition lu = LUDecomposition.cached(matrix);
+        if (lu == null) {
+            int n = matrix.getRows();
+            if (matrix.isIntegerMatrix() && ModularMatrixOperations.isSingular(matrix.getNumerators(), n))
+                return null; // Detected without the elimination with fractions
+            lu = LUDecomposition.of(matrix);
         }
-        Fraction mul = determinant.getInverse();
-        Fraction[][] inverse = BinaryOperations.multiplyByScalar(UnaryOperations.getTransposedMatrix(cof), mul);
-        return inverse;
+        return lu.getInverse();
     }
 
     /**
@@ -115,7 +119,7 @@ public class UnaryOperations {
             int j = 0;
             int rowZeros = 0;
             while (j < matrix[0].length) {
-                if (matrix[i][j].equals(new Fraction(0, 1))) {
+                if (matrix[i][j].isZero()) {
                     rowZeros++;
                 } else {
                     break;
@@ -143,104 +147,89 @@ public class UnaryOperations {
      * @return The Row Echelon Form of the given matrix.
      */
     public static Fraction[][] reduceToRowEchelonForm(Fraction[][] startMatrix) {
+        return reduceToRowEchelonForm(startMatrix, PivotStrategy.FIRST_NON_ZERO);
+    }
 
-        Fraction[][] matrix = copyMatrix(startMatrix);
-        int actCol = 0;
-        int actRow = 0;
-        while (!isRowEchelonForm(matrix) && actRow < matrix.length && actCol < matrix[0].length) {
-            int i = actRow;
-            int j = actCol;
-            // Finds first column with a not null element "a"
-            while (j < matrix[0].length && i < matrix.length && matrix[i][j].equals(Fraction.toFraction(0))) {
-                i = actRow;
-                while (i < matrix.length && matrix[i][j].equals(Fraction.toFraction(0))) {
-                    i++;
-                }
-                if (i < matrix.length /*&& !matrix[i][j].equals(Fraction.toFraction(0))*/)
-                    break;
-                j++;
-            }
-            // If "a" is not an element of the actual row
-            if (i != actRow) {
-                switchRows(matrix, actRow, i);
-            }
-            int k = actRow + 1;
-            while (k < matrix.length) {
-                // Nullifying all element under "a"
-                if (!matrix[k][j].equals(Fraction.toFraction(0))) {
-                    Fraction x = Fraction.divide(matrix[k][j], matrix[actRow][j]);
-                    for (int z = j; z < matrix[0].length; z++) {
-                        // Multiplies the whole row by the found scalar
-                        Fraction res = Fraction.multiply(matrix[actRow][z], x);
-                        matrix[k][z] = Fraction.sub(matrix[k][z], res);
-                    }
-                }
-                k++;
-            }
-            actCol = j + 1;
-            actRow++;
-        }
-        return matrix;
+    /**
+     * Computes the Row Echelon Form of the given matrix according to the Gaussian algorithm.
+     *
+     * @param startMatrix Any Fraction matrix.
+     * @param strategy    Strategy to choose the pivots.
+     * @return The Row Echelon Form of the given matrix.
+     */
+    public static Fraction[][] reduceToRowEchelonForm(Fraction[][] startMatrix, PivotStrategy strategy) {
+        EliminationKernel kernel = new EliminationKernel(FractionMatrix.of(startMatrix), strategy);
+        return kernel.reduceToRowEchelonForm().getMatrix().toArray();
     }
 
     /**
-     * Switches two rows of any matrix creating entirely new objects and not referring the new rows to the old ones.
+     * Computes the Reduced Row Echelon Form of the given matrix according to the Gauss-Jordan algorithm: every pivot
+     * is 1 and it is the only not null element of its column.
      *
-     * @param matrix Any matrix.
-     * @param i      Index of the first row.
-     * @param j      Index of the second row.
+     * @param startMatrix Any Fraction matrix.
+     * @return The Reduced Row Echelon Form of the given matrix.
      */
-    private static void switchRows(Fraction[][] matrix, int i, int j) {
-        Fraction[] row1 = Arrays.copyOf(matrix[i], matrix[i].length);
-        Fraction[] row2 = Arrays.copyOf(matrix[j], matrix[j].length);
-        matrix[i] = Arrays.copyOf(row2, row2.length);
-        matrix[j] = Arrays.copyOf(row1, row1.length);
+    public static Fraction[][] reduceToReducedRowEchelonForm(Fraction[][] startMatrix) {
+        EliminationKernel kernel = new EliminationKernel(FractionMatrix.of(startMatrix), PivotStrategy.FIRST_NON_ZERO);
+        return kernel.reduceToReducedRowEchelonForm().getMatrix().toArray();
     }
 
     /**
-     * Creates a entirely new copy if the original matrix without any reference.
+     * Computes a basis of the null space of the given matrix, the solutions of Ax = 0.
      *
-     * @param matrix Any matrix.
-     * @return A copy of the given matrix.
+     * @param matrix Any Fraction matrix.
+     * @return A matrix whose columns are the vectors of the basis, null if the null space is only the zero vector.
      */
-    private static Fraction[][] copyMatrix(Fraction[][] matrix) {
-        Fraction[][] copy = new Fraction[matrix.length][matrix[0].length];
+    public static Fraction[][] computeNullSpace(Fraction[][] matrix) {
+        FractionMatrix basis = new EliminationKernel(FractionMatrix.of(matrix), PivotStrategy.FIRST_NON_ZERO).getNullSpace();
+        return basis == null ? null : basis.toArray();
+    }
+
+    /**
+     * Computes a basis of the column space of the given matrix: the columns of the matrix where the Row Echelon Form
+     * has a pivot.
+     *
+     * @param matrix Any Fraction matrix.
+     * @return A matrix whose columns are the vectors of the basis, null if the column space is only the zero vector.
+     */
+    public static Fraction[][] computeColumnSpace(Fraction[][] matrix) {
+        int[] pivotColumns = new EliminationKernel(FractionMatrix.of(matrix), PivotStrategy.FIRST_NON_ZERO).getPivotColumns();
+        if (pivotColumns.length == 0)
+            return null;
+        Fraction[][] basis = new Fraction[matrix.length][pivotColumns.length];
         for (int i = 0; i < matrix.length; i++) {
-            for (int j = 0; j < matrix[0].length; j++) {
-                copy[i][j] = Fraction.copyOf(matrix[i][j]);
+            for (int j = 0; j < pivotColumns.length; j++) {
+                basis[i][j] = matrix[i][pivotColumns[j]];
             }
         }
-        return copy;
+        return basis;
     }
 
     /**
-     * Computes rank of the given matrix.
+     * Computes the columns of the pivots of the Row Echelon Form of the given matrix.
      *
-     * @param matrix Any Fraction matrix, even if it isn't reduced to the Row Echelon Form.
-     * @return The rank of the given matrix.
+     * @param matrix Any Fraction matrix.
+     * @return The indexes of the columns with a pivot, in increasing order.
      */
-    public static int computeRank(Fraction[][] matrix) {
-        Fraction[][] rowEchelon = reduceToRowEchelonForm(matrix);
-        int nullRows = 0;
-        for (int i = 0; i < rowEchelon.length; i++) {
-            int zeros = countRowStartZeros(rowEchelon[i]);
-            if (zeros == rowEchelon[0].length)
-                nullRows++;
-        }
-        int rank = rowEchelon.length - nullRows;
-        return rank;
+    public static int[] computePivotColumns(Fraction[][] matrix) {
+        return new EliminationKernel(FractionMatrix.of(matrix), PivotStrategy.FIRST_NON_ZERO).getPivotColumns();
     }
 
     /**
-     * @param row Array which represents the row of a matrix.
-     * @return The number of zeros before a not zero number from the start of the row.
+     * Computes rank of the given matrix as the number of pivots of its {@link LUDecomposition}, which is kept for
+     * following operations on the same matrix. Integer matrices not yet decomposed are eliminated modulo primes.
+     *
+     * @param matrix Any Fraction matrix, even if it isn't reduced to the Row Echelon Form.
+     * @return The rank of the given matrix.
      */
-    private static int countRowStartZeros(Fraction[] row) {
-        int i = 0;
-        while (i < row.length && row[i].equals(Fraction.toFraction(0))) {
-            i++;
-        }
-        return i;
+    public static int computeRank(Fraction[][] matrix) {
+        FractionMatrix m = FractionMatrix.of(matrix);
+        LUDecomposition lu = LUDecomposition.cached(m);
+        if (lu != null)
+            return lu.getRank();
+        if (m.isIntegerMatrix()) // Modular rank, without growth of the values
+            return ModularMatrixOperations.computeRank(m.getNumerators(), m.getRows(), m.getColumns());
+        return LUDecomposition.of(m).getRank();
     }
 
     /**
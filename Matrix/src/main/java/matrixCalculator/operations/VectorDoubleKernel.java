@@ -0,0 +1,76 @@
+package matrixCalculator.operations;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Loops on the arrays with the Vector API: every iteration works on as many doubles as fit in the widest vector
+ * register of the processor, the remaining elements are computed one at a time.
+ * Compiled only by the build profile "vector" (JDK 17 or later) and used only if the jdk.incubator.vector module is
+ * added at runtime.
+ */
+
+class VectorDoubleKernel implements DoubleKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    /**
+     * @throws UnsupportedOperationException If a vector holds a single double, so the scalar loops are faster.
+     */
+    VectorDoubleKernel() {
+        if (SPECIES.length() < 2)
+            throw new UnsupportedOperationException("No SIMD support for doubles");
+    }
+
+    @Override
+    public void multiplyAdd(double[] z, int zFrom, double x, double[] y, int yFrom, int length) {
+        DoubleVector vx = DoubleVector.broadcast(SPECIES, x);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            DoubleVector vy = DoubleVector.fromArray(SPECIES, y, yFrom + i);
+            DoubleVector vz = DoubleVector.fromArray(SPECIES, z, zFrom + i);
+            vy.fma(vx, vz).intoArray(z, zFrom + i);
+        }
+        for (; i < length; i++) {
+            z[zFrom + i] += x * y[yFrom + i];
+        }
+    }
+
+    @Override
+    public void add(double[] x, double[] y, double[] z) {
+        this.lanewise(VectorOperators.ADD, x, y, z);
+        for (int i = SPECIES.loopBound(z.length); i < z.length; i++) {
+            z[i] = x[i] + y[i];
+        }
+    }
+
+    @Override
+    public void sub(double[] x, double[] y, double[] z) {
+        this.lanewise(VectorOperators.SUB, x, y, z);
+        for (int i = SPECIES.loopBound(z.length); i < z.length; i++) {
+            z[i] = x[i] - y[i];
+        }
+    }
+
+    @Override
+    public void multiplyByScalar(double[] x, double scalar, double[] z) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(z.length); i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, x, i).mul(scalar).intoArray(z, i);
+        }
+        for (; i < z.length; i++) {
+            z[i] = x[i] * scalar;
+        }
+    }
+
+    /**
+     * Applies a binary operator to the elements of the arrays up to the last whole vector.
+     */
+    private void lanewise(VectorOperators.Binary operator, double[] x, double[] y, double[] z) {
+        for (int i = 0, bound = SPECIES.loopBound(z.length); i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, x, i).lanewise(operator, DoubleVector.fromArray(SPECIES, y, i))
+                    .intoArray(z, i);
+        }
+    }
+}
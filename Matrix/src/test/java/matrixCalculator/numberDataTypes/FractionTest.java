@@ -0,0 +1,72 @@
+package matrixCalculator.numberDataTypes;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the canonical form of Fraction and the promotion to arbitrary precision at the limits of long.
+ */
+class FractionTest {
+
+    private static final BigInteger TWO_TO_63 = BigInteger.ONE.shiftLeft(63);
+
+    @Test
+    void resultsAreInLowestTerms() {
+        Fraction f = Fraction.add(Fraction.valueOf(1, 6), Fraction.valueOf(1, 3));
+        assertEquals(1, f.getNumerator());
+        assertEquals(2, f.getDenominator());
+        Fraction g = Fraction.divide(Fraction.valueOf(4), Fraction.valueOf(-6));
+        assertEquals(-2, g.getNumerator());
+        assertEquals(3, g.getDenominator());
+    }
+
+    @Test
+    void minValueResultIsPromoted() {
+        Fraction p = Fraction.multiply(Fraction.valueOf(1L << 62), Fraction.valueOf(-2));
+        assertTrue(p.isBig());
+        assertEquals(TWO_TO_63.negate(), p.getBigNumerator());
+        assertEquals(TWO_TO_63, p.negative().getBigNumerator());
+        assertEquals(TWO_TO_63, Fraction.sub(Fraction.ZERO, p).getBigNumerator());
+        assertEquals(TWO_TO_63, Fraction.multiply(p, Fraction.valueOf(-1)).getBigNumerator());
+    }
+
+    @Test
+    void minValueOverOddDenominatorIsPromoted() {
+        Fraction p = Fraction.divide(Fraction.multiply(Fraction.valueOf(1L << 62), Fraction.valueOf(-2)),
+                Fraction.valueOf(3));
+        assertTrue(p.isBig());
+        assertEquals(TWO_TO_63, p.negative().getBigNumerator());
+        assertEquals(BigInteger.valueOf(3), p.negative().getBigDenominator());
+    }
+
+    @Test
+    void resultsWhichFitAreDemoted() {
+        Fraction p = Fraction.multiply(Fraction.valueOf(1L << 62), Fraction.valueOf(-2));
+        Fraction back = Fraction.add(p, Fraction.ONE); // -2^63+1 fits in a long
+        assertFalse(back.isBig());
+        assertEquals(Long.MIN_VALUE + 1, back.getNumerator());
+    }
+
+    @Test
+    void smallValuesAreShared() {
+        assertSame(Fraction.valueOf(5), Fraction.valueOf(5));
+        assertSame(Fraction.valueOf(-3, 6), Fraction.valueOf(1, -2));
+        assertSame(Fraction.ZERO, Fraction.valueOf(0, 7));
+    }
+
+    @Test
+    void minValueIsPromoted() {
+        Fraction f = Fraction.valueOf(Long.MIN_VALUE);
+        assertTrue(f.isBig());
+        assertEquals(TWO_TO_63.negate(), f.getBigNumerator());
+        assertEquals(TWO_TO_63, f.negative().getBigNumerator());
+        assertEquals(TWO_TO_63, Fraction.sub(Fraction.ZERO, f).getBigNumerator());
+        assertTrue(Fraction.valueOf(Long.MIN_VALUE, 1).isBig());
+    }
+}
@@ -0,0 +1,91 @@
+package matrixCalculator.operations;
+
+import matrixCalculator.numberDataTypes.Fraction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks the determinant, computed by the Bareiss elimination of {@link LUDecomposition} or modulo primes, against
+ * the cofactor expansion.
+ */
+class DeterminantTest {
+
+    private final Random random = new Random(1);
+
+    @AfterEach
+    void clearCache() {
+        LUDecomposition.clearCache();
+    }
+
+    @Test
+    void integerMatricesMatchCofactors() {
+        for (int t = 0; t < 300; t++) {
+            Fraction[][] matrix = this.randomMatrix(1 + t % 6, false);
+            assertEquals(Determinant.computeDeterminantByCofactors(matrix), Determinant.computeDeterminant(matrix));
+        }
+    }
+
+    @Test
+    void rationalMatricesMatchCofactors() {
+        for (int t = 0; t < 300; t++) {
+            Fraction[][] matrix = this.randomMatrix(1 + t % 6, true);
+            assertEquals(Determinant.computeDeterminantByCofactors(matrix), Determinant.computeDeterminant(matrix));
+        }
+    }
+
+    @Test
+    void decompositionMatchesCofactors() {
+        for (int t = 0; t < 300; t++) {
+            Fraction[][] matrix = this.randomMatrix(1 + t % 6, t % 2 == 0);
+            assertEquals(Determinant.computeDeterminantByCofactors(matrix), LUDecomposition.of(matrix).getDeterminant());
+        }
+    }
+
+    @Test
+    void singularMatricesHaveNullDeterminant() {
+        for (int t = 0; t < 100; t++) {
+            int n = 2 + t % 5;
+            Fraction[][] matrix = this.randomMatrix(n, t % 2 == 0);
+            for (int j = 0; j < n; j++) { // The last row is the sum of the first two
+                matrix[n - 1][j] = Fraction.add(matrix[0][j], n > 2 ? matrix[1][j] : Fraction.ZERO);
+            }
+            assertEquals(Fraction.ZERO, Determinant.computeDeterminant(matrix));
+            assertEquals(Fraction.ZERO, Determinant.computeDeterminantByCofactors(matrix));
+        }
+    }
+
+    @Test
+    void bigValuesMatchCofactors() {
+        for (int t = 0; t < 50; t++) {
+            Fraction[][] matrix = this.randomMatrix(2 + t % 4, t % 2 == 0);
+            for (Fraction[] row : matrix) {
+                for (int j = 0; j < row.length; j++) { // Elements which don't fit in a long after a few products
+                    row[j] = Fraction.multiply(row[j], Fraction.valueOf(this.random.nextLong() >>> 2));
+                }
+            }
+            assertEquals(Determinant.computeDeterminantByCofactors(matrix), Determinant.computeDeterminant(matrix));
+        }
+    }
+
+    @Test
+    void notSquareMatrixHasNoDeterminant() {
+        assertNull(Determinant.computeDeterminant(new Fraction[][]{{Fraction.ONE, Fraction.ONE}}));
+        assertNull(Determinant.computeDeterminant((Fraction[][]) null));
+    }
+
+    private Fraction[][] randomMatrix(int n, boolean rational) {
+        Fraction[][] matrix = new Fraction[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                long numerator = this.random.nextInt(21) - 10;
+                matrix[i][j] = Fraction.valueOf(numerator, rational ? 1 + this.random.nextInt(9) : 1);
+            }
+        }
+        return matrix;
+    }
+}
@@ -0,0 +1,169 @@
+package matrixCalculator.operations;
+
+import matrixCalculator.numberDataTypes.Fraction;
+import matrixCalculator.operations.ExpressionNode.Kind;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks the simplified and planned evaluation of {@link Expression} against a naive evaluation of the tree, node by
+ * node, with the operations of {@link BinaryOperations}.
+ */
+class ExpressionTest {
+
+    private static final String[] EXPRESSIONS = {"A*3B+{[3(2A+4B)(A+2B)]*A}+B", "(A+B)-(B+A)", "-(-A)", "2*3", "0*5",
+            "A-A", "A*B-A*B", "2A*3B*A", "0*(A+B)*B", "-A+B", "A-(-B)", "(-A)+B", "1B", "A-A+2*1", "(A+B)(A-B)-A*A+B*B"};
+
+    private final Random random = new Random(8);
+
+    @Test
+    void examplesMatchNaiveEvaluation() {
+        for (String expression : EXPRESSIONS) {
+            ExpressionNode root = Expression.compile(expression);
+            assertNotNull(root, expression);
+            for (int n = 1; n <= 4; n++) {
+                this.check(root, this.randomMatrix(n, n), this.randomMatrix(n, n));
+            }
+        }
+    }
+
+    @Test
+    void randomExpressionsMatchNaiveEvaluation() {
+        for (int t = 0; t < 2000; t++) {
+            ExpressionNode root = this.randomExpression(1 + this.random.nextInt(5));
+            int r = 1 + this.random.nextInt(3);
+            int c = 1 + this.random.nextInt(3);
+            switch (t % 3) { // Square matrices, transposed dimensions and equal dimensions
+                case 0:
+                    this.check(root, this.randomMatrix(r, r), this.randomMatrix(r, r));
+                    break;
+                case 1:
+                    this.check(root, this.randomMatrix(r, c), this.randomMatrix(c, r));
+                    break;
+                default:
+                    this.check(root, this.randomMatrix(r, c), this.randomMatrix(r, c));
+            }
+        }
+    }
+
+    @Test
+    void invalidDimensionsAreRejected() {
+        Fraction[][] a = this.randomMatrix(2, 3);
+        Fraction[][] b = this.randomMatrix(2, 1);
+        for (String expression : new String[]{"A+0B", "A-A+2*1", "0*(A*B)", "A+B", "B*A", "0*A+0*B"}) {
+            assertThrows(IllegalArgumentException.class, () -> Expression.evaluate(Expression.compile(expression), a, b),
+                    expression);
+        }
+        assertNull(Expression.compile("A+0"));
+    }
+
+    /**
+     * Evaluates the expression both ways: either both reject the dimensions or the results are equal.
+     */
+    private void check(ExpressionNode root, Fraction[][] a, Fraction[][] b) {
+        Fraction[][] expected;
+        try {
+            expected = this.toMatrix(this.evaluate(root, a, b), a.length);
+        } catch (IllegalArgumentException e) {
+            assertThrows(IllegalArgumentException.class, () -> Expression.evaluate(root, a, b), root.toString());
+            return;
+        }
+        assertArrayEquals(expected, Expression.evaluate(root, a, b), root.toString());
+    }
+
+    /**
+     * @return The value of the node: a Fraction scalar or a Fraction matrix.
+     */
+    private Object evaluate(ExpressionNode node, Fraction[][] a, Fraction[][] b) {
+        switch (node.getKind()) {
+            case SCALAR:
+                return node.getValue();
+            case VARIABLE:
+                return node.getName() == 'A' ? a : b;
+            case NEGATION:
+                Object x = this.evaluate(node.getLeft(), a, b);
+                return x instanceof Fraction ? ((Fraction) x).negative()
+                        : BinaryOperations.multiplyByScalar((Fraction[][]) x, -1);
+            default:
+        }
+        Object left = this.evaluate(node.getLeft(), a, b);
+        Object right = this.evaluate(node.getRight(), a, b);
+        if (left instanceof Fraction && right instanceof Fraction) {
+            Fraction l = (Fraction) left;
+            Fraction r = (Fraction) right;
+            return node.getKind() == Kind.ADD ? Fraction.add(l, r)
+                    : node.getKind() == Kind.SUB ? Fraction.sub(l, r) : Fraction.multiply(l, r);
+        }
+        if (node.getKind() == Kind.MUL) {
+            if (left instanceof Fraction)
+                return BinaryOperations.multiplyByScalar((Fraction[][]) right, (Fraction) left);
+            if (right instanceof Fraction)
+                return BinaryOperations.multiplyByScalar((Fraction[][]) left, (Fraction) right);
+            if (!BinaryOperations.isMultiplicationValid((Fraction[][]) left, (Fraction[][]) right))
+                throw new IllegalArgumentException("Product not valid");
+            return BinaryOperations.multiply((Fraction[][]) left, (Fraction[][]) right);
+        }
+        Fraction[][] l = this.toSquareMatrix(left, right);
+        Fraction[][] r = this.toSquareMatrix(right, left);
+        if (l.length != r.length || l[0].length != r[0].length)
+            throw new IllegalArgumentException("Sum not valid");
+        return node.getKind() == Kind.ADD ? BinaryOperations.add(l, r) : BinaryOperations.sub(l, r);
+    }
+
+    /**
+     * @param value Operand of a sum.
+     * @param other The other operand, a matrix if value is a scalar.
+     * @return The value itself if it is a matrix, the scalar by the identity matrix of the order of other otherwise.
+     */
+    private Fraction[][] toSquareMatrix(Object value, Object other) {
+        if (value instanceof Fraction[][])
+            return (Fraction[][]) value;
+        Fraction[][] matrix = (Fraction[][]) other;
+        if (!UnaryOperations.isSquare(matrix))
+            throw new IllegalArgumentException("A scalar can be added only to a square matrix");
+        return this.toMatrix(value, matrix.length);
+    }
+
+    private Fraction[][] toMatrix(Object value, int order) {
+        if (value instanceof Fraction[][])
+            return (Fraction[][]) value;
+        return BinaryOperations.multiplyByScalar(UnaryOperations.getIdentityMatrix(order), (Fraction) value);
+    }
+
+    private ExpressionNode randomExpression(int depth) {
+        int choice = this.random.nextInt(depth == 0 ? 2 : 7);
+        switch (choice) {
+            case 0:
+                return ExpressionNode.variable(this.random.nextBoolean() ? 'A' : 'B');
+            case 1:
+                return ExpressionNode.scalar(Fraction.valueOf(this.random.nextInt(7) - 3, 1 + this.random.nextInt(2)));
+            case 2:
+                return ExpressionNode.negation(this.randomExpression(depth - 1));
+            case 3: // X-X, which is simplified into a null matrix
+                ExpressionNode x = this.randomExpression(depth - 1);
+                return ExpressionNode.binary(Kind.SUB, x, x);
+            case 4:
+                return ExpressionNode.binary(Kind.ADD, this.randomExpression(depth - 1), this.randomExpression(depth - 1));
+            case 5:
+                return ExpressionNode.binary(Kind.SUB, this.randomExpression(depth - 1), this.randomExpression(depth - 1));
+            default:
+                return ExpressionNode.binary(Kind.MUL, this.randomExpression(depth - 1), this.randomExpression(depth - 1));
+        }
+    }
+
+    private Fraction[][] randomMatrix(int rows, int columns) {
+        Fraction[][] matrix = new Fraction[rows][columns];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                matrix[i][j] = Fraction.valueOf(this.random.nextInt(11) - 5, 1 + this.random.nextInt(4));
+            }
+        }
+        return matrix;
+    }
+}
@@ -0,0 +1,105 @@
+package matrixCalculator.operations;
+
+import matrixCalculator.numberDataTypes.Fraction;
+import matrixCalculator.numberDataTypes.FractionMatrix;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the long kernels of integer matrices against exact arithmetic, also at the limits of long.
+ */
+class IntegerMatrixOperationsTest {
+
+    private static final BigInteger TWO_TO_63 = BigInteger.ONE.shiftLeft(63);
+
+    private final Random random = new Random(2);
+
+    @Test
+    void multiplyMatchesBigIntegerProduct() {
+        for (int t = 0; t < 500; t++) {
+            int r1 = 1 + this.random.nextInt(5);
+            int rc = 1 + this.random.nextInt(5);
+            int c2 = 1 + this.random.nextInt(5);
+            int shift = this.random.nextInt(64); // From huge values, which overflow, to small ones
+            long[] matrix1 = this.randomValues(r1 * rc, shift);
+            long[] matrix2 = this.randomValues(rc * c2, shift);
+            long[] product = IntegerMatrixOperations.multiply(matrix1, matrix2, r1, rc, c2);
+            BigInteger[] expected = new BigInteger[r1 * c2];
+            boolean fits = true;
+            for (int i = 0; i < r1; i++) {
+                for (int j = 0; j < c2; j++) {
+                    BigInteger sum = BigInteger.ZERO;
+                    for (int k = 0; k < rc; k++) {
+                        BigInteger x = BigInteger.valueOf(matrix1[i * rc + k]);
+                        sum = sum.add(x.multiply(BigInteger.valueOf(matrix2[k * c2 + j])));
+                    }
+                    expected[i * c2 + j] = sum;
+                    fits &= sum.bitLength() < 64;
+                }
+            }
+            if (!fits) {
+                assertNull(product);
+                continue;
+            }
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(expected[i].longValue(), product[i]);
+            }
+        }
+    }
+
+    @Test
+    void determinantMatchesCofactors() {
+        for (int t = 0; t < 300; t++) {
+            int n = 1 + t % 6;
+            long[] matrix = this.randomValues(n * n, 58);
+            Fraction[][] fractions = IntegerMatrixOperations.toFractions(matrix, n, n);
+            assertEquals(Determinant.computeDeterminantByCofactors(fractions),
+                    IntegerMatrixOperations.computeDeterminant(matrix, n));
+        }
+    }
+
+    @Test
+    void minValueElementIsPromoted() {
+        FractionMatrix matrix = IntegerMatrixOperations.toFractionMatrix(new long[]{Long.MIN_VALUE, 1}, 1, 2);
+        assertTrue(matrix.isBig(0));
+        assertEquals(TWO_TO_63, matrix.get(0).negative().getBigNumerator());
+        assertEquals(Fraction.ONE, matrix.get(1));
+    }
+
+    @Test
+    void minValueProductIsPromoted() {
+        FractionMatrix x = new FractionMatrix(1, 1);
+        FractionMatrix y = new FractionMatrix(1, 1);
+        x.set(0, Fraction.valueOf(1L << 62));
+        y.set(0, Fraction.valueOf(-2));
+        Fraction product = BinaryOperations.multiply(x, y).get(0);
+        assertTrue(product.isBig());
+        assertEquals(TWO_TO_63, product.negative().getBigNumerator());
+    }
+
+    @Test
+    void minValuePowerIsPromoted() {
+        FractionMatrix matrix = new FractionMatrix(2, 2);
+        matrix.set(0, 0, Fraction.valueOf(-2));
+        matrix.set(1, 1, Fraction.ONE);
+        matrix.set(0, 1, Fraction.ONE); // Not diagonal, so the integer kernel is used
+        Fraction power = BinaryOperations.pow(matrix, 63).get(0, 0);
+        assertTrue(power.isBig());
+        assertEquals(TWO_TO_63.negate(), power.getBigNumerator());
+        assertEquals(TWO_TO_63, power.negative().getBigNumerator());
+    }
+
+    private long[] randomValues(int length, int shift) {
+        long[] values = new long[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = this.random.nextLong() >> shift;
+        }
+        return values;
+    }
+}
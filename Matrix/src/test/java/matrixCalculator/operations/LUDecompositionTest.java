@@ -0,0 +1,77 @@
+package matrixCalculator.operations;
+
+import matrixCalculator.numberDataTypes.Fraction;
+import matrixCalculator.numberDataTypes.FractionMatrix;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Checks the factors of the Bareiss decomposition, its inverse and its cache.
+ */
+class LUDecompositionTest {
+
+    private final Random random = new Random(9);
+
+    @AfterEach
+    void clearCache() {
+        LUDecomposition.clearCache();
+    }
+
+    @Test
+    void factorsGiveTheMatrix() {
+        for (int t = 0; t < 300; t++) {
+            int rows = 1 + this.random.nextInt(6);
+            int columns = 1 + this.random.nextInt(6);
+            FractionMatrix matrix = this.randomMatrix(rows, columns);
+            LUDecomposition lu = LUDecomposition.of(matrix);
+            assertEquals(BinaryOperations.multiply(lu.getP(), matrix), BinaryOperations.multiply(lu.getL(), lu.getU()));
+            int rank = new EliminationKernel(matrix, EliminationKernel.PivotStrategy.FIRST_NON_ZERO)
+                    .reduceToRowEchelonForm().getRank();
+            assertEquals(rank, lu.getRank());
+        }
+    }
+
+    @Test
+    void inverseByTheMatrixIsIdentity() {
+        for (int t = 0; t < 100; t++) {
+            int n = 1 + t % 7;
+            FractionMatrix matrix = this.randomMatrix(n, n);
+            LUDecomposition lu = LUDecomposition.of(matrix);
+            if (lu.isSingular()) {
+                assertNull(lu.getInverse());
+                continue;
+            }
+            assertEquals(FractionMatrix.of(UnaryOperations.getIdentityMatrix(n)),
+                    BinaryOperations.multiply(lu.getInverse(), matrix));
+        }
+    }
+
+    @Test
+    void cacheChecksTheMatrix() {
+        FractionMatrix matrix = this.randomMatrix(4, 4);
+        LUDecomposition lu = LUDecomposition.of(matrix);
+        assertSame(lu, LUDecomposition.cached(matrix));
+        assertSame(lu, LUDecomposition.of(matrix.copy()));
+        matrix.set(0, Fraction.add(matrix.get(0), Fraction.ONE)); // The cache keeps its own copy
+        assertNull(LUDecomposition.cached(matrix));
+        assertNotSame(lu, LUDecomposition.of(matrix));
+        LUDecomposition.clearCache();
+        assertNull(LUDecomposition.cached(matrix));
+    }
+
+    private FractionMatrix randomMatrix(int rows, int columns) {
+        FractionMatrix matrix = new FractionMatrix(rows, columns);
+        for (int i = 0; i < rows * columns; i++) {
+            int numerator = this.random.nextInt(4) == 0 ? 0 : this.random.nextInt(21) - 10; // Also singular matrices
+            matrix.set(i, Fraction.valueOf(numerator, 1 + this.random.nextInt(9)));
+        }
+        return matrix;
+    }
+}
@@ -0,0 +1,96 @@
+package matrixCalculator.operations;
+
+import matrixCalculator.numberDataTypes.Fraction;
+import matrixCalculator.numberDataTypes.FractionMatrix;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the solutions found by elimination and by p-adic lifting against the substitutions of
+ * {@link LUDecomposition}.
+ */
+class LinearSystemsTest {
+
+    private final Random random = new Random(7);
+
+    @AfterEach
+    void clearCache() {
+        LUDecomposition.clearCache();
+    }
+
+    @Test
+    void eliminationMatchesDecomposition() {
+        for (int t = 0; t < 200; t++) {
+            this.checkSolution(1 + t % (LinearSystems.DIXON_THRESHOLD - 1), 1 + t % 3);
+        }
+    }
+
+    @Test
+    void liftingMatchesDecomposition() {
+        for (int n = LinearSystems.DIXON_THRESHOLD; n <= 24; n += 2) {
+            this.checkSolution(n, 1 + n % 3);
+        }
+    }
+
+    @Test
+    void singularSystemHasNoSolution() {
+        for (int n = 2; n <= 2 * LinearSystems.DIXON_THRESHOLD; n++) {
+            Fraction[][] a = this.randomMatrix(n, n);
+            for (int j = 0; j < n; j++) { // The last row is twice the first one
+                a[n - 1][j] = Fraction.multiply(a[0][j], Fraction.valueOf(2));
+            }
+            Fraction[][] b = this.randomMatrix(n, 1);
+            assertNull(LinearSystems.solve(a, b));
+            b[n - 1][0] = Fraction.multiply(b[0][0], Fraction.valueOf(2));
+            assertTrue(LinearSystems.isConsistent(a, b));
+            b[n - 1][0] = Fraction.add(b[n - 1][0], Fraction.ONE);
+            assertFalse(LinearSystems.isConsistent(a, b));
+        }
+    }
+
+    @Test
+    void invalidSystemHasNoSolution() {
+        Fraction[][] a = this.randomMatrix(2, 3);
+        assertNull(LinearSystems.solve(a, this.randomMatrix(2, 1)));
+        assertFalse(LinearSystems.isConsistent(a, this.randomMatrix(2, 1)));
+        assertNull(LinearSystems.solve(this.randomMatrix(3, 3), this.randomMatrix(2, 1)));
+    }
+
+    /**
+     * Solves a random system, checks Ax = b and compares x with the solution given by the decomposition.
+     */
+    private void checkSolution(int n, int m) {
+        Fraction[][] a = this.randomMatrix(n, n);
+        Fraction[][] b = this.randomMatrix(n, m);
+        LUDecomposition.clearCache(); // So the system isn't solved by the cached decomposition
+        Fraction[][] x = LinearSystems.solve(a, b);
+        LUDecomposition lu = LUDecomposition.of(a);
+        if (lu.getRank() < n) { // Unlikely with random coefficients
+            assertNull(x);
+            return;
+        }
+        assertNotNull(x);
+        assertTrue(LinearSystems.isConsistent(a, b));
+        assertEquals(FractionMatrix.of(b), BinaryOperations.multiply(FractionMatrix.of(a), FractionMatrix.of(x)));
+        assertArrayEquals(lu.solve(FractionMatrix.of(b)).toArray(), x);
+    }
+
+    private Fraction[][] randomMatrix(int rows, int columns) {
+        Fraction[][] matrix = new Fraction[rows][columns];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                matrix[i][j] = Fraction.valueOf(this.random.nextInt(41) - 20, 1 + this.random.nextInt(9));
+            }
+        }
+        return matrix;
+    }
+}
@@ -0,0 +1,91 @@
+package matrixCalculator.operations;
+
+import matrixCalculator.numberDataTypes.Fraction;
+import matrixCalculator.numberDataTypes.FractionMatrix;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the determinant and the rank computed modulo primes against the exact elimination.
+ */
+class ModularMatrixOperationsTest {
+
+    private final Random random = new Random(6);
+
+    @Test
+    void determinantMatchesCofactors() {
+        for (int t = 0; t < 200; t++) {
+            int n = 1 + t % 6;
+            long[] matrix = this.randomValues(n * n, 4 + this.random.nextInt(60)); // Long and modular arithmetic
+            Fraction[][] fractions = IntegerMatrixOperations.toFractions(matrix, n, n);
+            assertEquals(Determinant.computeDeterminantByCofactors(fractions),
+                    ModularMatrixOperations.computeDeterminant(matrix, n));
+        }
+    }
+
+    @Test
+    void determinantOfLargeMatrixMatchesDecomposition() {
+        for (int n = 10; n <= 30; n += 10) {
+            long[] matrix = this.randomValues(n * n, 32);
+            FractionMatrix fractions = IntegerMatrixOperations.toFractionMatrix(matrix, n, n);
+            assertEquals(LUDecomposition.of(fractions).getDeterminant(),
+                    ModularMatrixOperations.computeDeterminant(matrix, n));
+        }
+    }
+
+    @Test
+    void rankMatchesElimination() {
+        for (int t = 0; t < 200; t++) {
+            int rows = 1 + this.random.nextInt(7);
+            int columns = 1 + this.random.nextInt(7);
+            int rank = this.random.nextInt(Math.min(rows, columns) + 1);
+            long[] matrix = this.lowRankValues(rows, columns, rank);
+            FractionMatrix fractions = IntegerMatrixOperations.toFractionMatrix(matrix, rows, columns);
+            int expected = new EliminationKernel(fractions, EliminationKernel.PivotStrategy.FIRST_NON_ZERO)
+                    .reduceToRowEchelonForm().getRank();
+            assertEquals(rank, expected);
+            assertEquals(expected, ModularMatrixOperations.computeRank(matrix, rows, columns));
+        }
+    }
+
+    @Test
+    void rankIsExactWhenThePrimeDividesTheMinors() {
+        long p = ModularMatrixOperations.moduli(1).get(0).p;
+        long[] matrix = {p, 0, 0, 0, p, 0, 0, 0, p}; // Null modulo the first prime
+        assertEquals(3, ModularMatrixOperations.computeRank(matrix, 3, 3));
+        assertFalse(ModularMatrixOperations.isSingular(matrix, 3));
+    }
+
+    @Test
+    void singularMatricesAreDetected() {
+        for (int n = 1; n <= 8; n++) {
+            assertTrue(ModularMatrixOperations.isSingular(this.lowRankValues(n, n, n - 1), n));
+        }
+    }
+
+    private long[] randomValues(int length, int shift) {
+        long[] values = new long[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = this.random.nextLong() >> shift;
+        }
+        return values;
+    }
+
+    /**
+     * @return A rows x columns matrix with the given rank, product of random rows x rank and rank x columns matrices.
+     */
+    private long[] lowRankValues(int rows, int columns, int rank) {
+        long[] values;
+        do {
+            values = IntegerMatrixOperations.multiply(this.randomValues(rows * rank, 44),
+                    this.randomValues(rank * columns, 44), rows, rank, columns);
+        } while (rank > 0 && new EliminationKernel(IntegerMatrixOperations.toFractionMatrix(values, rows, columns),
+                EliminationKernel.PivotStrategy.FIRST_NON_ZERO).reduceToRowEchelonForm().getRank() < rank);
+        return values;
+    }
+}
@@ -0,0 +1,66 @@
+package matrixCalculator.operations;
+
+import matrixCalculator.numberDataTypes.Fraction;
+import matrixCalculator.numberDataTypes.FractionMatrix;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Checks the fork/join operations against the sequential ones of {@link BinaryOperations}.
+ */
+class ParallelBinaryOperationsTest {
+
+    private final Random random = new Random(4);
+
+    @Test
+    void multiplyMatchesSequentialProduct() {
+        try (ParallelBinaryOperations parallel = new ParallelBinaryOperations(4)) {
+            for (int t = 0; t < 40; t++) {
+                FractionMatrix matrix1 = this.randomMatrix(1 + this.random.nextInt(90), 1 + this.random.nextInt(90));
+                FractionMatrix matrix2 = this.randomMatrix(matrix1.getColumns(), 1 + this.random.nextInt(90));
+                assertEquals(BinaryOperations.multiply(matrix1, matrix2), parallel.multiply(matrix1, matrix2));
+            }
+        }
+    }
+
+    @Test
+    void elementWiseOperationsMatchSequentialOnes() {
+        try (ParallelBinaryOperations parallel = new ParallelBinaryOperations(3)) {
+            for (int t = 0; t < 20; t++) {
+                int rows = 1 + this.random.nextInt(150);
+                int columns = 1 + this.random.nextInt(150);
+                Fraction[][] matrix1 = this.randomMatrix(rows, columns).toArray();
+                Fraction[][] matrix2 = this.randomMatrix(rows, columns).toArray();
+                Fraction scalar = Fraction.valueOf(this.random.nextInt(19) - 9, 1 + this.random.nextInt(5));
+                assertArrayEquals(BinaryOperations.add(matrix1, matrix2), parallel.add(matrix1, matrix2));
+                assertArrayEquals(BinaryOperations.sub(matrix1, matrix2), parallel.sub(matrix1, matrix2));
+                assertArrayEquals(BinaryOperations.multiplyByScalar(matrix1, scalar),
+                        parallel.multiplyByScalar(matrix1, scalar));
+            }
+        }
+    }
+
+    @Test
+    void closeKeepsPoolsNotOwned() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        new ParallelBinaryOperations(pool).close();
+        assertFalse(pool.isShutdown());
+        pool.shutdown();
+        new ParallelBinaryOperations().close();
+        assertFalse(ForkJoinPool.commonPool().isShutdown());
+    }
+
+    private FractionMatrix randomMatrix(int rows, int columns) {
+        FractionMatrix matrix = new FractionMatrix(rows, columns);
+        for (int i = 0; i < rows * columns; i++) {
+            matrix.set(i, Fraction.valueOf(this.random.nextInt(41) - 20, 1 + this.random.nextInt(12)));
+        }
+        return matrix;
+    }
+}
@@ -0,0 +1,73 @@
+package matrixCalculator.operations;
+
+import matrixCalculator.numberDataTypes.Fraction;
+import matrixCalculator.numberDataTypes.FractionMatrix;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that the Strassen-Winograd product is identical to {@link BinaryOperations#multiply(FractionMatrix,
+ * FractionMatrix)}.
+ */
+class StrassenMultiplicationTest {
+
+    private final Random random = new Random(5);
+
+    @Test
+    void rationalProductIsIdentical() {
+        for (int n = 1; n <= 40; n++) { // Even and odd orders, padded at different levels
+            FractionMatrix matrix1 = this.randomMatrix(n, n, true);
+            FractionMatrix matrix2 = this.randomMatrix(n, n, true);
+            int crossover = 2 + this.random.nextInt(7);
+            assertEquals(BinaryOperations.multiply(matrix1, matrix2),
+                    StrassenMultiplication.multiply(matrix1, matrix2, crossover));
+        }
+    }
+
+    @Test
+    void integerProductIsIdentical() {
+        for (int n = 1; n <= 40; n += 3) {
+            FractionMatrix matrix1 = this.randomMatrix(n, n, false);
+            FractionMatrix matrix2 = this.randomMatrix(n, n, false);
+            assertEquals(BinaryOperations.multiply(matrix1, matrix2),
+                    StrassenMultiplication.multiply(matrix1, matrix2, 4));
+        }
+    }
+
+    @Test
+    void bigValuesGiveIdenticalProduct() {
+        FractionMatrix matrix1 = this.randomMatrix(17, 17, true);
+        FractionMatrix matrix2 = this.randomMatrix(17, 17, true);
+        for (int i = 0; i < 17; i++) { // Products which don't fit in a long
+            matrix1.set(i, i, Fraction.valueOf(this.random.nextLong(), 1 + this.random.nextInt(1000)));
+        }
+        assertEquals(BinaryOperations.multiply(matrix1, matrix2), StrassenMultiplication.multiply(matrix1, matrix2, 3));
+    }
+
+    @Test
+    void notSquareProductsUseTheClassicalKernel() {
+        FractionMatrix matrix1 = this.randomMatrix(5, 3, true);
+        FractionMatrix matrix2 = this.randomMatrix(3, 4, true);
+        assertEquals(BinaryOperations.multiply(matrix1, matrix2), StrassenMultiplication.multiply(matrix1, matrix2));
+        assertNull(StrassenMultiplication.multiply(matrix2, matrix2));
+    }
+
+    @Test
+    void crossoverMustBeGreaterThanOne() {
+        FractionMatrix matrix = this.randomMatrix(2, 2, true);
+        assertThrows(IllegalArgumentException.class, () -> StrassenMultiplication.multiply(matrix, matrix, 1));
+    }
+
+    private FractionMatrix randomMatrix(int rows, int columns, boolean rational) {
+        FractionMatrix matrix = new FractionMatrix(rows, columns);
+        for (int i = 0; i < rows * columns; i++) {
+            matrix.set(i, Fraction.valueOf(this.random.nextInt(41) - 20, rational ? 1 + this.random.nextInt(12) : 1));
+        }
+        return matrix;
+    }
+}
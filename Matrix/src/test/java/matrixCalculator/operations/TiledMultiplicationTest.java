@@ -0,0 +1,53 @@
+package matrixCalculator.operations;
+
+import matrixCalculator.numberDataTypes.Fraction;
+import matrixCalculator.numberDataTypes.FractionMatrix;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks the cache-blocked multiplication against {@link BinaryOperations#multiply(FractionMatrix, FractionMatrix)}.
+ */
+class TiledMultiplicationTest {
+
+    private final Random random = new Random(3);
+
+    @Test
+    void anyBlockSizeGivesTheClassicalProduct() {
+        for (int t = 0; t < 200; t++) {
+            FractionMatrix matrix1 = this.randomMatrix(1 + this.random.nextInt(20), 1 + this.random.nextInt(20));
+            FractionMatrix matrix2 = this.randomMatrix(matrix1.getColumns(), 1 + this.random.nextInt(20));
+            int blockSize = 1 + this.random.nextInt(9);
+            assertEquals(BinaryOperations.multiply(matrix1, matrix2),
+                    TiledMultiplication.multiply(matrix1, matrix2, blockSize));
+        }
+    }
+
+    @Test
+    void bigValuesGiveTheClassicalProduct() {
+        FractionMatrix matrix1 = this.randomMatrix(12, 9);
+        FractionMatrix matrix2 = this.randomMatrix(9, 7);
+        for (int i = 0; i < 9; i++) { // Products which don't fit in a long
+            matrix2.set(i, 0, Fraction.valueOf(this.random.nextLong(), 1 + this.random.nextInt(1000)));
+        }
+        assertEquals(BinaryOperations.multiply(matrix1, matrix2), TiledMultiplication.multiply(matrix1, matrix2, 4));
+    }
+
+    @Test
+    void blockSizeMustBePositive() {
+        FractionMatrix matrix = this.randomMatrix(2, 2);
+        assertThrows(IllegalArgumentException.class, () -> TiledMultiplication.multiply(matrix, matrix, 0));
+    }
+
+    private FractionMatrix randomMatrix(int rows, int columns) {
+        FractionMatrix matrix = new FractionMatrix(rows, columns);
+        for (int i = 0; i < rows * columns; i++) {
+            matrix.set(i, Fraction.valueOf(this.random.nextInt(41) - 20, 1 + this.random.nextInt(12)));
+        }
+        return matrix;
+    }
+}